@@ -0,0 +1,121 @@
+package uk.co.aosd.onto.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run benchmarks, keep their results and compare them with the previous run.
+ *
+ * <p>
+ * Each run writes the JMH results as JSON to a file named after the time of the
+ * run in the {@code results} directory, or the directory named by the
+ * {@code benchmark.results} system property, and then prints the change in
+ * each score since the latest earlier file there. Commit the results files to
+ * keep a history of runs on the same machine. The arguments are regular
+ * expressions for the benchmarks to run, and all of them are run if there are
+ * none.
+ * </p>
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar uk.co.aosd.onto.benchmarks.BenchmarkHistory OntologyServices GraphEquality
+ * </pre>
+ *
+ * @author Tony Walmsley
+ */
+public final class BenchmarkHistory {
+
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private BenchmarkHistory() {
+    }
+
+    /**
+     * Run the benchmarks and compare them with the previous run.
+     *
+     * @param args
+     *            regular expressions for the benchmarks to run.
+     * @throws RunnerException
+     *             on error
+     * @throws IOException
+     *             if the results cannot be written or read.
+     */
+    public static void main(final String[] args) throws RunnerException, IOException {
+        final var directory = Path.of(System.getProperty("benchmark.results", "results"));
+        Files.createDirectories(directory);
+        final var previous = latest(directory);
+        final var file = directory.resolve(FILE_NAME.format(LocalDateTime.now()) + ".json");
+
+        final var options = new OptionsBuilder()
+            .resultFormat(ResultFormatType.JSON)
+            .result(file.toString());
+        for (final var include : args) {
+            options.include(include);
+        }
+        new Runner(options.build()).run();
+
+        if (previous.isPresent()) {
+            System.out.printf("%nChange since %s%n", previous.get().getFileName());
+            compare(scores(previous.get()), scores(file));
+        }
+    }
+
+    private static Optional<Path> latest(final Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".json")).max(Comparator.comparing(Path::getFileName));
+        }
+    }
+
+    /**
+     * Read the primary score of each benchmark, keyed by its name, mode and
+     * parameters.
+     */
+    static Map<String, Score> scores(final Path file) throws IOException {
+        final var scores = new TreeMap<String, Score>();
+        for (final JsonNode result : mapper.readTree(file.toFile())) {
+            final var key = new StringBuilder(result.path("benchmark").asText()).append(' ').append(result.path("mode").asText());
+            final var params = new LinkedHashMap<String, String>();
+            result.path("params").fields().forEachRemaining(p -> params.put(p.getKey(), p.getValue().asText()));
+            if (!params.isEmpty()) {
+                key.append(' ').append(params);
+            }
+            final var metric = result.path("primaryMetric");
+            scores.put(key.toString(), new Score(metric.path("score").asDouble(), metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    private static void compare(final Map<String, Score> before, final Map<String, Score> after) {
+        after.forEach((key, score) -> {
+            final var old = before.get(key);
+            if (old == null || !old.unit.equals(score.unit)) {
+                System.out.printf("%-100s %14.3f %-10s (new)%n", key, score.value, score.unit);
+            } else {
+                final double change = old.value == 0 ? 0 : 100 * (score.value - old.value) / old.value;
+                System.out.printf("%-100s %14.3f %-10s %+7.1f%%%n", key, score.value, score.unit, change);
+            }
+        });
+    }
+
+    /**
+     * A primary score and its unit.
+     */
+    record Score(double value, String unit) {
+    }
+}
@@ -0,0 +1,59 @@
+package uk.co.aosd.onto.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.co.aosd.onto.reference.OntologyBinary;
+import uk.co.aosd.onto.reference.OrganisationImpl;
+import uk.co.aosd.onto.reference.json.OntologyJson;
+
+/**
+ * Measure a round trip of a nation graph through {@link OntologyBinary}
+ * against the same round trip through JSON with the mapper from
+ * {@link OntologyJson}.
+ *
+ * @author Tony Walmsley
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 5, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class BinaryRoundTripBenchmark {
+
+    @Param({ "10", "1000" })
+    private int citizens;
+
+    private ObjectMapper mapper;
+    private OrganisationImpl<NationGraph.Citizen> nation;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mapper = OntologyJson.newMapper();
+        nation = NationGraph.build(1L, citizens);
+    }
+
+    @Benchmark
+    public OrganisationImpl<?> binaryRoundTrip() {
+        return OntologyBinary.read(OntologyBinary.write(nation), OrganisationImpl.class);
+    }
+
+    @Benchmark
+    public OrganisationImpl<?> jsonRoundTrip() throws JsonProcessingException {
+        return mapper.readValue(mapper.writeValueAsString(nation), OrganisationImpl.class);
+    }
+}
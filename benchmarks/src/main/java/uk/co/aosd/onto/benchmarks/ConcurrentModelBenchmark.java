@@ -0,0 +1,119 @@
+package uk.co.aosd.onto.benchmarks;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.reference.LanguageImpl;
+import uk.co.aosd.onto.reference.ModelImpl;
+import uk.co.aosd.onto.reference.OntologyServicesImpl;
+
+/**
+ * Measure the throughput of a concurrent ModelImpl with parallel writers and
+ * readers.
+ *
+ * <p>
+ * Run the {@link #main} method to measure each benchmark with 1 to 64 threads,
+ * or pass -t to the JMH runner to pick a single thread count.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms8g", "-Xmx8g" })
+public class ConcurrentModelBenchmark {
+
+    private static final int[] THREADS = { 1, 2, 4, 8, 16, 32, 64 };
+    private static final int PRELOADED = 1_000_000;
+    private static final int LOOKUPS = 1 << 16;
+
+    private static final OntologyServicesImpl svc = new OntologyServicesImpl();
+
+    /**
+     * A model that is shared by all benchmark threads.
+     */
+    @State(Scope.Benchmark)
+    public static class SharedModel {
+        private ModelImpl model;
+        private String[] identifiers;
+        private final AtomicInteger writers = new AtomicInteger();
+
+        /**
+         * Pre-load the model with things to read.
+         */
+        @Setup(Level.Iteration)
+        public void setup() {
+            model = svc.createConcurrentModel("benchmark");
+            identifiers = new String[LOOKUPS];
+            for (int i = 0; i < PRELOADED; i++) {
+                final var identifier = UUID.randomUUID().toString();
+                model.add(new LanguageImpl(identifier, "Language"));
+                if (i < LOOKUPS) {
+                    identifiers[i] = identifier;
+                }
+            }
+        }
+    }
+
+    /**
+     * Per-thread state so that writers never generate the same identifier and
+     * readers do not share a lookup cursor.
+     */
+    @State(Scope.Thread)
+    public static class PerThread {
+        private String prefix;
+        private long next;
+        private int lookup;
+
+        @Setup(Level.Iteration)
+        public void setup(final SharedModel shared) {
+            prefix = "writer" + shared.writers.incrementAndGet() + "-";
+        }
+    }
+
+    @Benchmark
+    public void add(final SharedModel shared, final PerThread writer) {
+        shared.model.add(new LanguageImpl(writer.prefix + writer.next++, "Language"));
+    }
+
+    @Benchmark
+    public Optional<UniquelyIdentifiable> getThing(final SharedModel shared, final PerThread reader) {
+        return shared.model.getThing(shared.identifiers[reader.lookup++ & (LOOKUPS - 1)]);
+    }
+
+    /**
+     * Run the benchmarks once for each thread count.
+     *
+     * @param args
+     *            ignored
+     * @throws RunnerException
+     *             on error
+     */
+    public static void main(final String[] args) throws RunnerException {
+        for (final int threads : THREADS) {
+            new Runner(new OptionsBuilder()
+                .include(ConcurrentModelBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build()).run();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package uk.co.aosd.onto.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.co.aosd.onto.reference.OrganisationImpl;
+import uk.co.aosd.onto.reference.StructuralEquality;
+
+/**
+ * Measure the generated deep {@code equals} and {@code hashCode} on two equal
+ * nation graphs that share no objects, against {@link StructuralEquality}.
+ *
+ * @author Tony Walmsley
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class GraphEqualityBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    private int citizens;
+
+    private OrganisationImpl<NationGraph.Citizen> nation;
+    private OrganisationImpl<NationGraph.Citizen> copy;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        nation = NationGraph.build(1L, citizens);
+        copy = NationGraph.build(1L, citizens);
+    }
+
+    @Benchmark
+    public boolean deepEquals() {
+        return nation.equals(copy);
+    }
+
+    @Benchmark
+    public int deepHashCode() {
+        return nation.hashCode();
+    }
+
+    @Benchmark
+    public boolean structuralEquality() {
+        return StructuralEquality.equal(nation, copy);
+    }
+}
@@ -0,0 +1,77 @@
+package uk.co.aosd.onto.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import uk.co.aosd.onto.reference.IdGenerator;
+
+/**
+ * Compare the random UUID generator that OntologyServicesImpl uses by default
+ * with the time-ordered one.
+ *
+ * <p>
+ * Run the {@link #main} method to measure with 1 to 64 threads and with the GC
+ * profiler, whose gc.alloc.rate.norm shows the bytes allocated for each
+ * identifier.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private static final int[] THREADS = { 1, 2, 4, 8, 16, 32, 64 };
+
+    @Param({ "random", "timeOrdered" })
+    private String generator;
+
+    private IdGenerator ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ids = "random".equals(generator) ? IdGenerator.RANDOM : IdGenerator.timeOrdered();
+    }
+
+    @Benchmark
+    public String newId() {
+        return ids.newId();
+    }
+
+    /**
+     * Run the benchmark once for each thread count.
+     *
+     * @param args
+     *            ignored
+     * @throws RunnerException
+     *             on error
+     */
+    public static void main(final String[] args) throws RunnerException {
+        for (final int threads : THREADS) {
+            new Runner(new OptionsBuilder()
+                .include(IdGeneratorBenchmark.class.getSimpleName())
+                .threads(threads)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package uk.co.aosd.onto.benchmarks;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.reference.LanguageImpl;
+import uk.co.aosd.onto.reference.ModelImpl;
+
+/**
+ * Measure the latency of ModelImpl.getThing as the model grows from 1k to 10M
+ * things.
+ *
+ * @author Tony Walmsley
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms12g", "-Xmx12g" })
+public class ModelLookupBenchmark {
+
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    private int size;
+
+    private ModelImpl model;
+    private String[] hits;
+    private String[] misses;
+    private int next;
+
+    /**
+     * Build a model of the requested size and pick the identifiers to look up.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        model = new ModelImpl("benchmark", new HashSet<>(size * 2));
+        final var identifiers = new String[size];
+        for (int i = 0; i < size; i++) {
+            identifiers[i] = UUID.randomUUID().toString();
+            model.add(new LanguageImpl(identifiers[i], "Language " + i));
+        }
+        hits = new String[LOOKUPS];
+        misses = new String[LOOKUPS];
+        final var random = new Random(42L);
+        for (int i = 0; i < LOOKUPS; i++) {
+            // Copy the identifier so that lookups cannot short-circuit on reference equality.
+            hits[i] = new String(identifiers[random.nextInt(size)]);
+            misses[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Benchmark
+    public Optional<UniquelyIdentifiable> getThingHit() {
+        return model.getThing(hits[next++ & (LOOKUPS - 1)]);
+    }
+
+    @Benchmark
+    public Optional<UniquelyIdentifiable> getThingMiss() {
+        return model.getThing(misses[next++ & (LOOKUPS - 1)]);
+    }
+}
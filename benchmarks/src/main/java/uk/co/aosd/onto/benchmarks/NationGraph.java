@@ -0,0 +1,111 @@
+package uk.co.aosd.onto.benchmarks;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import uk.co.aosd.onto.foundation.Class;
+import uk.co.aosd.onto.foundation.Role;
+import uk.co.aosd.onto.reference.LanguageImpl;
+import uk.co.aosd.onto.reference.MembershipImpl;
+import uk.co.aosd.onto.reference.OntologyServicesImpl;
+import uk.co.aosd.onto.reference.OrganisationImpl;
+import uk.co.aosd.onto.reference.events.AppointedImpl;
+import uk.co.aosd.onto.reference.events.BirthImpl;
+import uk.co.aosd.onto.reference.events.DissolvedImpl;
+import uk.co.aosd.onto.reference.events.FormedImpl;
+import uk.co.aosd.onto.reference.events.RemovedImpl;
+import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.signifying.Signifier;
+
+/**
+ * Builds a nation-like organisation with a number of citizens, each a Human
+ * with a name, a birth and a membership, like the nation in the POTUS example.
+ *
+ * <p>
+ * The identifiers come from the seed, so two graphs built with the same seed
+ * and size are equal but share no objects.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+final class NationGraph {
+
+    private static final OntologyServicesImpl svc = new OntologyServicesImpl();
+    private static final Instant FOUNDED = Instant.parse("1776-07-04T00:00:00.00Z");
+
+    private NationGraph() {
+    }
+
+    static OrganisationImpl<Citizen> build(final long seed, final int citizens) {
+        final var english = svc.createLanguage(id(seed, -1), "American English");
+        final Class<LanguageImpl> languages = svc.createClass(id(seed, -2), Set.of(english));
+        final var citizen = new Citizen(id(seed, -3), "Citizen");
+        final var memberships = new HashSet<MembershipImpl<Citizen>>();
+        for (int i = 0; i < citizens; i++) {
+            final long base = 8L * i;
+            final var born = FOUNDED.plusSeconds(86_400L * i);
+            final var named = new ResignifiedImpl(id(seed, base), born, born);
+            final var name = svc.createSignifier(id(seed, base + 1), "Citizen " + i, english, named, null);
+            final Class<Signifier<String, ResignifiedImpl>> names = svc.createClass(id(seed, base + 2), Set.of(name));
+            final var human = svc.createHuman(id(seed, base + 3), new BirthImpl(id(seed, base + 4), born, born), null, names, english, languages,
+                null);
+            memberships.add(svc.createMembership(id(seed, base + 5), human, citizen, new AppointedImpl(id(seed, base + 6), born, born),
+                new RemovedImpl(id(seed, base + 7), null, null)));
+        }
+        final var nationName = svc.createSignifier(id(seed, -4), "The Nation", english, new ResignifiedImpl(id(seed, -5), FOUNDED, FOUNDED), null);
+        final Class<Signifier<String, ResignifiedImpl>> names = svc.createClass(id(seed, -6), Set.of(nationName));
+        final Class<OrganisationImpl<Citizen>> units = svc.createClass(id(seed, -7), Set.of());
+        return svc.createOrganisation(id(seed, -8), svc.createClass(id(seed, -9), memberships), "To serve its people.", units, names,
+            new FormedImpl(id(seed, -10), FOUNDED, FOUNDED), new DissolvedImpl(id(seed, -11), null, null));
+    }
+
+    private static String id(final long seed, final long n) {
+        return new UUID(seed, n).toString();
+    }
+
+    /**
+     * The role of the members of the nation.
+     */
+    public static class Citizen implements Role {
+        private String identifier;
+        private String name;
+
+        public Citizen() {
+        }
+
+        public Citizen(final String identifier, final String name) {
+            this.identifier = identifier;
+            this.name = name;
+        }
+
+        @Override
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        public void setIdentifier(final String identifier) {
+            this.identifier = identifier;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Citizen other && identifier.equals(other.identifier) && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * identifier.hashCode() + name.hashCode();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package uk.co.aosd.onto.benchmarks;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.co.aosd.onto.foundation.Class;
+import uk.co.aosd.onto.reference.AgglomerateImpl;
+import uk.co.aosd.onto.reference.HumanImpl;
+import uk.co.aosd.onto.reference.LanguageImpl;
+import uk.co.aosd.onto.reference.MembershipImpl;
+import uk.co.aosd.onto.reference.OntologyServicesImpl;
+import uk.co.aosd.onto.reference.OrganisationImpl;
+import uk.co.aosd.onto.reference.OwningImpl;
+import uk.co.aosd.onto.reference.TransferringOfOwnershipImpl;
+import uk.co.aosd.onto.reference.events.AggregatedImpl;
+import uk.co.aosd.onto.reference.events.BirthImpl;
+import uk.co.aosd.onto.reference.events.DeathImpl;
+import uk.co.aosd.onto.reference.events.DisaggregatedImpl;
+import uk.co.aosd.onto.reference.events.DissolvedImpl;
+import uk.co.aosd.onto.reference.events.FormedImpl;
+import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.reference.events.StartedImpl;
+import uk.co.aosd.onto.reference.events.StoppedImpl;
+import uk.co.aosd.onto.reference.events.TransferredFromImpl;
+import uk.co.aosd.onto.reference.events.TransferredToImpl;
+import uk.co.aosd.onto.signifying.Signifier;
+
+/**
+ * Measure the cost of the OntologyServicesImpl factory methods, including the
+ * identifier generation and collection copies they do.
+ *
+ * <p>
+ * Run with {@code -prof gc} to see the bytes allocated for each call.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OntologyServicesBenchmark {
+
+    private static final OntologyServicesImpl svc = new OntologyServicesImpl();
+    private static final Instant NOW = Instant.parse("2025-01-20T00:00:00.00Z");
+
+    private BirthImpl born;
+    private Class<Signifier<String, ResignifiedImpl>> names;
+    private LanguageImpl english;
+    private Class<LanguageImpl> languages;
+    private Class<MembershipImpl<NationGraph.Citizen>> members;
+    private Class<OrganisationImpl<NationGraph.Citizen>> units;
+    private FormedImpl formed;
+    private DissolvedImpl dissolved;
+    private OwningImpl<BirthImpl, DeathImpl, AggregatedImpl, DisaggregatedImpl> owning;
+    private HumanImpl newOwner;
+    private StartedImpl started;
+    private StoppedImpl stopped;
+
+    /**
+     * Create the arguments that are passed to the factory methods.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        final var nation = NationGraph.build(1L, 10);
+        final var human = nation.getMembers().getMembers().iterator().next().getMember();
+        born = human.getBeginning();
+        names = human.getNames();
+        english = human.getNativeLanguage();
+        languages = human.getLanguages();
+        members = nation.getMembers();
+        units = nation.getUnits();
+        formed = nation.getBeginning();
+        dissolved = nation.getEnding();
+        final AgglomerateImpl house = svc.createAgglomerate("house", Set.of(), new AggregatedImpl("built", NOW, NOW), null);
+        owning = svc.createOwnership("owning", "Owns", human, house, new TransferredFromImpl("bought", NOW, NOW),
+            new TransferredToImpl("sold", null, null));
+        newOwner = nation.getMembers().getMembers().stream().skip(1).findFirst().orElseThrow().getMember();
+        started = new StartedImpl("started", NOW, NOW);
+        stopped = new StoppedImpl("stopped", NOW, NOW);
+    }
+
+    @Benchmark
+    public HumanImpl createHuman() {
+        return svc.createHuman("human", born, null, names, english, languages, null);
+    }
+
+    @Benchmark
+    public OrganisationImpl<NationGraph.Citizen> createOrganisation() {
+        return svc.createOrganisation("organisation", members, "To serve its people.", units, names, formed, dissolved);
+    }
+
+    @Benchmark
+    public TransferringOfOwnershipImpl<BirthImpl, DeathImpl, AggregatedImpl, DisaggregatedImpl> transferOwnership() {
+        return svc.transferOwnership("transfer", "Sells", owning, newOwner, started, stopped);
+    }
+}
@@ -0,0 +1,125 @@
+package uk.co.aosd.onto.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import uk.co.aosd.onto.reference.LanguageImpl;
+import uk.co.aosd.onto.reference.ModelImpl;
+import uk.co.aosd.onto.reference.OntologyServicesImpl;
+import uk.co.aosd.onto.reference.WriteAheadLog;
+
+/**
+ * Measure the commit latency and throughput of ModelImpl.add with a
+ * {@link WriteAheadLog} attached.
+ *
+ * <p>
+ * Each add returns only once its record has been forced to disk, so the
+ * throughput with one thread is bounded by the fsync latency of the device
+ * and grows with the number of threads as more records share each group
+ * commit. The average batch size is printed at the end of each trial. Run the
+ * {@link #main} method to measure with 1 to 64 threads. Set the
+ * {@code benchmark.dir} system property to put the log on the device to be
+ * measured, otherwise it goes in the default temporary directory.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class WriteAheadLogBenchmark {
+
+    private static final int[] THREADS = { 1, 2, 4, 8, 16, 32, 64 };
+
+    private static final OntologyServicesImpl svc = new OntologyServicesImpl();
+
+    /**
+     * A logged model that is shared by all benchmark threads.
+     */
+    @State(Scope.Benchmark)
+    public static class LoggedModel {
+        private Path directory;
+        private WriteAheadLog log;
+        private ModelImpl model;
+        private final AtomicInteger writers = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            final var parent = System.getProperty("benchmark.dir");
+            directory = parent == null ? Files.createTempDirectory("wal") : Files.createTempDirectory(Path.of(parent), "wal");
+            log = WriteAheadLog.open(directory);
+            model = svc.createConcurrentModel("benchmark");
+            model.setWriteAheadLog(log);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            log.close();
+            System.out.printf("%n%d records in %d group commits, %.1f records per fsync%n", log.getRecords(), log.getCommits(),
+                (double) log.getRecords() / Math.max(1L, log.getCommits()));
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (final var path : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Per-thread state so that writers never generate the same identifier.
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+        private String prefix;
+        private long next;
+
+        @Setup(Level.Trial)
+        public void setup(final LoggedModel shared) {
+            prefix = "writer" + shared.writers.incrementAndGet() + "-";
+        }
+    }
+
+    @Benchmark
+    public void add(final LoggedModel shared, final Writer writer) {
+        shared.model.add(new LanguageImpl(writer.prefix + writer.next++, "Language"));
+    }
+
+    /**
+     * Run the benchmark once for each thread count.
+     *
+     * @param args
+     *            ignored
+     * @throws RunnerException
+     *             on error
+     */
+    public static void main(final String[] args) throws RunnerException {
+        for (final int threads : THREADS) {
+            new Runner(new OptionsBuilder()
+                .include(WriteAheadLogBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build()).run();
+        }
+    }
+}
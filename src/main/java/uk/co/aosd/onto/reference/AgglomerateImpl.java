@@ -10,6 +10,9 @@ import uk.co.aosd.onto.foundation.Event;
 import uk.co.aosd.onto.foundation.Individual;
 import uk.co.aosd.onto.reference.events.AggregatedImpl;
 import uk.co.aosd.onto.reference.events.DisaggregatedImpl;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenAgglomerate;
 
 /**
  * An implementation of the Agglomerate interface.
@@ -19,9 +22,14 @@ import uk.co.aosd.onto.reference.events.DisaggregatedImpl;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class AgglomerateImpl implements Agglomerate<AggregatedImpl, DisaggregatedImpl> {
+public class AgglomerateImpl implements Agglomerate<AggregatedImpl, DisaggregatedImpl>, Freezable<FrozenAgglomerate> {
     private String identifier;
     private Set<Individual<? extends Event, ? extends Event>> parts;
     private AggregatedImpl beginning;
     private DisaggregatedImpl ending;
+
+    @Override
+    public FrozenAgglomerate freeze(final Freezer freezer) {
+        return new FrozenAgglomerate(CompactId.key(identifier), freezer.freezeValue(parts), freezer.freeze(beginning), freezer.freeze(ending));
+    }
 }
@@ -8,6 +8,9 @@ import uk.co.aosd.onto.foundation.ScalarValue;
 import uk.co.aosd.onto.foundation.Unit;
 import uk.co.aosd.onto.reference.events.AggregatedImpl;
 import uk.co.aosd.onto.reference.events.DisaggregatedImpl;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenAggregate;
 
 /**
  * An implementation of the Aggregation interface.
@@ -17,10 +20,17 @@ import uk.co.aosd.onto.reference.events.DisaggregatedImpl;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class AggregateImpl<N extends Number, U extends Unit, T> implements Aggregate<N, U, T, AggregatedImpl, DisaggregatedImpl> {
+public class AggregateImpl<N extends Number, U extends Unit, T> implements Aggregate<N, U, T, AggregatedImpl, DisaggregatedImpl>,
+    Freezable<FrozenAggregate<N, U, T>> {
     private String identifier;
     private Class<T> kind;
     private ScalarValue<N, U> quantity;
     private AggregatedImpl beginning;
     private DisaggregatedImpl ending;
+
+    @Override
+    public FrozenAggregate<N, U, T> freeze(final Freezer freezer) {
+        return new FrozenAggregate<>(CompactId.key(identifier), freezer.freezeValue(kind),
+            freezer.freezeValue(quantity), freezer.freeze(beginning), freezer.freeze(ending));
+    }
 }
@@ -8,6 +8,9 @@ import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.foundation.Attribute;
 import uk.co.aosd.onto.foundation.Event;
 import uk.co.aosd.onto.foundation.Individual;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenAttribute;
 
 /**
  * An implementation of the Attribute interface.
@@ -17,10 +20,15 @@ import uk.co.aosd.onto.foundation.Individual;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class AttributeImpl<I extends Individual<? extends Event, ? extends Event>, P> implements Attribute<I, P> {
+public class AttributeImpl<I extends Individual<? extends Event, ? extends Event>, P> implements Attribute<I, P>, Freezable<FrozenAttribute<I, P>> {
     private String identifier;
     private I individual;
     private P property;
     private Instant from;
     private Instant to;
+
+    @Override
+    public FrozenAttribute<I, P> freeze(final Freezer freezer) {
+        return new FrozenAttribute<>(CompactId.key(identifier), freezer.freezeValue(individual), freezer.freezeValue(property), from, to);
+    }
 }
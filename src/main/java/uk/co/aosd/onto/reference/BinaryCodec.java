@@ -0,0 +1,806 @@
+package uk.co.aosd.onto.reference;
+
+import java.io.InvalidClassException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.decimal4j.immutable.Decimal3f;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+
+/**
+ * A compact binary encoding of the things in a model.
+ *
+ * <p>
+ * Each value starts with a one byte tag. Lengths and integers are written as
+ * variable length quantities, with signed integers zig-zag encoded so that small
+ * negative numbers are short too. Objects are written as an index into a
+ * {@link ClassTable} followed by their fields, or record components, in
+ * declaration order, so field names are never repeated. A UniquelyIdentifiable
+ * that is stored separately, such as another thing in the same model, is
+ * written as a reference to its identifier and resolved when it is read back.
+ * A {@link Registry} gives well known classes fixed numbers, so that only the
+ * names of other classes have to be stored with an encoding.
+ * </p>
+ *
+ * <p>
+ * As field names are not written, bytes are only readable by classes with the
+ * same fields as those that wrote them. Each class name in a
+ * {@link ClassTable} is stored with a hash of the names and types of its
+ * fields, and the table of an encoding that uses a Registry starts with a hash
+ * of all of the classes in it. Reading a table whose hashes do not match the
+ * classes as they are now fails with an InvalidClassException, rather than
+ * reading the fields into the wrong places.
+ * </p>
+ *
+ * <p>
+ * Objects are rebuilt with their no-argument constructor and their fields are
+ * then set, as Jackson does for the reference beans, with the canonical
+ * constructor for records, or otherwise with a constructor that takes every
+ * field in declaration order, as the immutable Frozen classes have.
+ * IdentifierSets are rebuilt as IdentifierSets, and other Sets, Lists and Maps
+ * as insertion-ordered mutable collections.
+ * Reference cycles through inline objects are not supported.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+final class BinaryCodec {
+    static final byte NULL = 0;
+    static final byte STRING = 1;
+    static final byte BOOLEAN = 2;
+    static final byte BYTE = 3;
+    static final byte SHORT = 4;
+    static final byte CHAR = 5;
+    static final byte INT = 6;
+    static final byte LONG = 7;
+    static final byte FLOAT = 8;
+    static final byte DOUBLE = 9;
+    static final byte INSTANT = 10;
+    static final byte UUID_VALUE = 11;
+    static final byte DECIMAL3F = 12;
+    static final byte BIG_DECIMAL = 13;
+    static final byte BIG_INTEGER = 14;
+    static final byte CLASS = 15;
+    static final byte ENUM = 16;
+    static final byte SET = 17;
+    static final byte LIST = 18;
+    static final byte MAP = 19;
+    static final byte OBJECT = 20;
+    static final byte REFERENCE = 21;
+    static final byte IDENTIFIER_SET = 22;
+
+    private static final ClassValue<Shape> SHAPES = new ClassValue<>() {
+        @Override
+        protected Shape computeValue(final Class<?> type) {
+            return Shape.of(type);
+        }
+    };
+
+    private static final ClassValue<Kind> KINDS = new ClassValue<>() {
+        @Override
+        protected Kind computeValue(final Class<?> type) {
+            return Kind.of(type);
+        }
+    };
+
+    private static final ClassValue<Integer> SHAPE_HASHES = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(final Class<?> type) {
+            return shapeHash(type);
+        }
+    };
+
+    private BinaryCodec() {
+    }
+
+    /**
+     * Get the number of fields that objects of a class are written with.
+     */
+    static int fieldCount(final Class<?> type) {
+        return SHAPES.get(type).fields.length;
+    }
+
+    /**
+     * Get the position of a field among those that objects of a class are
+     * written with, or -1 if there is no such field.
+     */
+    static int fieldIndex(final Class<?> type, final String name) {
+        return SHAPES.get(type).indexOf(name);
+    }
+
+    /**
+     * Hash the names and types of the fields that objects of a class are written
+     * with, in order. Classes that are not written as objects, such as enums,
+     * hash to 0.
+     */
+    private static int shapeHash(final Class<?> type) {
+        if (KINDS.get(type).tag != OBJECT) {
+            return 0;
+        }
+        try {
+            int hash = 1;
+            for (final var field : fieldsOf(type)) {
+                hash = 31 * hash + (field.getName() + ' ' + field.getType().getName()).hashCode();
+            }
+            return hash;
+        } catch (final NoSuchFieldException e) {
+            throw new IllegalStateException("Cannot find the fields of " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Get the fields that objects of a class are written with: the components
+     * of a record, or otherwise every field that is neither static nor
+     * transient, superclass fields first, each in declaration order.
+     */
+    private static Field[] fieldsOf(final Class<?> type) throws NoSuchFieldException {
+        if (type.isRecord()) {
+            final RecordComponent[] components = type.getRecordComponents();
+            final var fields = new Field[components.length];
+            for (int i = 0; i < components.length; i++) {
+                fields[i] = type.getDeclaredField(components[i].getName());
+            }
+            return fields;
+        }
+        final var fields = new ArrayList<Field>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            final var declared = new ArrayList<Field>();
+            for (final var field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                    declared.add(field);
+                }
+            }
+            fields.addAll(0, declared);
+        }
+        return fields.toArray(Field[]::new);
+    }
+
+    /**
+     * The tag that values of a class are written with, found once for each
+     * class rather than by testing every value against each type in turn.
+     */
+    private static final class Kind {
+        private final byte tag;
+        private final boolean identifiable;
+
+        private Kind(final byte tag, final boolean identifiable) {
+            this.tag = tag;
+            this.identifiable = identifiable;
+        }
+
+        static Kind of(final Class<?> type) {
+            return new Kind(tagOf(type), UniquelyIdentifiable.class.isAssignableFrom(type));
+        }
+
+        private static byte tagOf(final Class<?> type) {
+            if (type == String.class) {
+                return STRING;
+            } else if (type == Boolean.class) {
+                return BOOLEAN;
+            } else if (type == Byte.class) {
+                return BYTE;
+            } else if (type == Short.class) {
+                return SHORT;
+            } else if (type == Character.class) {
+                return CHAR;
+            } else if (type == Integer.class) {
+                return INT;
+            } else if (type == Long.class) {
+                return LONG;
+            } else if (type == Float.class) {
+                return FLOAT;
+            } else if (type == Double.class) {
+                return DOUBLE;
+            } else if (type == Instant.class) {
+                return INSTANT;
+            } else if (type == UUID.class) {
+                return UUID_VALUE;
+            } else if (type == Decimal3f.class) {
+                return DECIMAL3F;
+            } else if (BigDecimal.class.isAssignableFrom(type)) {
+                return BIG_DECIMAL;
+            } else if (BigInteger.class.isAssignableFrom(type)) {
+                return BIG_INTEGER;
+            } else if (type == Class.class) {
+                return CLASS;
+            } else if (Enum.class.isAssignableFrom(type)) {
+                return ENUM;
+            } else if (IdentifierSet.class.isAssignableFrom(type)) {
+                return IDENTIFIER_SET;
+            } else if (Set.class.isAssignableFrom(type)) {
+                return SET;
+            } else if (Collection.class.isAssignableFrom(type)) {
+                return LIST;
+            } else if (Map.class.isAssignableFrom(type)) {
+                return MAP;
+            }
+            return OBJECT;
+        }
+    }
+
+    /**
+     * Classes with fixed numbers that every encoding shares, so that they never
+     * need to be written out with it.
+     */
+    static final class Registry {
+        private final List<Class<?>> classes;
+        private final ClassValue<Integer> indexes = new ClassValue<>() {
+            @Override
+            protected Integer computeValue(final Class<?> type) {
+                return classes.indexOf(type);
+            }
+        };
+        private final int shapeHash;
+
+        Registry(final List<Class<?>> classes) {
+            this.classes = List.copyOf(classes);
+            int hash = 1;
+            for (final var type : this.classes) {
+                hash = 31 * hash + SHAPE_HASHES.get(type);
+            }
+            this.shapeHash = hash;
+        }
+
+        int size() {
+            return classes.size();
+        }
+    }
+
+    /**
+     * The classes used in an encoding, numbered in the order they were first
+     * seen, after those of its Registry.
+     */
+    static final class ClassTable {
+        private static final Registry NONE = new Registry(List.of());
+
+        private final Registry registry;
+        private final List<Class<?>> classes = new ArrayList<>();
+        private final Map<Class<?>, Integer> indexes = new HashMap<>();
+
+        ClassTable() {
+            this(NONE);
+        }
+
+        ClassTable(final Registry registry) {
+            this.registry = registry;
+        }
+
+        int indexOf(final Class<?> type) {
+            final int registered = registry.indexes.get(type);
+            return registered >= 0 ? registered : indexOfAdded(type);
+        }
+
+        Class<?> get(final int index) {
+            return index < registry.size() ? registry.classes.get(index) : getAdded(index - registry.size());
+        }
+
+        /**
+         * The classes that are not in the Registry, in number order.
+         */
+        synchronized List<Class<?>> added() {
+            return List.copyOf(classes);
+        }
+
+        private synchronized int indexOfAdded(final Class<?> type) {
+            return registry.size() + indexes.computeIfAbsent(type, t -> {
+                classes.add(t);
+                return classes.size() - 1;
+            });
+        }
+
+        private synchronized Class<?> getAdded(final int index) {
+            return classes.get(index);
+        }
+    }
+
+    /**
+     * Writes values into a growable byte array.
+     */
+    static final class Encoder {
+        private final ClassTable classes;
+        private final Predicate<UniquelyIdentifiable> isStoredSeparately;
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        Encoder(final ClassTable classes, final Predicate<UniquelyIdentifiable> isStoredSeparately) {
+            this.classes = classes;
+            this.isStoredSeparately = isStoredSeparately;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] bytes() {
+            return bytes;
+        }
+
+        /**
+         * Write a thing in full, even if it is one that would be written as a
+         * reference when it is held by another thing.
+         */
+        void writeThing(final UniquelyIdentifiable thing) {
+            writeObject(thing);
+        }
+
+        void writeValue(final Object value) {
+            if (value == null) {
+                writeByte(NULL);
+                return;
+            }
+            final var kind = KINDS.get(value.getClass());
+            if (kind.identifiable && isStoredSeparately.test((UniquelyIdentifiable) value)) {
+                writeByte(REFERENCE);
+                writeString(((UniquelyIdentifiable) value).getIdentifier());
+                return;
+            }
+            if (kind.tag == OBJECT) {
+                writeObject(value);
+                return;
+            }
+            writeByte(kind.tag);
+            switch (kind.tag) {
+                case STRING -> writeString((String) value);
+                case BOOLEAN -> writeByte((Boolean) value ? (byte) 1 : (byte) 0);
+                case BYTE -> writeByte((Byte) value);
+                case SHORT -> writeSignedVarLong((Short) value);
+                case CHAR -> writeVarLong((Character) value);
+                case INT -> writeSignedVarLong((Integer) value);
+                case LONG -> writeSignedVarLong((Long) value);
+                case FLOAT -> writeFixed(Float.floatToIntBits((Float) value), 4);
+                case DOUBLE -> writeFixed(Double.doubleToLongBits((Double) value), 8);
+                case INSTANT -> {
+                    final var instant = (Instant) value;
+                    writeSignedVarLong(instant.getEpochSecond());
+                    writeVarLong(instant.getNano());
+                }
+                case UUID_VALUE -> {
+                    final var uuid = (UUID) value;
+                    writeFixed(uuid.getMostSignificantBits(), 8);
+                    writeFixed(uuid.getLeastSignificantBits(), 8);
+                }
+                case DECIMAL3F -> writeSignedVarLong(((Decimal3f) value).unscaledValue());
+                case BIG_DECIMAL, BIG_INTEGER -> writeString(value.toString());
+                case CLASS -> writeVarLong(classes.indexOf((Class<?>) value));
+                case ENUM -> {
+                    final var e = (Enum<?>) value;
+                    writeVarLong(classes.indexOf(e.getDeclaringClass()));
+                    writeString(e.name());
+                }
+                case IDENTIFIER_SET, SET, LIST -> writeElements((Collection<?>) value);
+                case MAP -> {
+                    final var map = (Map<?, ?>) value;
+                    writeVarLong(map.size());
+                    for (final var entry : map.entrySet()) {
+                        writeValue(entry.getKey());
+                        writeValue(entry.getValue());
+                    }
+                }
+                default -> throw new IllegalStateException("Unknown tag " + kind.tag);
+            }
+        }
+
+        /**
+         * Write a ClassTable: the hash of the shapes of its Registry, if it has
+         * one, and then the name and shape hash of each class that is not in
+         * it. Write it after the values that use it, as they add to it.
+         */
+        void writeClassTable(final ClassTable table) {
+            if (table.registry.size() > 0) {
+                writeFixed(table.registry.shapeHash, 4);
+            }
+            final var added = table.added();
+            writeVarLong(added.size());
+            for (final var type : added) {
+                writeString(type.getName());
+                writeFixed(SHAPE_HASHES.get(type), 4);
+            }
+        }
+
+        void writeString(final String s) {
+            final var utf8 = s.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+
+        void writeVarLong(final long value) {
+            ensure(10);
+            long v = value;
+            while ((v & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            bytes[size++] = (byte) v;
+        }
+
+        void writeSignedVarLong(final long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        private void writeObject(final Object value) {
+            final var shape = SHAPES.get(value.getClass());
+            writeByte(OBJECT);
+            writeVarLong(classes.indexOf(value.getClass()));
+            for (final var field : shape.fields) {
+                try {
+                    writeValue(field.get(value));
+                } catch (final IllegalAccessException e) {
+                    throw new IllegalStateException("Cannot read " + field, e);
+                }
+            }
+        }
+
+        private void writeElements(final Collection<?> elements) {
+            writeVarLong(elements.size());
+            for (final var element : elements) {
+                writeValue(element);
+            }
+        }
+
+        private void writeByte(final byte b) {
+            ensure(1);
+            bytes[size++] = b;
+        }
+
+        private void writeFixed(final long value, final int length) {
+            ensure(length);
+            for (int i = length - 1; i >= 0; i--) {
+                bytes[size++] = (byte) (value >>> (8 * i));
+            }
+        }
+
+        private void ensure(final int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * Reads values from a ByteBuffer, starting at its position.
+     */
+    static final class Decoder {
+        private final ByteBuffer in;
+        private final ClassTable classes;
+        private final Function<String, UniquelyIdentifiable> references;
+
+        Decoder(final ByteBuffer in, final ClassTable classes, final Function<String, UniquelyIdentifiable> references) {
+            this.in = in;
+            this.classes = classes;
+            this.references = references;
+        }
+
+        Object readValue() {
+            final byte tag = in.get();
+            return switch (tag) {
+                case NULL -> null;
+                case STRING -> readString();
+                case REFERENCE -> references.apply(readString());
+                case BOOLEAN -> in.get() != 0;
+                case BYTE -> in.get();
+                case SHORT -> (short) readSignedVarLong();
+                case CHAR -> (char) readVarLong();
+                case INT -> (int) readSignedVarLong();
+                case LONG -> readSignedVarLong();
+                case FLOAT -> Float.intBitsToFloat((int) readFixed(4));
+                case DOUBLE -> Double.longBitsToDouble(readFixed(8));
+                case INSTANT -> Instant.ofEpochSecond(readSignedVarLong(), readVarLong());
+                case UUID_VALUE -> new UUID(readFixed(8), readFixed(8));
+                case DECIMAL3F -> Decimal3f.valueOfUnscaled(readSignedVarLong());
+                case BIG_DECIMAL -> new BigDecimal(readString());
+                case BIG_INTEGER -> new BigInteger(readString());
+                case CLASS -> classes.get((int) readVarLong());
+                case ENUM -> readEnum();
+                case SET -> readElements(new LinkedHashSet<>());
+                case LIST -> readElements(new ArrayList<>());
+                case IDENTIFIER_SET -> readIdentifierSet();
+                case MAP -> readMap();
+                case OBJECT -> readObject();
+                default -> throw new IllegalStateException("Unknown tag " + tag + " at " + (in.position() - 1));
+            };
+        }
+
+        /**
+         * Read a ClassTable written by {@link Encoder#writeClassTable}.
+         *
+         * @throws ClassNotFoundException
+         *             if a class cannot be found.
+         * @throws InvalidClassException
+         *             if the fields of a class, or of any class in the Registry,
+         *             have changed since the table was written.
+         */
+        ClassTable readClassTable(final Registry registry) throws ClassNotFoundException, InvalidClassException {
+            if (registry.size() > 0 && (int) readFixed(4) != registry.shapeHash) {
+                throw new InvalidClassException("The fields of the registered classes have changed since they were written");
+            }
+            final var table = new ClassTable(registry);
+            final int count = (int) readVarLong();
+            for (int i = 0; i < count; i++) {
+                final var name = readString();
+                final var type = Class.forName(name);
+                if ((int) readFixed(4) != SHAPE_HASHES.get(type)) {
+                    throw new InvalidClassException(name, "its fields have changed since it was written");
+                }
+                table.indexOf(type);
+            }
+            return table;
+        }
+
+        ClassTable readClassTable() throws ClassNotFoundException, InvalidClassException {
+            return readClassTable(ClassTable.NONE);
+        }
+
+        String readString() {
+            final int length = (int) readVarLong();
+            if (in.hasArray()) {
+                final var s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+                in.position(in.position() + length);
+                return s;
+            }
+            final var utf8 = new byte[length];
+            in.get(utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        long readVarLong() {
+            long value = 0L;
+            int shift = 0;
+            byte b;
+            do {
+                b = in.get();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        long readSignedVarLong() {
+            final long v = readVarLong();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        private long readFixed(final int length) {
+            long value = 0L;
+            for (int i = 0; i < length; i++) {
+                value = (value << 8) | (in.get() & 0xFF);
+            }
+            return value;
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private Object readEnum() {
+            final var type = (Class<? extends Enum>) classes.get((int) readVarLong());
+            return Enum.valueOf(type, readString());
+        }
+
+        private <C extends Collection<Object>> C readElements(final C elements) {
+            final int size = (int) readVarLong();
+            for (int i = 0; i < size; i++) {
+                elements.add(readValue());
+            }
+            return elements;
+        }
+
+        private IdentifierSet<UniquelyIdentifiable> readIdentifierSet() {
+            final int size = (int) readVarLong();
+            final var set = new IdentifierSet<UniquelyIdentifiable>(size, false);
+            for (int i = 0; i < size; i++) {
+                set.add((UniquelyIdentifiable) readValue());
+            }
+            return set;
+        }
+
+        private Map<Object, Object> readMap() {
+            final int size = (int) readVarLong();
+            final var map = new LinkedHashMap<Object, Object>();
+            for (int i = 0; i < size; i++) {
+                map.put(readValue(), readValue());
+            }
+            return map;
+        }
+
+        /**
+         * Move past a value without building it.
+         */
+        void skipValue() {
+            final byte tag = in.get();
+            switch (tag) {
+                case NULL -> {
+                }
+                case STRING, REFERENCE, BIG_DECIMAL, BIG_INTEGER -> skip((int) readVarLong());
+                case BOOLEAN, BYTE -> skip(1);
+                case SHORT, CHAR, INT, LONG, DECIMAL3F, CLASS -> readVarLong();
+                case FLOAT -> skip(4);
+                case DOUBLE -> skip(8);
+                case INSTANT -> {
+                    readVarLong();
+                    readVarLong();
+                }
+                case UUID_VALUE -> skip(16);
+                case ENUM -> {
+                    readVarLong();
+                    skip((int) readVarLong());
+                }
+                case SET, LIST, IDENTIFIER_SET -> skipValues(readVarLong());
+                case MAP -> skipValues(2 * readVarLong());
+                case OBJECT -> skipValues(SHAPES.get(classes.get((int) readVarLong())).fields.length);
+                default -> throw new IllegalStateException("Unknown tag " + tag + " at " + (in.position() - 1));
+            }
+        }
+
+        /**
+         * Read the class of an object and leave the position at its first field,
+         * or return null and leave the position unchanged if the next value is not
+         * an object.
+         */
+        Class<?> readObjectClass() {
+            if (in.get(in.position()) != OBJECT) {
+                return null;
+            }
+            in.get();
+            return classes.get((int) readVarLong());
+        }
+
+        private void skip(final int length) {
+            in.position(in.position() + length);
+        }
+
+        private void skipValues(final long count) {
+            for (long i = 0; i < count; i++) {
+                skipValue();
+            }
+        }
+
+        /**
+         * Read a value, passing it to a consumer as soon as it has been created.
+         * An object with a no-argument constructor is passed on before its fields
+         * are read, so that they can refer back to it. Other values are passed on
+         * once they are complete.
+         */
+        Object readValue(final Consumer<Object> created) {
+            if (in.get(in.position()) != OBJECT) {
+                final var value = readValue();
+                created.accept(value);
+                return value;
+            }
+            in.get();
+            return readObject(created);
+        }
+
+        private Object readObject() {
+            return readObject(null);
+        }
+
+        private Object readObject(final Consumer<Object> created) {
+            final var shape = SHAPES.get(classes.get((int) readVarLong()));
+            if (shape.allArguments) {
+                final var values = new Object[shape.fields.length];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = readValue();
+                }
+                final var object = shape.create(values);
+                if (created != null) {
+                    created.accept(object);
+                }
+                return object;
+            }
+            final var object = shape.create();
+            if (created != null) {
+                created.accept(object);
+            }
+            for (int i = 0; i < shape.fields.length; i++) {
+                shape.set(object, i, readValue());
+            }
+            return object;
+        }
+    }
+
+    /**
+     * How objects of a class are taken apart and put back together.
+     */
+    private static final class Shape {
+        private final Field[] fields;
+        private final Constructor<?> constructor;
+        private final boolean allArguments;
+
+        private Shape(final Field[] fields, final Constructor<?> constructor, final boolean allArguments) {
+            this.fields = fields;
+            this.constructor = constructor;
+            this.allArguments = allArguments;
+        }
+
+        static Shape of(final Class<?> type) {
+            try {
+                final var fields = fieldsOf(type);
+                for (final var field : fields) {
+                    field.setAccessible(true);
+                }
+                final var types = Arrays.stream(fields).map(Field::getType).toArray(Class<?>[]::new);
+                if (type.isRecord()) {
+                    final var constructor = type.getDeclaredConstructor(types);
+                    constructor.setAccessible(true);
+                    return new Shape(fields, constructor, true);
+                }
+                try {
+                    final var constructor = type.getDeclaredConstructor();
+                    constructor.setAccessible(true);
+                    return new Shape(fields, constructor, false);
+                } catch (final NoSuchMethodException e) {
+                    final var constructor = type.getDeclaredConstructor(types);
+                    constructor.setAccessible(true);
+                    return new Shape(fields, constructor, true);
+                }
+            } catch (final NoSuchMethodException | NoSuchFieldException e) {
+                throw new IllegalArgumentException("Cannot encode " + type.getName()
+                    + ": it needs a no-argument constructor, a constructor taking all of its fields or must be a record", e);
+            }
+        }
+
+        int indexOf(final String name) {
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i].getName().equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Create an object from the values of all of its fields.
+         */
+        Object create(final Object[] values) {
+            try {
+                return constructor.newInstance(values);
+            } catch (final InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot create " + constructor.getDeclaringClass().getName(), e);
+            }
+        }
+
+        /**
+         * Create an object with its no-argument constructor, for its fields to be
+         * set afterwards.
+         */
+        Object create() {
+            try {
+                return constructor.newInstance();
+            } catch (final InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot create " + constructor.getDeclaringClass().getName(), e);
+            }
+        }
+
+        void set(final Object object, final int index, final Object value) {
+            try {
+                fields[index].set(object, value);
+            } catch (final IllegalAccessException e) {
+                throw new IllegalStateException("Cannot set " + fields[index], e);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package uk.co.aosd.onto.reference;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+
+/**
+ * Writes a ModelSnapshot to a binary snapshot file that can be memory-mapped
+ * by {@link MappedModel}.
+ *
+ * <p>
+ * The file starts with a fixed header followed by the model identifier and
+ * then one record for each thing, made up of its identifier and its
+ * {@link BinaryCodec} encoding. Other things in the model are encoded as
+ * references, so each record can be decoded on its own. After the records
+ * comes a table of 16 byte entries, sorted by the hash code of the
+ * identifier, giving the hash, length and offset of each record, and then the
+ * names of the classes used in the encoding, each with a hash of its fields.
+ * </p>
+ *
+ * <p>
+ * Records and the class table never cross a {@link #CHUNK} boundary, so the file can be mapped as a
+ * series of buffers however big it is. The file is written beside its target
+ * and moved into place once complete, so a crash never leaves a partly written
+ * snapshot.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+final class BinarySnapshot {
+    static final int MAGIC = 0x4F4E5442;
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 32;
+    static final int ENTRY_SIZE = 16;
+    static final int CHUNK_BITS = 30;
+    static final long CHUNK = 1L << CHUNK_BITS;
+
+    private BinarySnapshot() {
+    }
+
+    static void write(final ModelSnapshot snapshot, final Path path) throws IOException {
+        final var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final var out = new CountingOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            final var classes = new BinaryCodec.ClassTable();
+            final var encoder = new BinaryCodec.Encoder(classes,
+                t -> snapshot.getThing(t.getIdentifier()).orElse(null) == t);
+
+            out.write(new byte[HEADER_SIZE]);
+            encoder.writeString(snapshot.getIdentifier() == null ? "" : snapshot.getIdentifier());
+            out.write(encoder.bytes(), 0, encoder.size());
+
+            final int count = snapshot.getThings().size();
+            final var keys = new long[count];
+            final var lengths = new int[count];
+            final var offsets = new long[count];
+            int n = 0;
+            for (final UniquelyIdentifiable thing : snapshot.getThings()) {
+                encoder.reset();
+                encoder.writeString(thing.getIdentifier());
+                encoder.writeThing(thing);
+                final int length = encoder.size();
+                if (length > CHUNK) {
+                    throw new IOException("Cannot write " + thing.getIdentifier() + ": it is larger than " + CHUNK + " bytes");
+                }
+                final long within = out.position & (CHUNK - 1);
+                if (within + length > CHUNK) {
+                    out.pad(CHUNK - within);
+                }
+                keys[n] = ((long) thing.getIdentifier().hashCode() << 32) | n;
+                lengths[n] = length;
+                offsets[n] = out.position;
+                out.write(encoder.bytes(), 0, length);
+                n++;
+            }
+            Arrays.parallelSort(keys);
+
+            out.pad((ENTRY_SIZE - out.position % ENTRY_SIZE) % ENTRY_SIZE);
+            final long tableOffset = out.position;
+            final var entry = ByteBuffer.allocate(ENTRY_SIZE);
+            for (final long key : keys) {
+                final int i = (int) key;
+                entry.clear();
+                entry.putInt((int) (key >>> 32)).putInt(lengths[i]).putLong(offsets[i]);
+                out.write(entry.array(), 0, ENTRY_SIZE);
+            }
+
+            encoder.reset();
+            encoder.writeClassTable(classes);
+            final long within = out.position & (CHUNK - 1);
+            if (within + encoder.size() > CHUNK) {
+                out.pad(CHUNK - within);
+            }
+            final long classTableOffset = out.position;
+            out.write(encoder.bytes(), 0, encoder.size());
+            out.flush();
+
+            final var header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(count)
+                .putInt(0)
+                .putLong(tableOffset)
+                .putLong(classTableOffset)
+                .flip();
+            channel.write(header, 0L);
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Keeps track of the position in the file being written.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream out;
+        private long position;
+
+        CountingOutputStream(final OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            position++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            position += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        void pad(final long length) throws IOException {
+            final var zeros = new byte[(int) Math.min(length, 1 << 12)];
+            for (long remaining = length; remaining > 0; remaining -= zeros.length) {
+                write(zeros, 0, (int) Math.min(remaining, zeros.length));
+            }
+        }
+    }
+}
@@ -7,6 +7,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.foundation.Class;
 import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenClass;
 
 /**
  * An implementation of Class of T.
@@ -16,7 +19,12 @@ import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class ClassImpl<T extends UniquelyIdentifiable> implements Class<T> {
+public class ClassImpl<T extends UniquelyIdentifiable> implements Class<T>, Freezable<FrozenClass<T>> {
     private String identifier;
     private Set<T> members;
+
+    @Override
+    public FrozenClass<T> freeze(final Freezer freezer) {
+        return new FrozenClass<>(CompactId.key(identifier), freezer.freezeValue(members));
+    }
 }
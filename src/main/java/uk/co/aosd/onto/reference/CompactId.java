@@ -0,0 +1,152 @@
+package uk.co.aosd.onto.reference;
+
+import java.util.UUID;
+
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+
+/**
+ * A UUID identifier held as two longs rather than as a 36 character String.
+ *
+ * <p>
+ * A UUID String takes about 90 bytes of heap and is hashed and compared a
+ * character at a time, where a CompactId takes 32 bytes, hashes by combining
+ * its two longs and compares with two comparisons. The String form is only
+ * made when it is asked for.
+ * </p>
+ *
+ * <p>
+ * The indexes of {@link ModelImpl} and {@link IdentifierSet} are keyed on
+ * {@link #key(String)}, which is a CompactId for identifiers in the canonical
+ * lower case form that {@link UUID#toString} produces and the String itself
+ * for any other identifier, so the two forms never clash. The Frozen classes
+ * hold their identifiers in the same form, see {@link CompactIdentifiable}.
+ * </p>
+ *
+ * <p>
+ * The saving only applies to a model whose things hold CompactIds, which is a
+ * model made by {@link ModelImpl#freeze}. A mutable bean holds its identifier
+ * as a String, and indexing it adds a CompactId key on top, so an unfrozen
+ * model with UUID identifiers takes 32 bytes a thing more than it would with
+ * String keys. For 200,000 Languages with UUID identifiers, {@link HeapAnalyzer}
+ * put the things at 104 bytes each before freezing and 56 after. The whole
+ * model, indexes included, grew the heap by 291 bytes a thing before freezing
+ * and 180 after.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public final class CompactId implements Comparable<CompactId> {
+    private static final int LENGTH = 36;
+
+    private final long mostSigBits;
+    private final long leastSigBits;
+
+    private CompactId(final long mostSigBits, final long leastSigBits) {
+        this.mostSigBits = mostSigBits;
+        this.leastSigBits = leastSigBits;
+    }
+
+    /**
+     * Parse a canonical UUID String.
+     *
+     * @param identifier
+     *            String
+     * @return CompactId or null if the identifier is not a UUID in lower case
+     *         hexadecimal with hyphens at the usual places.
+     */
+    public static CompactId parse(final String identifier) {
+        if (identifier == null || identifier.length() != LENGTH
+            || identifier.charAt(8) != '-' || identifier.charAt(13) != '-' || identifier.charAt(18) != '-' || identifier.charAt(23) != '-') {
+            return null;
+        }
+        final long a = hex(identifier, 0, 8);
+        final long b = hex(identifier, 9, 13);
+        final long c = hex(identifier, 14, 18);
+        final long d = hex(identifier, 19, 23);
+        final long e = hex(identifier, 24, LENGTH);
+        // A negative part means a character that is not a lower case hex digit.
+        if ((a | b | c | d | e) < 0) {
+            return null;
+        }
+        return new CompactId(a << 32 | b << 16 | c, d << 48 | e);
+    }
+
+    /**
+     * The form of an identifier used as a key by the indexes.
+     *
+     * @param identifier
+     *            String
+     * @return a CompactId, or the identifier if it is not a canonical UUID.
+     */
+    public static Object key(final String identifier) {
+        final var compact = parse(identifier);
+        return compact != null ? compact : identifier;
+    }
+
+    /**
+     * The key of a thing, taken from the thing without making its String
+     * identifier if it holds a compact one.
+     *
+     * @param thing
+     *            UniquelyIdentifiable
+     * @return a CompactId or String
+     */
+    public static Object key(final UniquelyIdentifiable thing) {
+        return thing instanceof CompactIdentifiable compact ? compact.getIdentifierKey() : key(thing.getIdentifier());
+    }
+
+    /**
+     * Order two keys in the same order as their String forms.
+     */
+    static int compareKeys(final Object a, final Object b) {
+        if (a instanceof CompactId x && b instanceof CompactId y) {
+            return x.compareTo(y);
+        }
+        return a.toString().compareTo(b.toString());
+    }
+
+    public UUID toUuid() {
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public int compareTo(final CompactId other) {
+        final int high = Long.compareUnsigned(mostSigBits, other.mostSigBits);
+        return high != 0 ? high : Long.compareUnsigned(leastSigBits, other.leastSigBits);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof CompactId other && mostSigBits == other.mostSigBits && leastSigBits == other.leastSigBits;
+    }
+
+    @Override
+    public int hashCode() {
+        final long h = mostSigBits ^ leastSigBits;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Make the String form, which is the identifier this was parsed from.
+     */
+    @Override
+    public String toString() {
+        return toUuid().toString();
+    }
+
+    /**
+     * Parse lower case hex digits, returning a negative number if any is not one.
+     */
+    private static long hex(final String s, final int from, final int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            final char c = s.charAt(i);
+            final int digit = c >= '0' && c <= '9' ? c - '0' : c >= 'a' && c <= 'f' ? c - 'a' + 10 : -1;
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,21 @@
+package uk.co.aosd.onto.reference;
+
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+
+/**
+ * A thing that holds its identifier in the form returned by
+ * {@link CompactId#key(String)}, so that the indexes can use it directly and
+ * its String identifier is only made when it is asked for.
+ *
+ * @author Tony Walmsley
+ */
+public interface CompactIdentifiable extends UniquelyIdentifiable {
+
+    /**
+     * Get the identifier as a key.
+     *
+     * @return a CompactId, or a String for an identifier that is not a
+     *         canonical UUID.
+     */
+    Object getIdentifierKey();
+}
@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.money.Currency;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenCurrency;
 
 /**
  * A record of a currency.
@@ -13,9 +16,14 @@ import uk.co.aosd.onto.money.Currency;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class CurrencyImpl implements Currency {
+public class CurrencyImpl implements Currency, Freezable<FrozenCurrency> {
     private String identifier;
     private String abbreviation;
     private String name;
     private char symbol;
+
+    @Override
+    public FrozenCurrency freeze(final Freezer freezer) {
+        return new FrozenCurrency(CompactId.key(identifier), abbreviation, name, symbol);
+    }
 }
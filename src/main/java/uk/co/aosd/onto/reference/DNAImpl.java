@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.biological.DNA;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenDNA;
 
 /**
  * An implementation of the DNA interface.
@@ -13,7 +16,12 @@ import uk.co.aosd.onto.biological.DNA;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class DNAImpl implements DNA {
+public class DNAImpl implements DNA, Freezable<FrozenDNA> {
     private String identifier;
     private String dna;
+
+    @Override
+    public FrozenDNA freeze(final Freezer freezer) {
+        return new FrozenDNA(CompactId.key(identifier), dna);
+    }
 }
@@ -12,6 +12,9 @@ import uk.co.aosd.onto.reference.events.DissolvedImpl;
 import uk.co.aosd.onto.reference.events.FormedImpl;
 import uk.co.aosd.onto.reference.events.RemovedImpl;
 import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenEmployment;
 
 /**
  * An implementation of the Employment interface.
@@ -22,7 +25,8 @@ import uk.co.aosd.onto.reference.events.ResignifiedImpl;
 @AllArgsConstructor
 @NoArgsConstructor
 public class EmploymentImpl<C>
-    implements Employment<C, AppointedImpl, RemovedImpl, FormedImpl, DissolvedImpl, ResignifiedImpl, BirthImpl, DeathImpl, LanguageImpl> {
+    implements Employment<C, AppointedImpl, RemovedImpl, FormedImpl, DissolvedImpl, ResignifiedImpl, BirthImpl, DeathImpl, LanguageImpl>,
+    Freezable<FrozenEmployment<C>> {
     private String identifier;
     private OrganisationImpl<? extends Role> employer;
     private HumanImpl employee;
@@ -30,4 +34,10 @@ public class EmploymentImpl<C>
     private C contract;
     private AppointedImpl beginning;
     private RemovedImpl ending;
+
+    @Override
+    public FrozenEmployment<C> freeze(final Freezer freezer) {
+        return new FrozenEmployment<>(CompactId.key(identifier), freezer.freeze(employer), freezer.freeze(employee),
+            actionsDescription, freezer.freezeValue(contract), freezer.freeze(beginning), freezer.freeze(ending));
+    }
 }
@@ -0,0 +1,201 @@
+package uk.co.aosd.onto.reference;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+
+/**
+ * An EvictionPolicy that drops Individuals that ended long enough ago, those
+ * that ended earliest first.
+ *
+ * <p>
+ * An Individual is eligible once the latest time its ending could have happened
+ * is more than the retention period in the past. Individuals with no ending
+ * and things that are not Individuals are never evicted, so a model made up
+ * only of those can stay over budget. Candidates are taken from the model's
+ * lifetime index in order of end time, so only the Individuals that are
+ * evicted are looked at.
+ * </p>
+ *
+ * <p>
+ * Once over budget the policy evicts down to a low-water mark of nine tenths
+ * of the budget, so a model that is being filled does not evict again on each
+ * of the next few adds.
+ * </p>
+ *
+ * <p>
+ * The budget is either a number of things or a number of bytes of heap. The
+ * heap used is measured as it was after the most recent garbage collection,
+ * which approximates the live set, and no more is evicted until another
+ * collection has shown the effect of the last eviction. The measurement is
+ * taken when the JVM reports that a collection has finished, so checking the
+ * budget on an add only reads a field. The number of things to evict is
+ * estimated from the average size of a thing in the model.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public final class EndedIndividualsEvictionPolicy implements EvictionPolicy {
+    private static final double LOW_WATER = 0.9;
+
+    private final ToLongFunction<ModelImpl> usage;
+    private final LongSupplier collections;
+    private final long budget;
+    private final Duration retention;
+    private final Clock clock;
+    private final Consumer<? super UniquelyIdentifiable> spill;
+    private volatile long collectionsAtLastEviction = -1L;
+
+    private EndedIndividualsEvictionPolicy(final ToLongFunction<ModelImpl> usage, final LongSupplier collections, final long budget,
+        final Duration retention, final Clock clock, final Consumer<? super UniquelyIdentifiable> spill) {
+        this.usage = usage;
+        this.collections = collections;
+        this.budget = budget;
+        this.retention = retention;
+        this.clock = clock;
+        this.spill = spill;
+    }
+
+    /**
+     * Keep the number of things in a model within a budget.
+     *
+     * @param maxThings
+     *            The most things the model should hold.
+     * @param retention
+     *            How long to keep Individuals after they end.
+     * @param spill
+     *            Consumer of the evicted things, or null to drop them.
+     * @return EndedIndividualsEvictionPolicy
+     */
+    public static EndedIndividualsEvictionPolicy maxThings(final long maxThings, final Duration retention,
+        final Consumer<? super UniquelyIdentifiable> spill) {
+        return new EndedIndividualsEvictionPolicy(m -> m.getThings().size(), null, maxThings, retention, Clock.systemUTC(), spill);
+    }
+
+    /**
+     * Keep the heap used after garbage collection within a budget.
+     *
+     * @param maxBytes
+     *            The most heap that should be in use.
+     * @param retention
+     *            How long to keep Individuals after they end.
+     * @param spill
+     *            Consumer of the evicted things, or null to drop them.
+     * @return EndedIndividualsEvictionPolicy
+     */
+    public static EndedIndividualsEvictionPolicy heapBudget(final long maxBytes, final Duration retention,
+        final Consumer<? super UniquelyIdentifiable> spill) {
+        final var sampler = HeapSampler.INSTANCE;
+        return new EndedIndividualsEvictionPolicy(m -> sampler.liveHeap(), sampler::collections, maxBytes, retention,
+            Clock.systemUTC(), spill);
+    }
+
+    @Override
+    public boolean isOverBudget(final ModelImpl model) {
+        if (collections != null && collections.getAsLong() == collectionsAtLastEviction) {
+            return false;
+        }
+        return usage.applyAsLong(model) > budget;
+    }
+
+    @Override
+    public List<UniquelyIdentifiable> select(final ModelImpl model) {
+        final long used = usage.applyAsLong(model);
+        final int size = model.getThings().size();
+        if (used <= budget || size == 0) {
+            return List.of();
+        }
+        if (collections != null) {
+            collectionsAtLastEviction = collections.getAsLong();
+        }
+        final long excess = (long) Math.ceil((used - (long) (budget * LOW_WATER)) / ((double) used / size));
+        final Instant cutoff = clock.instant().minus(retention);
+        return model.getIndividualsEndedBefore(cutoff, excess).stream()
+            .map(UniquelyIdentifiable.class::cast)
+            .toList();
+    }
+
+    @Override
+    public void evicted(final UniquelyIdentifiable thing) {
+        if (spill != null) {
+            spill.accept(thing);
+        }
+    }
+
+    /**
+     * Measures the heap in use after garbage collection each time a collection
+     * finishes. If the JVM does not report collections the heap is measured
+     * when asked, at most once a second.
+     */
+    private static final class HeapSampler implements NotificationListener {
+        private static final HeapSampler INSTANCE = new HeapSampler();
+        private static final long INTERVAL_NANOS = 1_000_000_000L;
+
+        private final boolean notified;
+        private volatile long liveHeap;
+        private volatile long collections;
+        private volatile long sampledAt;
+
+        private HeapSampler() {
+            sample();
+            boolean listening = false;
+            for (final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (collector instanceof NotificationEmitter emitter) {
+                    emitter.addNotificationListener(this, null, null);
+                    listening = true;
+                }
+            }
+            this.notified = listening;
+        }
+
+        @Override
+        public void handleNotification(final Notification notification, final Object handback) {
+            sample();
+        }
+
+        long liveHeap() {
+            sampleIfStale();
+            return liveHeap;
+        }
+
+        long collections() {
+            sampleIfStale();
+            return collections;
+        }
+
+        private void sampleIfStale() {
+            if (!notified && System.nanoTime() - sampledAt > INTERVAL_NANOS) {
+                sample();
+            }
+        }
+
+        private void sample() {
+            long used = 0L;
+            for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null) {
+                    used += pool.getCollectionUsage().getUsed();
+                }
+            }
+            long count = 0L;
+            for (final GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0L, collector.getCollectionCount());
+            }
+            liveHeap = used;
+            collections = count;
+            sampledAt = System.nanoTime();
+        }
+    }
+}
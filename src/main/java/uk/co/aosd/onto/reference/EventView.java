@@ -0,0 +1,116 @@
+package uk.co.aosd.onto.reference;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+
+import uk.co.aosd.onto.foundation.Event;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.reference.events.EpochEvent;
+
+/**
+ * An Event decoded lazily from a mapped record.
+ *
+ * <p>
+ * Each kind of event is told apart only by its marker interface, such as
+ * Birth or TransferredTo, so one view class cannot stand in for all of them.
+ * The view is handed out behind a Proxy that implements every public Event
+ * interface of the class the record was written from, and passes the calls
+ * to this view. The bounds of the reference events are read
+ * from their epoch second and nanosecond fields. Any other method, or the
+ * bounds of an event of another class, is answered by the decoded event.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+final class EventView extends RecordView<Event> implements EpochEvent, InvocationHandler {
+    private final boolean epoch;
+
+    private EventView(final MappedModel model, final ByteBuffer record, final String identifier, final Class<?> type) {
+        super(model, record, identifier, type);
+        this.epoch = EpochEvent.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Create a view of an event record.
+     *
+     * @return a Proxy that implements the Event interfaces of the type.
+     */
+    static UniquelyIdentifiable of(final MappedModel model, final ByteBuffer record, final String identifier, final Class<?> type) {
+        final var interfaces = new LinkedHashSet<Class<?>>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            addEventInterfaces(c, interfaces);
+        }
+        return (UniquelyIdentifiable) Proxy.newProxyInstance(type.getClassLoader(), interfaces.toArray(Class<?>[]::new),
+            new EventView(model, record, identifier, type));
+    }
+
+    private static void addEventInterfaces(final Class<?> type, final LinkedHashSet<Class<?>> interfaces) {
+        for (final var i : type.getInterfaces()) {
+            if (Event.class.isAssignableFrom(i) && Modifier.isPublic(i.getModifiers())) {
+                interfaces.add(i);
+            }
+            addEventInterfaces(i, interfaces);
+        }
+    }
+
+    /**
+     * Get the view behind a Proxy made by {@link #of}.
+     *
+     * @return the EventView, or the object itself if it is not one.
+     */
+    static Object unwrap(final Object o) {
+        if (o != null && Proxy.isProxyClass(o.getClass()) && Proxy.getInvocationHandler(o) instanceof EventView view) {
+            return view;
+        }
+        return o;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(method.getDeclaringClass().isInstance(this) ? this : decoded(), args);
+        } catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public Instant getFrom() {
+        return epoch ? instant(getFromEpochSecond(), getFromNano()) : decoded().getFrom();
+    }
+
+    @Override
+    public Instant getTo() {
+        return epoch ? instant(getToEpochSecond(), getToNano()) : decoded().getTo();
+    }
+
+    @Override
+    public long getFromEpochSecond() {
+        return (Long) field("fromEpochSecond", e -> ((EpochEvent) e).getFromEpochSecond());
+    }
+
+    @Override
+    public int getFromNano() {
+        return (Integer) field("fromNano", e -> ((EpochEvent) e).getFromNano());
+    }
+
+    @Override
+    public long getToEpochSecond() {
+        return (Long) field("toEpochSecond", e -> ((EpochEvent) e).getToEpochSecond());
+    }
+
+    @Override
+    public int getToNano() {
+        return (Integer) field("toNano", e -> ((EpochEvent) e).getToNano());
+    }
+
+    private static Instant instant(final long epochSecond, final int nano) {
+        return nano == NONE ? null : Instant.ofEpochSecond(epochSecond, nano);
+    }
+}
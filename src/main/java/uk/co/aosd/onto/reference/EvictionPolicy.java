@@ -0,0 +1,49 @@
+package uk.co.aosd.onto.reference;
+
+import java.util.List;
+
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+
+/**
+ * Decides which things a ModelImpl should drop to stay within a budget.
+ *
+ * <p>
+ * A model with a policy checks it after each {@link ModelImpl#add} and
+ * {@link ModelImpl#addAll}, and removes the things it selects from the model
+ * and from all of its indexes.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public interface EvictionPolicy {
+
+    /**
+     * Check whether the model is over budget. This is called after every add, so
+     * it should be cheap.
+     *
+     * @param model
+     *            ModelImpl
+     * @return true if things should be evicted.
+     */
+    boolean isOverBudget(ModelImpl model);
+
+    /**
+     * Choose the things to evict from a model that is over budget.
+     *
+     * @param model
+     *            ModelImpl
+     * @return List of UniquelyIdentifiable in the order they should be evicted.
+     */
+    List<UniquelyIdentifiable> select(ModelImpl model);
+
+    /**
+     * Called for each thing after it has been removed from the model, for
+     * example to spill it to secondary storage. Does nothing by default, so
+     * evicted things are dropped.
+     *
+     * @param thing
+     *            UniquelyIdentifiable
+     */
+    default void evicted(final UniquelyIdentifiable thing) {
+    }
+}
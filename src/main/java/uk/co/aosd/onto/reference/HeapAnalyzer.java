@@ -0,0 +1,356 @@
+package uk.co.aosd.onto.reference;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.Temporal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import uk.co.aosd.onto.foundation.Event;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.model.Model;
+
+/**
+ * Estimates how the heap used by a model is divided between the classes of the
+ * objects it holds, and how much of it is taken by equal objects that could be
+ * shared.
+ *
+ * <p>
+ * The analyzer walks the graph of each thing in the model with an explicit
+ * work list, visiting each object once. For each class it counts the instances
+ * and their shallow size, which is estimated from the declared fields
+ * assuming a 64-bit JVM with compressed references and compact Strings. The
+ * internals of JDK collections are estimated from their size, as their fields
+ * cannot be read.
+ * </p>
+ *
+ * <p>
+ * The retained size of a class of thing is the shallow size of its instances
+ * plus that of every object that is not itself a thing and that was first
+ * reached from one of them, such as its Strings, Instants and collections. An
+ * object shared by several things is counted once, against whichever reached
+ * it first, so this is an attribution of the heap rather than a dominator
+ * tree, and the retained sizes of all classes add up to the total.
+ * </p>
+ *
+ * <p>
+ * Strings, numbers, times, CompactIds and events are checked for duplicates:
+ * distinct instances that are equal to one another. The report gives the
+ * number of such instances beyond the first and the bytes they take. To find
+ * them without keeping every value, a first walk counts the hash codes of
+ * these objects in a table of ints, and a second walk only keeps the values
+ * whose hash code was seen more than once. The visited set of each walk is an
+ * open-addressed table with one reference per slot, so the analyzer needs
+ * around ten bytes per object, which is a fraction of the objects themselves.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public final class HeapAnalyzer {
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private static final ClassValue<Layout> LAYOUTS = new ClassValue<>() {
+        @Override
+        protected Layout computeValue(final Class<?> type) {
+            return Layout.of(type);
+        }
+    };
+
+    private final Map<Class<?>, long[]> stats = new HashMap<>();
+    private final HashCounts hashes = new HashCounts();
+    private final Map<Object, Object> candidates = new HashMap<>();
+
+    private HeapAnalyzer() {
+    }
+
+    /**
+     * Analyze the things in a model.
+     *
+     * @param model
+     *            Model
+     * @return HeapReport
+     */
+    public static HeapReport analyze(final Model model) {
+        final var analyzer = new HeapAnalyzer();
+        analyzer.walk(model.getThings(), false);
+        analyzer.walk(model.getThings(), true);
+        final var classes = new ArrayList<HeapReport.ClassStats>(analyzer.stats.size());
+        analyzer.stats.forEach((type, s) -> classes.add(new HeapReport.ClassStats(type.getName(), s[0], s[1], s[2], s[3], s[4])));
+        return new HeapReport(classes);
+    }
+
+    /**
+     * Walk the graphs of the things, counting the hash codes of shareable
+     * objects on the first pass and everything else on the second.
+     */
+    private void walk(final Collection<UniquelyIdentifiable> things, final boolean count) {
+        final var visited = new IdentitySet();
+        final var work = new ArrayDeque<Object>();
+        for (final var thing : things) {
+            push(work, visited, thing, thing.getClass());
+            while (!work.isEmpty()) {
+                final var owner = (Class<?>) work.pop();
+                final var object = work.pop();
+                if (count) {
+                    count(object, owner);
+                } else if (isShareable(object)) {
+                    hashes.add(object.hashCode());
+                }
+                for (final var child : children(object)) {
+                    push(work, visited, child, child instanceof UniquelyIdentifiable ? child.getClass() : owner);
+                }
+            }
+        }
+    }
+
+    private static void push(final ArrayDeque<Object> work, final IdentitySet visited, final Object object, final Class<?> owner) {
+        if (object == null || object instanceof Class<?> || object instanceof Enum<?> || !visited.add(object)) {
+            return;
+        }
+        work.push(object);
+        work.push(owner);
+    }
+
+    private void count(final Object object, final Class<?> owner) {
+        final long size = sizeOf(object);
+        final var own = stats.computeIfAbsent(object.getClass(), c -> new long[5]);
+        own[0]++;
+        own[1] += size;
+        stats.computeIfAbsent(owner, c -> new long[5])[2] += size;
+        if (isShareable(object) && hashes.isRepeated(object.hashCode())) {
+            final var first = candidates.putIfAbsent(object, object);
+            if (first != null) {
+                own[3]++;
+                own[4] += size;
+            }
+        }
+    }
+
+    private static boolean isShareable(final Object object) {
+        return object instanceof String || object instanceof Number && object.getClass().getModule().isNamed()
+            || object instanceof Temporal || object instanceof CompactId || object instanceof Event;
+    }
+
+    private static List<?> children(final Object object) {
+        final var type = object.getClass();
+        if (type.isArray()) {
+            return type.getComponentType().isPrimitive() ? List.of() : Arrays.asList((Object[]) object);
+        }
+        if (object instanceof Collection<?> collection && type.getModule().isNamed()) {
+            return new ArrayList<>(collection);
+        }
+        if (object instanceof Map<?, ?> map && type.getModule().isNamed()) {
+            final var children = new ArrayList<Object>(map.keySet());
+            children.addAll(map.values());
+            return children;
+        }
+        final var fields = LAYOUTS.get(type).references;
+        if (fields.length == 0) {
+            return List.of();
+        }
+        final var children = new ArrayList<>(fields.length);
+        try {
+            for (final var field : fields) {
+                children.add(field.get(object));
+            }
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException("Cannot read " + type.getName(), e);
+        }
+        return children;
+    }
+
+    /**
+     * Estimate the shallow size of an object, including the internal arrays and
+     * nodes of a JDK String or collection.
+     */
+    static long sizeOf(final Object object) {
+        final var type = object.getClass();
+        if (type.isArray()) {
+            final var component = type.getComponentType();
+            return align(ARRAY_HEADER + (long) Array.getLength(object) * (component.isPrimitive() ? primitiveSize(component) : REFERENCE));
+        }
+        final long shallow = LAYOUTS.get(type).size;
+        if (object instanceof String string) {
+            final boolean latin1 = string.chars().allMatch(c -> c < 256);
+            return shallow + align(ARRAY_HEADER + (latin1 ? string.length() : 2L * string.length()));
+        }
+        if (type.getModule().isNamed()) {
+            if (object instanceof Map<?, ?> map) {
+                return shallow + hashed(map.size());
+            }
+            if (object instanceof List<?> list) {
+                return shallow + (list instanceof RandomAccess ? align(ARRAY_HEADER + (long) REFERENCE * list.size()) : 24L * list.size());
+            }
+            if (object instanceof Collection<?> collection) {
+                return shallow + hashed(collection.size());
+            }
+        }
+        return shallow;
+    }
+
+    /**
+     * The table and entries of a hash-based collection: a node of 32 bytes per
+     * entry and a table sized to the next power of two at a load factor of 0.75.
+     */
+    private static long hashed(final int size) {
+        final long capacity = size == 0 ? 0 : Long.highestOneBit((long) (size / 0.75f) * 2 - 1);
+        return align(ARRAY_HEADER + REFERENCE * capacity) + 32L * size;
+    }
+
+    private static long align(final long size) {
+        return (size + 7) & ~7L;
+    }
+
+    private static int primitiveSize(final Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    /**
+     * The estimated shallow size of a class and its readable reference fields.
+     */
+    private static final class Layout {
+        private final long size;
+        private final Field[] references;
+
+        private Layout(final long size, final Field[] references) {
+            this.size = size;
+            this.references = references;
+        }
+
+        static Layout of(final Class<?> type) {
+            long size = HEADER;
+            final var references = new ArrayList<Field>();
+            final boolean readable = !type.getModule().isNamed();
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (final var field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    if (field.getType().isPrimitive()) {
+                        size += primitiveSize(field.getType());
+                    } else {
+                        size += REFERENCE;
+                        if (readable && c.getModule() == type.getModule()) {
+                            field.setAccessible(true);
+                            references.add(field);
+                        }
+                    }
+                }
+            }
+            return new Layout(align(size), references.toArray(Field[]::new));
+        }
+    }
+
+    /**
+     * An open-addressed set of objects compared by identity, which takes one
+     * reference per slot.
+     */
+    private static final class IdentitySet {
+        private Object[] table = new Object[1 << 16];
+        private int size;
+
+        boolean add(final Object object) {
+            int mask = table.length - 1;
+            int i = mix(System.identityHashCode(object)) & mask;
+            while (table[i] != null) {
+                if (table[i] == object) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = object;
+            if (++size > table.length / 4 * 3) {
+                resize();
+            }
+            return true;
+        }
+
+        private void resize() {
+            final var old = table;
+            table = new Object[old.length * 2];
+            final int mask = table.length - 1;
+            for (final var object : old) {
+                if (object != null) {
+                    int i = mix(System.identityHashCode(object)) & mask;
+                    while (table[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    table[i] = object;
+                }
+            }
+        }
+    }
+
+    /**
+     * An open-addressed table of int hash codes that records whether each has
+     * been seen once or more than once.
+     */
+    private static final class HashCounts {
+        private int[] keys = new int[1 << 16];
+        private byte[] counts = new byte[1 << 16];
+        private int size;
+
+        void add(final int hash) {
+            final int i = find(keys, counts, hash);
+            if (counts[i] == 0) {
+                keys[i] = hash;
+                counts[i] = 1;
+                if (++size > keys.length / 4 * 3) {
+                    resize();
+                }
+            } else {
+                counts[i] = 2;
+            }
+        }
+
+        boolean isRepeated(final int hash) {
+            return counts[find(keys, counts, hash)] == 2;
+        }
+
+        private static int find(final int[] keys, final byte[] counts, final int hash) {
+            final int mask = keys.length - 1;
+            int i = mix(hash) & mask;
+            while (counts[i] != 0 && keys[i] != hash) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private void resize() {
+            final var oldKeys = keys;
+            final var oldCounts = counts;
+            keys = new int[oldKeys.length * 2];
+            counts = new byte[oldCounts.length * 2];
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldCounts[j] != 0) {
+                    final int i = find(keys, counts, oldKeys[j]);
+                    keys[i] = oldKeys[j];
+                    counts[i] = oldCounts[j];
+                }
+            }
+        }
+    }
+
+    private static int mix(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,87 @@
+package uk.co.aosd.onto.reference;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The result of a {@link HeapAnalyzer} walk over a model.
+ *
+ * @author Tony Walmsley
+ */
+public final class HeapReport {
+    private final List<ClassStats> classes;
+
+    HeapReport(final List<ClassStats> classes) {
+        this.classes = classes.stream()
+            .sorted(Comparator.comparingLong(ClassStats::retainedBytes).reversed().thenComparing(ClassStats::type))
+            .toList();
+    }
+
+    /**
+     * Get the statistics for each class, largest retained size first.
+     *
+     * @return List of ClassStats
+     */
+    public List<ClassStats> getClasses() {
+        return classes;
+    }
+
+    /**
+     * Get the statistics for one class.
+     *
+     * @param type
+     *            Class
+     * @return ClassStats or empty if no instances were found.
+     */
+    public Optional<ClassStats> get(final Class<?> type) {
+        return classes.stream().filter(c -> c.type().equals(type.getName())).findFirst();
+    }
+
+    /**
+     * The estimated size of everything reached from the model's things.
+     */
+    public long getTotalBytes() {
+        return classes.stream().mapToLong(ClassStats::shallowBytes).sum();
+    }
+
+    /**
+     * The estimated size of the objects that are equal to another instance and
+     * could be shared.
+     */
+    public long getDuplicateBytes() {
+        return classes.stream().mapToLong(ClassStats::duplicateBytes).sum();
+    }
+
+    @Override
+    public String toString() {
+        final var out = new StringBuilder(String.format("%-60s %12s %14s %14s %12s %14s%n", "class", "instances", "shallow", "retained",
+            "duplicates", "duplicate"));
+        for (final var c : classes) {
+            out.append(String.format("%-60s %12d %14d %14d %12d %14d%n", c.type(), c.instances(), c.shallowBytes(), c.retainedBytes(),
+                c.duplicates(), c.duplicateBytes()));
+        }
+        out.append(String.format("total %d bytes, %d bytes in duplicates%n", getTotalBytes(), getDuplicateBytes()));
+        return out.toString();
+    }
+
+    /**
+     * The instances of one class.
+     *
+     * @param type
+     *            The class name.
+     * @param instances
+     *            The number of instances.
+     * @param shallowBytes
+     *            The estimated size of the instances themselves.
+     * @param retainedBytes
+     *            The estimated size of the instances and of the objects first
+     *            reached from them that are not things.
+     * @param duplicates
+     *            The number of instances equal to an earlier one.
+     * @param duplicateBytes
+     *            The estimated size of those instances.
+     */
+    public record ClassStats(String type, long instances, long shallowBytes, long retainedBytes, long duplicates, long duplicateBytes) {
+    }
+}
@@ -9,6 +9,9 @@ import uk.co.aosd.onto.foundation.Class;
 import uk.co.aosd.onto.reference.events.BirthImpl;
 import uk.co.aosd.onto.reference.events.DeathImpl;
 import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenHuman;
 import uk.co.aosd.onto.signifying.Signifier;
 
 /**
@@ -19,7 +22,7 @@ import uk.co.aosd.onto.signifying.Signifier;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class HumanImpl implements Human<BirthImpl, DeathImpl, ResignifiedImpl, LanguageImpl> {
+public class HumanImpl implements Human<BirthImpl, DeathImpl, ResignifiedImpl, LanguageImpl>, Freezable<FrozenHuman> {
     private String identifier;
     private BirthImpl beginning;
     private DeathImpl ending;
@@ -27,4 +30,10 @@ public class HumanImpl implements Human<BirthImpl, DeathImpl, ResignifiedImpl, L
     private LanguageImpl nativeLanguage;
     private Class<LanguageImpl> languages;
     private DNA dna;
+
+    @Override
+    public FrozenHuman freeze(final Freezer freezer) {
+        return new FrozenHuman(CompactId.key(identifier), freezer.freeze(beginning), freezer.freeze(ending),
+            freezer.freezeValue(names), freezer.freeze(nativeLanguage), freezer.freezeValue(languages), freezer.freezeValue(dna));
+    }
 }
@@ -0,0 +1,56 @@
+package uk.co.aosd.onto.reference;
+
+import java.nio.ByteBuffer;
+
+import uk.co.aosd.onto.biological.DNA;
+import uk.co.aosd.onto.biological.Human;
+import uk.co.aosd.onto.events.Birth;
+import uk.co.aosd.onto.events.Death;
+import uk.co.aosd.onto.events.Resignified;
+import uk.co.aosd.onto.foundation.Class;
+import uk.co.aosd.onto.language.Language;
+import uk.co.aosd.onto.signifying.Signifier;
+
+/**
+ * A Human decoded lazily from a mapped record.
+ *
+ * @author Tony Walmsley
+ */
+final class HumanView extends RecordView<Human<Birth, Death, Resignified, Language>> implements Human<Birth, Death, Resignified, Language> {
+
+    HumanView(final MappedModel model, final ByteBuffer record, final String identifier, final java.lang.Class<?> type) {
+        super(model, record, identifier, type);
+    }
+
+    @Override
+    public Birth getBeginning() {
+        return (Birth) field("beginning", Human::getBeginning);
+    }
+
+    @Override
+    public Death getEnding() {
+        return (Death) field("ending", Human::getEnding);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Class<Signifier<String, Resignified>> getNames() {
+        return (Class<Signifier<String, Resignified>>) field("names", Human::getNames);
+    }
+
+    @Override
+    public Language getNativeLanguage() {
+        return (Language) field("nativeLanguage", Human::getNativeLanguage);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Class<Language> getLanguages() {
+        return (Class<Language>) field("languages", Human::getLanguages);
+    }
+
+    @Override
+    public DNA getDna() {
+        return (DNA) field("dna", Human::getDna);
+    }
+}
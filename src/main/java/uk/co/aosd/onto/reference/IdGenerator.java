@@ -0,0 +1,36 @@
+package uk.co.aosd.onto.reference;
+
+import java.util.UUID;
+
+/**
+ * Generates the identifiers that {@link OntologyServicesImpl} gives to the
+ * events it creates itself, such as those of a transfer of ownership.
+ *
+ * @author Tony Walmsley
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * Random (version 4) UUIDs from {@link UUID#randomUUID}, which draws on a
+     * SecureRandom shared by all threads.
+     */
+    IdGenerator RANDOM = () -> UUID.randomUUID().toString();
+
+    /**
+     * Generate a new identifier.
+     *
+     * @return String
+     */
+    String newId();
+
+    /**
+     * Time-ordered (version 7) UUIDs, generated without locks or shared state,
+     * see {@link TimeOrderedIdGenerator}.
+     *
+     * @return IdGenerator
+     */
+    static IdGenerator timeOrdered() {
+        return TimeOrderedIdGenerator.INSTANCE;
+    }
+}
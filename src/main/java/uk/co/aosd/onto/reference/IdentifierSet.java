@@ -0,0 +1,148 @@
+package uk.co.aosd.onto.reference;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+
+/**
+ * A Set of things in which two things are the same if they have the same
+ * identifier.
+ *
+ * <p>
+ * The reference implementation classes use Lombok's generated
+ * {@code equals} and {@code hashCode}, which visit every field, so adding a
+ * Human to a HashSet hashes its names, its languages and everything they
+ * hold in turn. An IdentifierSet only ever hashes and compares identifiers, so
+ * adding, finding or removing a thing takes constant time however much it
+ * refers to. The Set is also hashed by identifier, so a thing that holds one
+ * hashes its members in time proportional to their number rather than to the
+ * size of the whole graph.
+ * </p>
+ *
+ * <p>
+ * Because membership is decided by identifier alone, adding a thing whose
+ * identifier is already present leaves the Set unchanged. For the same reason
+ * an IdentifierSet is only equal to another IdentifierSet, and is equal to it
+ * if they hold the same identifiers. This departs from the contract of
+ * {@link java.util.Set#equals}, which would compare the members themselves
+ * and need a hash code summed over theirs, so an IdentifierSet should not be
+ * compared with other kinds of Set. Use
+ * {@link OntologyServicesImpl#OntologyServicesImpl(boolean)} to create
+ * classes and models that use IdentifierSets.
+ * </p>
+ *
+ * @param <T>
+ *            The type of the members.
+ * @author Tony Walmsley
+ */
+public class IdentifierSet<T extends UniquelyIdentifiable> extends AbstractSet<T> {
+    private final Map<Object, T> members;
+
+    public IdentifierSet() {
+        this(16, false);
+    }
+
+    /**
+     * Create an empty Set.
+     *
+     * @param expectedSize
+     *            The number of things expected.
+     * @param concurrent
+     *            True for a Set that can be changed and read by many threads at
+     *            once.
+     */
+    public IdentifierSet(final int expectedSize, final boolean concurrent) {
+        final int capacity = (int) (Math.max(expectedSize, 0) / 0.75f) + 1;
+        this.members = concurrent ? new ConcurrentHashMap<>(capacity) : new HashMap<>(capacity);
+    }
+
+    public IdentifierSet(final Collection<? extends T> things) {
+        this(things.size(), false);
+        addAll(things);
+    }
+
+    public boolean isConcurrent() {
+        return members instanceof ConcurrentHashMap;
+    }
+
+    /**
+     * Get the member with an identifier.
+     *
+     * @param identifier
+     *            String
+     * @return T or null if there is no such member.
+     */
+    public T get(final String identifier) {
+        return members.get(CompactId.key(identifier));
+    }
+
+    @Override
+    public boolean add(final T thing) {
+        return members.putIfAbsent(CompactId.key(thing), thing) == null;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return o instanceof UniquelyIdentifiable thing && members.containsKey(CompactId.key(thing));
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        return o instanceof UniquelyIdentifiable thing && members.remove(CompactId.key(thing)) != null;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return members.values().iterator();
+    }
+
+    @Override
+    public int size() {
+        return members.size();
+    }
+
+    @Override
+    public void clear() {
+        members.clear();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o == this || o instanceof IdentifierSet<?> other && members.keySet().equals(other.members.keySet());
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (final var key : members.keySet()) {
+            hash += key.hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * Get the member with a key from {@link CompactId#key}.
+     */
+    T getByKey(final Object key) {
+        return members.get(key);
+    }
+
+    /**
+     * Add a thing, replacing any member with the same identifier.
+     */
+    void put(final T thing) {
+        members.put(CompactId.key(thing), thing);
+    }
+
+    /**
+     * Remove a thing only if it is the member with its identifier.
+     */
+    boolean removeExactly(final UniquelyIdentifiable thing) {
+        return members.remove(CompactId.key(thing), thing);
+    }
+}
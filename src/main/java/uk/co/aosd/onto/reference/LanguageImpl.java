@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.language.Language;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenLanguage;
 
 /**
  * An implementation of Language.
@@ -13,7 +16,12 @@ import uk.co.aosd.onto.language.Language;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class LanguageImpl implements Language {
+public class LanguageImpl implements Language, Freezable<FrozenLanguage> {
     private String identifier;
     private String name;
+
+    @Override
+    public FrozenLanguage freeze(final Freezer freezer) {
+        return new FrozenLanguage(CompactId.key(identifier), name);
+    }
 }
@@ -0,0 +1,439 @@
+package uk.co.aosd.onto.reference;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import uk.co.aosd.onto.foundation.Event;
+import uk.co.aosd.onto.foundation.Individual;
+import uk.co.aosd.onto.reference.events.EpochEvent;
+
+/**
+ * An interval index over the lifetimes of the Individuals in a model.
+ *
+ * <p>
+ * The lifetime of an Individual runs from the earliest time its beginning
+ * could have happened (the {@code from} of its beginning event) to the latest
+ * time its ending could have happened (the {@code to} of its ending event). A
+ * missing event or time means the lifetime is open at that end, so an
+ * Individual with an unknown ending is treated as still existing.
+ * </p>
+ *
+ * <p>
+ * Lifetimes are held in an AVL tree ordered by start time where each node also
+ * records the latest end time in its subtree. Subtrees that end before a query
+ * interval starts, or start after it ends, are skipped, so queries take time
+ * logarithmic in the size of the model for each result. Writers take an
+ * exclusive lock and readers a shared one.
+ * </p>
+ *
+ * <p>
+ * An Individual is found for removal by its lifetime as it is now, so its
+ * beginning must not be changed while it is in a model.
+ * </p>
+ *
+ * <p>
+ * Bulk additions sort the new lifetimes in parallel, merge them with the
+ * existing ones and rebuild a perfectly balanced tree in linear time instead
+ * of rebalancing after every insert.
+ * </p>
+ *
+ * <p>
+ * Times are held in the nodes as epoch seconds and nanoseconds, and are read
+ * straight from an {@link EpochEvent} without creating an Instant.
+ * </p>
+ *
+ * <p>
+ * The nodes of Individuals with a known ending are also kept in order of end
+ * time, so the earliest ended Individuals can be taken without looking at the
+ * rest.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+class LifetimeIndex {
+    private static final Comparator<Node> ORDER = LifetimeIndex::compare;
+    private static final Comparator<Node> END_ORDER = LifetimeIndex::compareEnds;
+    private static final long MIN_SECOND = Instant.MIN.getEpochSecond();
+    private static final long MAX_SECOND = Instant.MAX.getEpochSecond();
+    private static final int MAX_NANO = Instant.MAX.getNano();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeSet<Node> ended = new TreeSet<>(END_ORDER);
+    private Node root;
+
+    void add(final Individual<? extends Event, ? extends Event> individual) {
+        final var node = new Node(individual);
+        lock.writeLock().lock();
+        try {
+            final var replaced = find(root, node);
+            root = insert(root, node);
+            if (replaced != null) {
+                ended.remove(replaced);
+            }
+            if (node.isEnded()) {
+                ended.add(node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void addAll(final List<Individual<? extends Event, ? extends Event>> individuals) {
+        if (individuals.isEmpty()) {
+            return;
+        }
+        final var added = individuals.parallelStream()
+            .map(Node::new)
+            .toArray(Node[]::new);
+        Arrays.parallelSort(added, ORDER);
+        lock.writeLock().lock();
+        try {
+            final var existing = new ArrayList<Node>();
+            inOrder(root, existing);
+            final Set<Node> replaced = Collections.newSetFromMap(new IdentityHashMap<>());
+            final var merged = merge(existing, added, replaced);
+            root = build(merged, 0, merged.length - 1);
+            replaced.forEach(ended::remove);
+            for (final var node : added) {
+                if (node.isEnded() && !replaced.contains(node)) {
+                    ended.add(node);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(final Individual<? extends Event, ? extends Event> individual) {
+        lock.writeLock().lock();
+        try {
+            final var removed = find(root, new Node(individual));
+            if (removed != null) {
+                root = delete(root, removed);
+                ended.remove(removed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            root = null;
+            ended.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the Individuals whose lifetimes overlap an interval, in order of start
+     * time.
+     *
+     * @param from
+     *            Instant or null for an interval with no start.
+     * @param to
+     *            Instant or null for an interval with no end.
+     * @return List of Individual
+     */
+    List<Individual<? extends Event, ? extends Event>> overlapping(final Instant from, final Instant to) {
+        final var result = new ArrayList<Individual<? extends Event, ? extends Event>>();
+        lock.readLock().lock();
+        try {
+            collect(root, from == null ? MIN_SECOND : from.getEpochSecond(), from == null ? 0 : from.getNano(),
+                to == null ? MAX_SECOND : to.getEpochSecond(), to == null ? MAX_NANO : to.getNano(), result);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Find the Individuals whose lifetimes end before an instant, those that
+     * ended earliest first. Individuals with no known ending are never found.
+     *
+     * @param cutoff
+     *            Instant the lifetimes must end before.
+     * @param limit
+     *            The most Individuals to return.
+     * @return List of Individual
+     */
+    List<Individual<? extends Event, ? extends Event>> endedBefore(final Instant cutoff, final long limit) {
+        final var result = new ArrayList<Individual<? extends Event, ? extends Event>>();
+        lock.readLock().lock();
+        try {
+            for (final var node : ended) {
+                if (result.size() >= limit || compareTimes(node.endSecond, node.endNano, cutoff.getEpochSecond(), cutoff.getNano()) >= 0) {
+                    break;
+                }
+                result.add(node.individual);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private static void collect(final Node node, final long fromSecond, final int fromNano, final long toSecond,
+        final int toNano, final List<Individual<? extends Event, ? extends Event>> result) {
+        if (node == null || compareTimes(node.maxEndSecond, node.maxEndNano, fromSecond, fromNano) < 0) {
+            return;
+        }
+        collect(node.left, fromSecond, fromNano, toSecond, toNano, result);
+        if (compareTimes(node.startSecond, node.startNano, toSecond, toNano) <= 0) {
+            if (compareTimes(node.endSecond, node.endNano, fromSecond, fromNano) >= 0) {
+                result.add(node.individual);
+            }
+            collect(node.right, fromSecond, fromNano, toSecond, toNano, result);
+        }
+    }
+
+    private static int compareTimes(final long secondA, final int nanoA, final long secondB, final int nanoB) {
+        return secondA != secondB ? Long.compare(secondA, secondB) : Integer.compare(nanoA, nanoB);
+    }
+
+    private static int compare(final Node a, final Node b) {
+        final int byStart = compareTimes(a.startSecond, a.startNano, b.startSecond, b.startNano);
+        return byStart != 0 ? byStart : CompactId.compareKeys(a.key, b.key);
+    }
+
+    private static int compareEnds(final Node a, final Node b) {
+        final int byEnd = compareTimes(a.endSecond, a.endNano, b.endSecond, b.endNano);
+        return byEnd != 0 ? byEnd : compare(a, b);
+    }
+
+    /**
+     * Find the node in the tree with the same start time and key as another.
+     */
+    private static Node find(final Node node, final Node probe) {
+        var next = node;
+        while (next != null) {
+            final int cmp = compare(probe, next);
+            if (cmp == 0) {
+                return next;
+            }
+            next = cmp < 0 ? next.left : next.right;
+        }
+        return null;
+    }
+
+    private static void inOrder(final Node node, final List<Node> nodes) {
+        if (node != null) {
+            inOrder(node.left, nodes);
+            nodes.add(node);
+            inOrder(node.right, nodes);
+        }
+    }
+
+    /**
+     * Merge two sorted runs of nodes. Where both runs, or the added run itself,
+     * contain the same key the last added node is kept, as it would be by
+     * {@link #insert}, and the nodes it replaces are added to a set.
+     */
+    private static Node[] merge(final List<Node> existing, final Node[] added, final Set<Node> replaced) {
+        final var merged = new Node[existing.size() + added.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < existing.size() || j < added.length) {
+            final Node next;
+            if (j == added.length || (i < existing.size() && compare(existing.get(i), added[j]) < 0)) {
+                next = existing.get(i++);
+            } else {
+                next = added[j++];
+            }
+            if (count > 0 && compare(merged[count - 1], next) == 0) {
+                replaced.add(merged[count - 1]);
+                merged[count - 1] = next;
+            } else {
+                merged[count++] = next;
+            }
+        }
+        return count == merged.length ? merged : Arrays.copyOf(merged, count);
+    }
+
+    /**
+     * Build a balanced tree from a sorted array of nodes.
+     */
+    private static Node build(final Node[] nodes, final int from, final int to) {
+        if (from > to) {
+            return null;
+        }
+        final int middle = (from + to) >>> 1;
+        final var node = nodes[middle];
+        node.left = build(nodes, from, middle - 1);
+        node.right = build(nodes, middle + 1, to);
+        return update(node);
+    }
+
+    /**
+     * Insert a node, replacing any node for the same Individual with the same
+     * start time.
+     */
+    private static Node insert(final Node node, final Node added) {
+        if (node == null) {
+            return added;
+        }
+        final int cmp = compare(added, node);
+        if (cmp == 0) {
+            added.left = node.left;
+            added.right = node.right;
+            return update(added);
+        }
+        if (cmp < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return balance(node);
+    }
+
+    /**
+     * Delete the node with the same key as another, replacing it by the first
+     * node of its right subtree if it has two children.
+     */
+    private static Node delete(final Node node, final Node removed) {
+        if (node == null) {
+            return null;
+        }
+        final int cmp = compare(removed, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, removed);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, removed);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            var first = node.right;
+            while (first.left != null) {
+                first = first.left;
+            }
+            first.right = deleteFirst(node.right);
+            first.left = node.left;
+            return balance(first);
+        }
+        return balance(node);
+    }
+
+    private static Node deleteFirst(final Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteFirst(node.left);
+        return balance(node);
+    }
+
+    private static Node balance(final Node node) {
+        update(node);
+        final int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(final Node node) {
+        final var left = node.left;
+        node.left = left.right;
+        left.right = update(node);
+        return update(left);
+    }
+
+    private static Node rotateLeft(final Node node) {
+        final var right = node.right;
+        node.right = right.left;
+        right.left = update(node);
+        return update(right);
+    }
+
+    private static Node update(final Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEndSecond = node.endSecond;
+        node.maxEndNano = node.endNano;
+        extendMaxEnd(node, node.left);
+        extendMaxEnd(node, node.right);
+        return node;
+    }
+
+    private static void extendMaxEnd(final Node node, final Node child) {
+        if (child != null && compareTimes(child.maxEndSecond, child.maxEndNano, node.maxEndSecond, node.maxEndNano) > 0) {
+            node.maxEndSecond = child.maxEndSecond;
+            node.maxEndNano = child.maxEndNano;
+        }
+    }
+
+    private static int height(final Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * A lifetime in the tree.
+     */
+    private static final class Node {
+        private final long startSecond;
+        private final int startNano;
+        private final long endSecond;
+        private final int endNano;
+        private final Individual<? extends Event, ? extends Event> individual;
+        private final Object key;
+        private long maxEndSecond;
+        private int maxEndNano;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        Node(final Individual<? extends Event, ? extends Event> individual) {
+            final Event beginning = individual.getBeginning();
+            if (beginning instanceof EpochEvent epoch) {
+                final boolean open = epoch.getFromNano() == EpochEvent.NONE;
+                this.startSecond = open ? MIN_SECOND : epoch.getFromEpochSecond();
+                this.startNano = open ? 0 : epoch.getFromNano();
+            } else {
+                final Instant from = beginning == null ? null : beginning.getFrom();
+                this.startSecond = from == null ? MIN_SECOND : from.getEpochSecond();
+                this.startNano = from == null ? 0 : from.getNano();
+            }
+            final Event ending = individual.getEnding();
+            if (ending instanceof EpochEvent epoch) {
+                final boolean open = epoch.getToNano() == EpochEvent.NONE;
+                this.endSecond = open ? MAX_SECOND : epoch.getToEpochSecond();
+                this.endNano = open ? MAX_NANO : epoch.getToNano();
+            } else {
+                final Instant to = ending == null ? null : ending.getTo();
+                this.endSecond = to == null ? MAX_SECOND : to.getEpochSecond();
+                this.endNano = to == null ? MAX_NANO : to.getNano();
+            }
+            this.individual = individual;
+            this.key = individual instanceof CompactIdentifiable compact ? compact.getIdentifierKey() : individual.getIdentifier();
+            this.maxEndSecond = endSecond;
+            this.maxEndNano = endNano;
+        }
+
+        boolean isEnded() {
+            return endSecond != MAX_SECOND || endNano != MAX_NANO;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package uk.co.aosd.onto.reference;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import lombok.Getter;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.model.Model;
+
+/**
+ * A read-only Model backed by a memory-mapped binary snapshot file written by
+ * {@link ModelImpl#save}.
+ *
+ * <p>
+ * Opening a snapshot only maps the file and reads its header and class table,
+ * so it takes the same short time however many things the model holds. Each
+ * thing is decoded the first time it is asked for, by identifier or by
+ * iteration, and then kept, so later requests return the same instance. A
+ * lookup by identifier is a binary search of the record table in the file.
+ * A thing is created before its fields are decoded, so references between
+ * things may form cycles, and the things decoded together are only shared
+ * once they are all complete. A cycle can only pass through classes with a
+ * no-argument constructor.
+ * {@link #getView} returns Humans, Memberships, Organisations and Events as
+ * views that decode their fields only when asked for, without keeping them.
+ * </p>
+ *
+ * <p>
+ * {@link #toModelImpl} decodes every thing in parallel into a new ModelImpl
+ * with all of its indexes, for when the model needs to be changed or queried
+ * by type, lifetime or reference.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public final class MappedModel implements Model {
+    private static final Object CREATING = new Object();
+
+    @Getter
+    private final String identifier;
+    private final int count;
+    private final ByteBuffer[] chunks;
+    private final long tableOffset;
+    private final BinaryCodec.ClassTable classes;
+    private final Map<String, UniquelyIdentifiable> decoded = new ConcurrentHashMap<>();
+    private final ThreadLocal<Map<String, Object>> building = ThreadLocal.withInitial(HashMap::new);
+
+    private MappedModel(final ByteBuffer[] chunks, final Path path) throws IOException {
+        this.chunks = chunks;
+        final var header = chunks[0].duplicate();
+        if (header.limit() < BinarySnapshot.HEADER_SIZE || header.getInt() != BinarySnapshot.MAGIC) {
+            throw new IOException("Not a model snapshot: " + path);
+        }
+        final int version = header.getInt();
+        if (version != BinarySnapshot.VERSION) {
+            throw new IOException("Unsupported model snapshot version " + version + ": " + path);
+        }
+        this.count = header.getInt();
+        header.getInt();
+        this.tableOffset = header.getLong();
+        final long classTableOffset = header.getLong();
+        this.identifier = new BinaryCodec.Decoder(header, null, null).readString();
+
+        try {
+            this.classes = new BinaryCodec.Decoder(at(classTableOffset), null, null).readClassTable();
+        } catch (final ClassNotFoundException e) {
+            throw new IOException("Cannot load a class used in " + path, e);
+        }
+    }
+
+    /**
+     * Map a snapshot file.
+     *
+     * @param path
+     *            Path of a file written by {@link ModelImpl#save}.
+     * @return MappedModel
+     * @throws IOException
+     *             if the file cannot be read or is not a model snapshot.
+     */
+    static MappedModel open(final Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final var chunks = new MappedByteBuffer[(int) ((size + BinarySnapshot.CHUNK - 1) >>> BinarySnapshot.CHUNK_BITS)];
+            if (chunks.length == 0) {
+                throw new IOException("Not a model snapshot: " + path);
+            }
+            for (int i = 0; i < chunks.length; i++) {
+                final long start = (long) i << BinarySnapshot.CHUNK_BITS;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(BinarySnapshot.CHUNK, size - start));
+            }
+            return new MappedModel(chunks, path);
+        }
+    }
+
+    public Optional<UniquelyIdentifiable> getThing(final String identifier) {
+        if (identifier == null) {
+            return Optional.empty();
+        }
+        final var found = lookup(identifier);
+        if (found != null) {
+            return Optional.of(found);
+        }
+        final int index = indexOf(identifier);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        final var decoder = decoder(record(index));
+        decoder.readString();
+        return Optional.of(decode(identifier, decoder));
+    }
+
+    /**
+     * Get a thing without decoding it, if it is a Human, Membership,
+     * Organisation or Event.
+     *
+     * <p>
+     * The view decodes each field from the mapped file only when its getter is
+     * called, and returns the things it refers to as views too, so a query that
+     * reads a few fields of many things does not build their object graphs. Other
+     * things are decoded and kept as by {@link #getThing}, and a thing that has
+     * already been decoded is returned as it is.
+     * </p>
+     *
+     * @param identifier
+     *            String
+     * @return an Optional view or thing.
+     */
+    public Optional<UniquelyIdentifiable> getView(final String identifier) {
+        if (identifier == null) {
+            return Optional.empty();
+        }
+        final var found = lookup(identifier);
+        if (found != null) {
+            return Optional.of(found);
+        }
+        final int index = indexOf(identifier);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        final var in = record(index);
+        final var decoder = decoder(in);
+        decoder.readString();
+        final int start = in.position();
+        final var type = decoder.readObjectClass();
+        final var view = type == null ? null : RecordView.of(this, in.slice(), identifier, type);
+        if (view != null) {
+            return Optional.of(view);
+        }
+        in.position(start);
+        return Optional.of(decode(identifier, decoder));
+    }
+
+    /**
+     * Get the things in the model, decoding them as they are iterated.
+     *
+     * @return a read-only Set of UniquelyIdentifiable
+     */
+    public Set<UniquelyIdentifiable> getThings() {
+        return new AbstractSet<>() {
+            @Override
+            public boolean contains(final Object o) {
+                return o instanceof UniquelyIdentifiable thing && getThing(thing.getIdentifier()).map(o::equals).orElse(false);
+            }
+
+            @Override
+            public Iterator<UniquelyIdentifiable> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < count;
+                    }
+
+                    @Override
+                    public UniquelyIdentifiable next() {
+                        if (next >= count) {
+                            throw new NoSuchElementException();
+                        }
+                        return thingAt(next++);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Mapped models are read-only.
+     *
+     * @throws UnsupportedOperationException
+     *             always
+     */
+    public void add(final UniquelyIdentifiable thing) {
+        throw new UnsupportedOperationException("A MappedModel is read-only, use toModelImpl() to get a model that can be changed.");
+    }
+
+    /**
+     * Decode every thing in the snapshot into a new, fully indexed ModelImpl.
+     *
+     * @return ModelImpl
+     */
+    public ModelImpl toModelImpl() {
+        final var model = new ModelImpl(identifier, ConcurrentHashMap.newKeySet(count));
+        model.addAll(IntStream.range(0, count).parallel().mapToObj(this::thingAt), count);
+        return model;
+    }
+
+    private UniquelyIdentifiable thingAt(final int index) {
+        final var decoder = decoder(record(index));
+        final var id = decoder.readString();
+        final var found = lookup(id);
+        return found != null ? found : decode(id, decoder);
+    }
+
+    /**
+     * Find a thing that has been decoded, or that is being decoded by this
+     * thread and so may not be complete yet.
+     */
+    private UniquelyIdentifiable lookup(final String id) {
+        final var found = decoded.get(id);
+        if (found != null) {
+            return found;
+        }
+        final var partial = building.get().get(id);
+        if (partial == CREATING) {
+            throw new IllegalStateException("Cannot decode " + id + ", it is in a cycle through a class with no no-argument constructor");
+        }
+        return (UniquelyIdentifiable) partial;
+    }
+
+    /**
+     * Decode a thing and the things it refers to that have not been decoded yet.
+     * Each is kept for this thread as soon as it is created, and they are shared
+     * with other threads when the outermost one is complete.
+     */
+    private UniquelyIdentifiable decode(final String id, final BinaryCodec.Decoder decoder) {
+        final var pending = building.get();
+        final boolean outermost = pending.isEmpty();
+        pending.put(id, CREATING);
+        try {
+            final var thing = (UniquelyIdentifiable) decoder.readValue(o -> pending.put(id, o));
+            if (!outermost) {
+                return thing;
+            }
+            var result = thing;
+            for (final var entry : pending.entrySet()) {
+                final var existing = decoded.putIfAbsent(entry.getKey(), (UniquelyIdentifiable) entry.getValue());
+                if (existing != null && entry.getKey().equals(id)) {
+                    result = existing;
+                }
+            }
+            return result;
+        } finally {
+            if (outermost) {
+                pending.clear();
+            }
+        }
+    }
+
+    private BinaryCodec.Decoder decoder(final ByteBuffer in) {
+        return new BinaryCodec.Decoder(in, classes, id -> getThing(id).orElse(null));
+    }
+
+    BinaryCodec.Decoder viewDecoder(final ByteBuffer in) {
+        return new BinaryCodec.Decoder(in, classes, id -> getView(id).orElse(null));
+    }
+
+    /**
+     * Find the record of a thing by a binary search of the record table.
+     */
+    private int indexOf(final String identifier) {
+        final int hash = identifier.hashCode();
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (hashAt(middle) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int i = low; i < count && hashAt(i) == hash; i++) {
+            if (identifier.equals(decoder(record(i)).readString())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int hashAt(final int index) {
+        final long position = tableOffset + (long) index * BinarySnapshot.ENTRY_SIZE;
+        return chunks[(int) (position >>> BinarySnapshot.CHUNK_BITS)].getInt((int) (position & (BinarySnapshot.CHUNK - 1)));
+    }
+
+    private ByteBuffer record(final int index) {
+        final long position = tableOffset + (long) index * BinarySnapshot.ENTRY_SIZE;
+        final var chunk = chunks[(int) (position >>> BinarySnapshot.CHUNK_BITS)];
+        final int within = (int) (position & (BinarySnapshot.CHUNK - 1));
+        final int length = chunk.getInt(within + 4);
+        final long offset = chunk.getLong(within + 8);
+        return chunks[(int) (offset >>> BinarySnapshot.CHUNK_BITS)].slice((int) (offset & (BinarySnapshot.CHUNK - 1)), length);
+    }
+
+    private ByteBuffer at(final long offset) {
+        final var chunk = chunks[(int) (offset >>> BinarySnapshot.CHUNK_BITS)].duplicate();
+        return chunk.position((int) (offset & (BinarySnapshot.CHUNK - 1)));
+    }
+}
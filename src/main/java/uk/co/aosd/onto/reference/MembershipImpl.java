@@ -10,6 +10,9 @@ import uk.co.aosd.onto.reference.events.BirthImpl;
 import uk.co.aosd.onto.reference.events.DeathImpl;
 import uk.co.aosd.onto.reference.events.RemovedImpl;
 import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenMembership;
 
 /**
  * An implementation of the Membership interface.
@@ -19,10 +22,17 @@ import uk.co.aosd.onto.reference.events.ResignifiedImpl;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class MembershipImpl<R extends Role> implements Membership<R, AppointedImpl, RemovedImpl, BirthImpl, DeathImpl, ResignifiedImpl, LanguageImpl> {
+public class MembershipImpl<R extends Role> implements Membership<R, AppointedImpl, RemovedImpl, BirthImpl, DeathImpl, ResignifiedImpl, LanguageImpl>,
+    Freezable<FrozenMembership<R>> {
     private String identifier;
     private HumanImpl member;
     private R role;
     private AppointedImpl beginning;
     private RemovedImpl ending;
-}
\ No newline at end of file
+
+    @Override
+    public FrozenMembership<R> freeze(final Freezer freezer) {
+        return new FrozenMembership<>(CompactId.key(identifier), freezer.freeze(member),
+            freezer.freezeValue(role), freezer.freeze(beginning), freezer.freeze(ending));
+    }
+}
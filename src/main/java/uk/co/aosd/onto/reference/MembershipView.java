@@ -0,0 +1,46 @@
+package uk.co.aosd.onto.reference;
+
+import java.nio.ByteBuffer;
+
+import uk.co.aosd.onto.biological.Human;
+import uk.co.aosd.onto.events.Appointed;
+import uk.co.aosd.onto.events.Birth;
+import uk.co.aosd.onto.events.Death;
+import uk.co.aosd.onto.events.Removed;
+import uk.co.aosd.onto.events.Resignified;
+import uk.co.aosd.onto.foundation.Role;
+import uk.co.aosd.onto.language.Language;
+import uk.co.aosd.onto.organisation.Membership;
+
+/**
+ * A Membership decoded lazily from a mapped record.
+ *
+ * @author Tony Walmsley
+ */
+final class MembershipView extends RecordView<Membership<Role, Appointed, Removed, Birth, Death, Resignified, Language>> implements Membership<Role, Appointed, Removed, Birth, Death, Resignified, Language> {
+
+    MembershipView(final MappedModel model, final ByteBuffer record, final String identifier, final Class<?> type) {
+        super(model, record, identifier, type);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Human<Birth, Death, Resignified, Language> getMember() {
+        return (Human<Birth, Death, Resignified, Language>) field("member", Membership::getMember);
+    }
+
+    @Override
+    public Role getRole() {
+        return (Role) field("role", Membership::getRole);
+    }
+
+    @Override
+    public Appointed getBeginning() {
+        return (Appointed) field("beginning", Membership::getBeginning);
+    }
+
+    @Override
+    public Removed getEnding() {
+        return (Removed) field("ending", Membership::getEnding);
+    }
+}
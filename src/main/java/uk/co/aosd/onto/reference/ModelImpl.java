@@ -1,32 +1,596 @@
 package uk.co.aosd.onto.reference;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import uk.co.aosd.onto.foundation.Event;
+import uk.co.aosd.onto.foundation.Individual;
 import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
 import uk.co.aosd.onto.model.Model;
+import uk.co.aosd.onto.reference.frozen.Freezer;
 
 /**
  * An implementation of the Model interface.
  *
+ * <p>
+ * The things in the model are indexed by identifier, by type and by the
+ * identifiers of the things they refer to, and Individuals by lifetime, so
+ * that lookups do not need to scan the whole model. The indexes are maintained by
+ * {@link #add} and {@link #setThings}, so things should not be added to the Set
+ * returned by {@link #getThings} directly.
+ * </p>
+ *
+ * <p>
+ * The indexes are concurrent, so a model whose things are held in a concurrent
+ * Set (see {@link OntologyServicesImpl#createConcurrentModel}) supports parallel
+ * calls to {@link #add} and lock-free reads. {@link #setThings} is not intended
+ * to be called while the model is shared between threads.
+ * </p>
+ *
+ * <p>
+ * The identifier index is a persistent hash trie that is replaced atomically on
+ * each change. {@link #snapshot} returns the current version in O(1), which
+ * gives readers a consistent view that they can iterate while writers carry on
+ * adding things.
+ * </p>
+ *
+ * <p>
+ * Large loads should create the model with its expected size (see
+ * {@link OntologyServicesImpl#createConcurrentModel(String, int)}) so that its
+ * Set of things is sized once, and use {@link #addAll(Stream, int)}, which
+ * builds the indexes for the whole batch in parallel on the common fork-join
+ * pool rather than one thing at a time.
+ * </p>
+ *
+ * <p>
+ * Things can be removed with {@link #remove}, and a model given an
+ * {@link EvictionPolicy} removes the things the policy selects whenever it is
+ * over budget after an add. Removal keeps every index consistent and does not
+ * affect snapshots that have already been taken.
+ * </p>
+ *
+ * <p>
+ * {@link #save} writes a snapshot of the model to a compact binary file and
+ * {@link #load} memory-maps one, so a large model can be queried straight
+ * after startup, with things decoded as they are asked for. A model with a
+ * {@link WriteAheadLog} also logs every add and remove before the call
+ * returns, and {@link #recover} rebuilds it after a restart from its latest
+ * {@link #checkpoint} and the log. The log is written behind the change: each
+ * add or remove changes the model and queues its record while holding a lock
+ * for the identifier of the thing, so changes to the same thing reach the log
+ * in the order they were made, and then waits for the record outside the lock.
+ * </p>
+ *
+ * <p>
+ * A model given a {@link StringPool} shares the names of the signifiers,
+ * languages and currencies added to it with every other model using the same
+ * pool.
+ * </p>
+ *
  * @author Tony Walmsley
  */
 @Data
-@AllArgsConstructor
-@NoArgsConstructor
 public class ModelImpl implements Model {
+    private static final int STRIPES = 64;
+
     private String identifier;
     private Set<UniquelyIdentifiable> things;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final AtomicReference<Version> current = new AtomicReference<>(new Version(0L, PersistentHashMap.empty()));
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final TypeIndex typeIndex = new TypeIndex();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final LifetimeIndex lifetimeIndex = new LifetimeIndex();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ReferenceIndex referenceIndex = new ReferenceIndex();
+
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile EvictionPolicy evictionPolicy;
+
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile WriteAheadLog writeAheadLog;
+
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile StringPool stringPool;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final ReentrantLock[] locks = newLocks();
+
+    public ModelImpl() {
+    }
+
+    public ModelImpl(final String identifier, final Set<UniquelyIdentifiable> things) {
+        this.identifier = identifier;
+        setThings(things);
+    }
+
+    /**
+     * Replace the things in the model and rebuild the indexes.
+     *
+     * @param things
+     *            Set of UniquelyIdentifiable
+     */
+    public void setThings(final Set<UniquelyIdentifiable> things) {
+        this.things = things;
+        typeIndex.clear();
+        lifetimeIndex.clear();
+        referenceIndex.clear();
+        final List<UniquelyIdentifiable> all = things == null ? List.of() : new ArrayList<>(things);
+        final var index = PersistentHashMap.<Object, UniquelyIdentifiable>empty().plusAll(all, CompactId::key);
+        current.set(new Version(current.get().number + 1, index));
+        addToSecondaryIndexes(all);
+    }
+
     public Optional<UniquelyIdentifiable> getThing(final String identifier) {
-        return things.stream().filter(t -> t.getIdentifier().equals(identifier)).findAny();
+        if (identifier == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current.get().index.get(CompactId.key(identifier)));
     }
 
     public void add(final UniquelyIdentifiable thing) {
-        things.add(thing);
+        internNames(thing);
+        final CompletableFuture<Void> logged;
+        final var lock = lockFor(thing.getIdentifier());
+        lock.lock();
+        try {
+            if (!things.add(thing)) {
+                return;
+            }
+            addToIndexes(thing);
+            logged = logAdded(List.of(thing));
+        } finally {
+            lock.unlock();
+        }
+        WriteAheadLog.await(logged);
+        evictIfOverBudget();
+    }
+
+    /**
+     * Remove a thing from the model and all of its indexes.
+     *
+     * @param thing
+     *            UniquelyIdentifiable
+     * @return true if the thing was in the model.
+     */
+    public boolean remove(final UniquelyIdentifiable thing) {
+        CompletableFuture<Void> logged = null;
+        final var lock = lockFor(thing.getIdentifier());
+        lock.lock();
+        try {
+            if (!things.remove(thing)) {
+                return false;
+            }
+            // The thing may be an equal copy of the one in the indexes, so remove the one found by its key.
+            final var key = CompactId.key(thing);
+            final var indexed = current.getAndUpdate(v -> v.index.get(key) != null ? new Version(v.number + 1, v.index.minus(key)) : v).index.get(key);
+            final var removed = indexed != null ? indexed : thing;
+            typeIndex.remove(removed);
+            referenceIndex.remove(removed);
+            if (removed instanceof Individual<?, ?> individual) {
+                lifetimeIndex.remove(individual);
+            }
+            final var log = writeAheadLog;
+            if (log != null) {
+                logged = log.logRemoved(thing.getIdentifier());
+            }
+        } finally {
+            lock.unlock();
+        }
+        WriteAheadLog.await(logged);
+        return true;
+    }
+
+    /**
+     * Remove the thing with an identifier from the model and all of its indexes.
+     *
+     * @param identifier
+     *            String
+     * @return the thing that was removed, if there was one.
+     */
+    public Optional<UniquelyIdentifiable> remove(final String identifier) {
+        return getThing(identifier).filter(this::remove);
+    }
+
+    /**
+     * Remove the things chosen by the eviction policy if the model is over
+     * budget. Only one thread evicts at a time, and other threads calling this
+     * while it does return immediately.
+     *
+     * @return the number of things evicted.
+     */
+    public int evict() {
+        final var policy = evictionPolicy;
+        if (policy == null || !evicting.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            int count = 0;
+            if (policy.isOverBudget(this)) {
+                for (final var thing : policy.select(this)) {
+                    if (remove(thing)) {
+                        policy.evicted(thing);
+                        count++;
+                    }
+                }
+            }
+            return count;
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Add a batch of things to the model.
+     *
+     * <p>
+     * The stream is consumed first, then the identifier, type and lifetime
+     * indexes are built for the whole batch in parallel and the new things
+     * become visible to {@link #getThing} and {@link #snapshot} in a single
+     * step. The Set of things is the one the model was created with, which
+     * should be sized for the load when it is created.
+     * </p>
+     *
+     * @param batch
+     *            Stream of UniquelyIdentifiable
+     * @param expectedSize
+     *            The number of things expected, or zero if not known, which
+     *            sizes the list a sequential stream is consumed into.
+     */
+    public void addAll(final Stream<? extends UniquelyIdentifiable> batch, final int expectedSize) {
+        final var pool = stringPool;
+        final Stream<? extends UniquelyIdentifiable> named = pool == null ? batch : batch.peek(pool::internNames);
+        final List<? extends UniquelyIdentifiable> all = named.isParallel() || expectedSize <= 0
+            ? named.toList()
+            : named.collect(Collectors.toCollection(() -> new ArrayList<>(expectedSize)));
+        final CompletableFuture<Void> logged;
+        // The batch may hold any identifier, so it takes every lock, in order.
+        for (final var lock : locks) {
+            lock.lock();
+        }
+        try {
+            final List<UniquelyIdentifiable> added;
+            if (things instanceof ConcurrentHashMap.KeySetView<?, ?> || things instanceof IdentifierSet<?> set && set.isConcurrent()) {
+                added = all.parallelStream().filter(things::add).map(UniquelyIdentifiable.class::cast).toList();
+            } else {
+                added = new ArrayList<>(all.size());
+                for (final var thing : all) {
+                    if (things.add(thing)) {
+                        added.add(thing);
+                    }
+                }
+            }
+            if (added.isEmpty()) {
+                return;
+            }
+            current.updateAndGet(v -> new Version(v.number + 1, v.index.plusAll(added, CompactId::key)));
+            addToSecondaryIndexes(added);
+            logged = logAdded(added);
+        } finally {
+            for (final var lock : locks) {
+                lock.unlock();
+            }
+        }
+        WriteAheadLog.await(logged);
+        evictIfOverBudget();
+    }
+
+    /**
+     * Add a batch of things to the model.
+     *
+     * @param batch
+     *            Spliterator of UniquelyIdentifiable, which is split for parallel
+     *            traversal.
+     * @param expectedSize
+     *            The number of things expected, or zero if not known.
+     * @see #addAll(Stream, int)
+     */
+    public void addAll(final Spliterator<? extends UniquelyIdentifiable> batch, final int expectedSize) {
+        addAll(StreamSupport.stream(batch, true), expectedSize);
+    }
+
+    /**
+     * Get all of the things in the model that are instances of a class or
+     * interface, including instances of its subtypes.
+     *
+     * @param <T>
+     *            The type of the things.
+     * @param type
+     *            Class of T
+     * @return a live, read-only Set of T
+     */
+    public <T> Set<T> getThingsOfType(final Class<T> type) {
+        return typeIndex.getThingsOfType(type);
+    }
+
+    /**
+     * Get the things in the model that refer to a thing, directly or through a
+     * Collection or Map, such as the Memberships of a Human or the Signifiers
+     * that begin with the same event.
+     *
+     * @param identifier
+     *            The identifier of the referenced thing, which need not be in the
+     *            model itself.
+     * @return a live, read-only Set of UniquelyIdentifiable
+     */
+    public Set<UniquelyIdentifiable> getReferrers(final String identifier) {
+        return referenceIndex.getReferrers(identifier);
+    }
+
+    /**
+     * Get the things of a type in the model that refer to a thing.
+     *
+     * @param <T>
+     *            The type of the referring things.
+     * @param identifier
+     *            The identifier of the referenced thing.
+     * @param type
+     *            Class of T
+     * @return List of T
+     */
+    public <T> List<T> getReferrers(final String identifier, final Class<T> type) {
+        return referenceIndex.getReferrers(identifier).stream().filter(type::isInstance).map(type::cast).toList();
+    }
+
+    /**
+     * Get the Individuals in the model that could have existed at an instant,
+     * i.e. whose beginning could have happened at or before it and whose ending
+     * could have happened at or after it.
+     *
+     * @param instant
+     *            Instant
+     * @return List of Individual in order of the start of their lifetimes
+     */
+    public List<Individual<? extends Event, ? extends Event>> getIndividualsExistingAt(final Instant instant) {
+        return lifetimeIndex.overlapping(instant, instant);
+    }
+
+    /**
+     * Get the Individuals in the model whose lifetimes overlap an interval.
+     *
+     * @param from
+     *            Instant or null if the interval has no start.
+     * @param to
+     *            Instant or null if the interval has no end.
+     * @return List of Individual in order of the start of their lifetimes
+     */
+    public List<Individual<? extends Event, ? extends Event>> getIndividualsExistingBetween(final Instant from, final Instant to) {
+        return lifetimeIndex.overlapping(from, to);
+    }
+
+    /**
+     * Get the Individuals in the model whose lifetimes ended before an instant,
+     * i.e. the latest time their ending could have happened is before it.
+     *
+     * @param instant
+     *            Instant
+     * @param limit
+     *            The most Individuals to return.
+     * @return List of Individual in order of the end of their lifetimes
+     */
+    public List<Individual<? extends Event, ? extends Event>> getIndividualsEndedBefore(final Instant instant, final long limit) {
+        return lifetimeIndex.endedBefore(instant, limit);
+    }
+
+    /**
+     * Take a consistent, read-only snapshot of the things in the model.
+     *
+     * @return ModelSnapshot
+     */
+    public ModelSnapshot snapshot() {
+        final var version = current.get();
+        return new ModelSnapshot(identifier, version.number, version.index);
+    }
+
+    /**
+     * Copy the model with every thing replaced by its immutable Frozen
+     * equivalent, for models that are read far more often than they are
+     * changed. Things shared between the things in the model are frozen once and
+     * shared by the copies. The copy holds its things in the same kind of Set
+     * and has no eviction policy or log.
+     *
+     * @return ModelImpl
+     */
+    public ModelImpl freeze() {
+        final var freezer = new Freezer();
+        final var all = snapshot().getThings();
+        final Set<UniquelyIdentifiable> set;
+        if (things instanceof ConcurrentHashMap.KeySetView<?, ?>) {
+            set = ConcurrentHashMap.newKeySet(all.size());
+        } else if (things instanceof IdentifierSet<?> identifiers) {
+            set = new IdentifierSet<>(all.size(), identifiers.isConcurrent());
+        } else {
+            set = new HashSet<>((int) (all.size() / 0.75f) + 1);
+        }
+        final var frozen = new ModelImpl(identifier, set);
+        frozen.addAll(all.stream().<UniquelyIdentifiable>map(freezer::freezeValue), all.size());
+        return frozen;
+    }
+
+    private void addToIndexes(final UniquelyIdentifiable thing) {
+        current.updateAndGet(v -> new Version(v.number + 1, v.index.plus(CompactId.key(thing), thing)));
+        addToSecondaryIndexes(thing);
+    }
+
+    /**
+     * Write a snapshot of the model to a binary file. The model can carry on
+     * being changed while the file is written.
+     *
+     * @param path
+     *            Path of the file, which is replaced if it exists.
+     * @throws IOException
+     *             if the file cannot be written.
+     */
+    public void save(final Path path) throws IOException {
+        BinarySnapshot.write(snapshot(), path);
+    }
+
+    /**
+     * Memory-map a file written by {@link #save}.
+     *
+     * @param path
+     *            Path of the file.
+     * @return a read-only MappedModel, see {@link MappedModel#toModelImpl} for a
+     *         model that can be changed.
+     * @throws IOException
+     *             if the file cannot be read or is not a model snapshot.
+     */
+    public static MappedModel load(final Path path) throws IOException {
+        return MappedModel.open(path);
+    }
+
+    /**
+     * Save a snapshot and discard the parts of the {@link WriteAheadLog} that it
+     * makes redundant. Without a log this is the same as {@link #save}.
+     *
+     * @param path
+     *            Path of the snapshot file, which is replaced if it exists.
+     * @throws IOException
+     *             if the snapshot cannot be written or the log changed.
+     */
+    public void checkpoint(final Path path) throws IOException {
+        final var log = writeAheadLog;
+        if (log == null) {
+            save(path);
+            return;
+        }
+        final long segment = log.rotate();
+        save(path);
+        log.deleteSegmentsBefore(segment);
+    }
+
+    /**
+     * Recover a model from its latest snapshot and the changes logged since. To
+     * carry on logging, open the log directory again and set it as the model's
+     * {@link WriteAheadLog}, which starts a new segment.
+     *
+     * @param identifier
+     *            The identifier of the model if there is no snapshot.
+     * @param snapshot
+     *            Path of the snapshot file, which need not exist.
+     * @param logDirectory
+     *            Path of the log directory, which need not exist.
+     * @return ModelImpl holding its things in a concurrent Set.
+     * @throws IOException
+     *             if the snapshot or log cannot be read.
+     */
+    public static ModelImpl recover(final String identifier, final Path snapshot, final Path logDirectory) throws IOException {
+        final var model = Files.exists(snapshot)
+            ? load(snapshot).toModelImpl()
+            : new ModelImpl(identifier, ConcurrentHashMap.newKeySet());
+        WriteAheadLog.replay(logDirectory, model);
+        return model;
+    }
+
+    private void internNames(final UniquelyIdentifiable thing) {
+        final var pool = stringPool;
+        if (pool != null) {
+            pool.internNames(thing);
+        }
+    }
+
+    private CompletableFuture<Void> logAdded(final List<? extends UniquelyIdentifiable> added) {
+        final var log = writeAheadLog;
+        return log == null ? null : log.logAdded(added, t -> current.get().index.get(CompactId.key(t)) == t);
+    }
+
+    private ReentrantLock lockFor(final String identifier) {
+        final int hash = identifier == null ? 0 : identifier.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static ReentrantLock[] newLocks() {
+        final var locks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private void evictIfOverBudget() {
+        final var policy = evictionPolicy;
+        if (policy != null && policy.isOverBudget(this)) {
+            evict();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addToSecondaryIndexes(final List<UniquelyIdentifiable> batch) {
+        batch.parallelStream().forEach(thing -> {
+            typeIndex.add(thing);
+            referenceIndex.add(thing);
+        });
+        lifetimeIndex.addAll(batch.parallelStream()
+            .filter(Individual.class::isInstance)
+            .<Individual<? extends Event, ? extends Event>>map(t -> (Individual<? extends Event, ? extends Event>) t)
+            .toList());
+    }
+
+    private void addToSecondaryIndexes(final UniquelyIdentifiable thing) {
+        typeIndex.add(thing);
+        referenceIndex.add(thing);
+        if (thing instanceof Individual<?, ?> individual) {
+            lifetimeIndex.add(individual);
+        }
+    }
+
+    /**
+     * A version of the identifier index.
+     */
+    private record Version(long number, PersistentHashMap<Object, UniquelyIdentifiable> index) {
     }
 
 }
@@ -0,0 +1,76 @@
+package uk.co.aosd.onto.reference;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+
+import lombok.Getter;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.model.Model;
+
+/**
+ * A read-only, point-in-time view of a ModelImpl.
+ *
+ * <p>
+ * A snapshot shares its structure with the model it was taken from, so taking
+ * one is O(1) and it can be held and iterated for as long as a reader needs
+ * without blocking writers or seeing their later changes.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public final class ModelSnapshot implements Model {
+    @Getter
+    private final String identifier;
+    @Getter
+    private final long version;
+    private final PersistentHashMap<Object, UniquelyIdentifiable> index;
+
+    ModelSnapshot(final String identifier, final long version, final PersistentHashMap<Object, UniquelyIdentifiable> index) {
+        this.identifier = identifier;
+        this.version = version;
+        this.index = index;
+    }
+
+    public Optional<UniquelyIdentifiable> getThing(final String identifier) {
+        if (identifier == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(index.get(CompactId.key(identifier)));
+    }
+
+    /**
+     * Get the things in the snapshot.
+     *
+     * @return a read-only Set of UniquelyIdentifiable
+     */
+    public Set<UniquelyIdentifiable> getThings() {
+        return new AbstractSet<>() {
+            @Override
+            public boolean contains(final Object o) {
+                return o instanceof UniquelyIdentifiable thing && o.equals(index.get(CompactId.key(thing)));
+            }
+
+            @Override
+            public Iterator<UniquelyIdentifiable> iterator() {
+                return index.iterator();
+            }
+
+            @Override
+            public int size() {
+                return index.size();
+            }
+        };
+    }
+
+    /**
+     * Snapshots are read-only.
+     *
+     * @throws UnsupportedOperationException
+     *             always
+     */
+    public void add(final UniquelyIdentifiable thing) {
+        throw new UnsupportedOperationException("A ModelSnapshot is read-only.");
+    }
+}
@@ -6,6 +6,9 @@ import lombok.NoArgsConstructor;
 import org.decimal4j.immutable.Decimal3f;
 import uk.co.aosd.onto.money.Currency;
 import uk.co.aosd.onto.money.MonetaryValue;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenMonetaryValue;
 
 /**
  * An implementation of the MonetaryValue interface.
@@ -15,7 +18,12 @@ import uk.co.aosd.onto.money.MonetaryValue;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class MonetaryValueImpl<U extends Currency> implements MonetaryValue<U> {
+public class MonetaryValueImpl<U extends Currency> implements MonetaryValue<U>, Freezable<FrozenMonetaryValue<U>> {
     private Decimal3f value;
     private U unit;
+
+    @Override
+    public FrozenMonetaryValue<U> freeze(final Freezer freezer) {
+        return new FrozenMonetaryValue<>(value, freezer.freezeValue(unit));
+    }
 }
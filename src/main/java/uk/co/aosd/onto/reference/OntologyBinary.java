@@ -0,0 +1,185 @@
+package uk.co.aosd.onto.reference;
+
+import java.io.InvalidClassException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import uk.co.aosd.onto.reference.events.AggregatedImpl;
+import uk.co.aosd.onto.reference.events.AppointedImpl;
+import uk.co.aosd.onto.reference.events.AssembledImpl;
+import uk.co.aosd.onto.reference.events.BirthImpl;
+import uk.co.aosd.onto.reference.events.BoughtImpl;
+import uk.co.aosd.onto.reference.events.BuiltImpl;
+import uk.co.aosd.onto.reference.events.ChangedImpl;
+import uk.co.aosd.onto.reference.events.CreatedImpl;
+import uk.co.aosd.onto.reference.events.DeathImpl;
+import uk.co.aosd.onto.reference.events.DecommissionedImpl;
+import uk.co.aosd.onto.reference.events.DeletedImpl;
+import uk.co.aosd.onto.reference.events.DestroyedImpl;
+import uk.co.aosd.onto.reference.events.DisaggregatedImpl;
+import uk.co.aosd.onto.reference.events.DisassembledImpl;
+import uk.co.aosd.onto.reference.events.DissolvedImpl;
+import uk.co.aosd.onto.reference.events.FormedImpl;
+import uk.co.aosd.onto.reference.events.InstalledImpl;
+import uk.co.aosd.onto.reference.events.RemovedImpl;
+import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.reference.events.ScrappedImpl;
+import uk.co.aosd.onto.reference.events.SoldImpl;
+import uk.co.aosd.onto.reference.events.StartedImpl;
+import uk.co.aosd.onto.reference.events.StoppedImpl;
+import uk.co.aosd.onto.reference.events.TransferredFromImpl;
+import uk.co.aosd.onto.reference.events.TransferredToImpl;
+
+/**
+ * Reads and writes ontology object graphs in a compact binary form, as a
+ * faster and smaller alternative to the JSON of
+ * {@link uk.co.aosd.onto.reference.json.OntologyJson}.
+ *
+ * <p>
+ * The encoding is that of {@link BinaryCodec}: one byte value tags, variable
+ * length integers and lengths, and Instants and Decimal3f values as primitive
+ * longs. The classes in {@link #CLASSES}, which are every reference class and
+ * event, are numbered by their place in that list, so a graph made only of them
+ * carries no class names at all. The bytes start with the {@link #VERSION}
+ * and a hash of the fields of the numbered classes, followed by the names of
+ * any other classes, such as an application's own Roles, each with a hash of
+ * its fields. Bytes written by classes whose fields have since changed are
+ * refused rather than misread.
+ * </p>
+ *
+ * <p>
+ * The numbers are part of the format, so new classes are only ever added to
+ * the end of the list, and a change that renumbers them must also change the
+ * version, so that older bytes are refused rather than read as the wrong
+ * classes. A ModelImpl cannot be written this way, as it holds locks and a
+ * change log; use {@link ModelImpl#save} instead.
+ * </p>
+ *
+ * <p>
+ * Every object is written in full wherever it appears, as with the default
+ * JSON, and the methods keep no state between calls, so they can be used from
+ * any number of threads.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public final class OntologyBinary {
+
+    /**
+     * The version of the format written, which {@link #read} checks.
+     */
+    public static final byte VERSION = 2;
+
+    /**
+     * The classes written as numbers, by their place in the list. Only ever add
+     * to the end of it.
+     */
+    public static final List<Class<?>> CLASSES = List.of(
+        AgglomerateImpl.class,
+        AggregateImpl.class,
+        AttributeImpl.class,
+        ClassImpl.class,
+        CurrencyImpl.class,
+        DNAImpl.class,
+        EmploymentImpl.class,
+        HumanImpl.class,
+        IdentifierSet.class,
+        LanguageImpl.class,
+        MembershipImpl.class,
+        MonetaryValueImpl.class,
+        OrganisationImpl.class,
+        OwningImpl.class,
+        PossibleWorldImpl.class,
+        PropertyImpl.class,
+        ScalarAttributeImpl.class,
+        ScalarPropertyImpl.class,
+        ScalarValueImpl.class,
+        SignifierImpl.class,
+        SignifyingImpl.class,
+        StateImpl.class,
+        TransferringOfOwnershipImpl.class,
+        AggregatedImpl.class,
+        AppointedImpl.class,
+        AssembledImpl.class,
+        BirthImpl.class,
+        BoughtImpl.class,
+        BuiltImpl.class,
+        ChangedImpl.class,
+        CreatedImpl.class,
+        DeathImpl.class,
+        DecommissionedImpl.class,
+        DeletedImpl.class,
+        DestroyedImpl.class,
+        DisaggregatedImpl.class,
+        DisassembledImpl.class,
+        DissolvedImpl.class,
+        FormedImpl.class,
+        InstalledImpl.class,
+        RemovedImpl.class,
+        ResignifiedImpl.class,
+        ScrappedImpl.class,
+        SoldImpl.class,
+        StartedImpl.class,
+        StoppedImpl.class,
+        TransferredFromImpl.class,
+        TransferredToImpl.class);
+
+    private static final BinaryCodec.Registry REGISTRY = new BinaryCodec.Registry(CLASSES);
+
+    private OntologyBinary() {
+    }
+
+    /**
+     * Convert an object graph to bytes.
+     *
+     * @param o
+     *            Object
+     * @return byte[]
+     */
+    public static byte[] write(final Object o) {
+        final var classes = new BinaryCodec.ClassTable(REGISTRY);
+        final var body = new BinaryCodec.Encoder(classes, t -> false);
+        body.writeValue(o);
+        final var header = new BinaryCodec.Encoder(classes, t -> false);
+        header.writeVarLong(VERSION);
+        header.writeClassTable(classes);
+        final var bytes = Arrays.copyOf(header.bytes(), header.size() + body.size());
+        System.arraycopy(body.bytes(), 0, bytes, header.size(), body.size());
+        return bytes;
+    }
+
+    /**
+     * Convert bytes written by {@link #write} to a type.
+     *
+     * @param <T>
+     *            The type to return.
+     * @param bytes
+     *            byte[]
+     * @param type
+     *            java.lang.Class of T
+     * @return T
+     * @throws IllegalArgumentException
+     *             if the bytes were written in another version of the format, by
+     *             classes with other fields than they have now, or
+     *             name a class that cannot be found.
+     */
+    public static <T> T read(final byte[] bytes, final Class<T> type) {
+        final var in = ByteBuffer.wrap(bytes);
+        final var header = new BinaryCodec.Decoder(in, null, null);
+        final long version = bytes.length == 0 ? -1 : header.readVarLong();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Cannot read version " + (version < 0 ? "none" : version) + " of the binary format, only version "
+                + VERSION);
+        }
+        final BinaryCodec.ClassTable classes;
+        try {
+            classes = header.readClassTable(REGISTRY);
+        } catch (final ClassNotFoundException | InvalidClassException e) {
+            throw new IllegalArgumentException("Cannot read the classes of the binary format", e);
+        }
+        return type.cast(new BinaryCodec.Decoder(in, classes, id -> {
+            throw new IllegalStateException("Unexpected reference to " + id);
+        }).readValue());
+    }
+}
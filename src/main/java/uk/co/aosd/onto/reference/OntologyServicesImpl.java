@@ -2,7 +2,7 @@ package uk.co.aosd.onto.reference;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.decimal4j.immutable.Decimal3f;
 import uk.co.aosd.onto.biological.DNA;
@@ -27,6 +27,7 @@ import uk.co.aosd.onto.reference.events.DeathImpl;
 import uk.co.aosd.onto.reference.events.DeletedImpl;
 import uk.co.aosd.onto.reference.events.DisaggregatedImpl;
 import uk.co.aosd.onto.reference.events.DissolvedImpl;
+import uk.co.aosd.onto.reference.events.EventInterner;
 import uk.co.aosd.onto.reference.events.FormedImpl;
 import uk.co.aosd.onto.reference.events.RemovedImpl;
 import uk.co.aosd.onto.reference.events.ResignifiedImpl;
@@ -42,10 +43,71 @@ import uk.co.aosd.onto.signifying.Signifier;
  * knowing about the implementation classes directly.
  * </p>
  *
+ * <p>
+ * Services created with identifier equality put the members of classes,
+ * possible worlds and agglomerates, and the things in models, into
+ * {@link IdentifierSet}s, so that two things are the same member if they have
+ * the same identifier and adding one never hashes the things it refers to.
+ * </p>
+ *
  * @author Tony Walmsley
  */
 public class OntologyServicesImpl {
 
+    private final boolean identifierEquality;
+    private final IdGenerator idGenerator;
+    private final EventInterner events;
+
+    public OntologyServicesImpl() {
+        this(false);
+    }
+
+    /**
+     * Create the services.
+     *
+     * @param identifierEquality
+     *            True to hold members and things in IdentifierSets.
+     */
+    public OntologyServicesImpl(final boolean identifierEquality) {
+        this(identifierEquality, IdGenerator.RANDOM);
+    }
+
+    /**
+     * Create the services.
+     *
+     * @param identifierEquality
+     *            True to hold members and things in IdentifierSets.
+     * @param idGenerator
+     *            Generates the identifiers of the events created by
+     *            {@link #transferOwnership}, such as
+     *            {@link IdGenerator#timeOrdered()} for fast concurrent ingest.
+     */
+    public OntologyServicesImpl(final boolean identifierEquality, final IdGenerator idGenerator) {
+        this(identifierEquality, idGenerator, null);
+    }
+
+    /**
+     * Create the services.
+     *
+     * @param identifierEquality
+     *            True to hold members and things in IdentifierSets.
+     * @param idGenerator
+     *            Generates the identifiers of the events created by
+     *            {@link #transferOwnership}.
+     * @param events
+     *            EventInterner that merges identifiers, to share the events
+     *            created by {@link #transferOwnership} with others of the same
+     *            type and bounds, and to use the open-ended TransferredToImpl for
+     *            the end of the new ownership, or null to create new events with
+     *            new identifiers each time. An EventInterner that does not merge
+     *            identifiers could never share these events, so it is not used.
+     */
+    public OntologyServicesImpl(final boolean identifierEquality, final IdGenerator idGenerator, final EventInterner events) {
+        this.identifierEquality = identifierEquality;
+        this.idGenerator = idGenerator;
+        this.events = events;
+    }
+
     public LanguageImpl createLanguage(final String identifier, final String name) {
         return new LanguageImpl(identifier, name);
     }
@@ -56,7 +118,7 @@ public class OntologyServicesImpl {
     }
 
     public <T extends UniquelyIdentifiable> ClassImpl<T> createClass(final String identifier, final Set<T> members) {
-        return new ClassImpl<T>(identifier, members);
+        return new ClassImpl<T>(identifier, members(members));
     }
 
     public HumanImpl createHuman(final String identifier, final BirthImpl born, final DeathImpl died, final Class<Signifier<String, ResignifiedImpl>> names,
@@ -76,7 +138,7 @@ public class OntologyServicesImpl {
 
     public PossibleWorldImpl createPossibleWorld(final String identifier, final Set<Individual<? extends Event, ? extends Event>> parts, final CreatedImpl from,
         final DeletedImpl to) {
-        return new PossibleWorldImpl(identifier, parts, from, to);
+        return new PossibleWorldImpl(identifier, members(parts), from, to);
     }
 
     public <B extends Event, E extends Event, T extends Individual<B, E>> State<B, E, T> createState(final String identifier, final T individual,
@@ -101,13 +163,15 @@ public class OntologyServicesImpl {
         final String identifier, final String actionsDescription, final OwningImpl<A, B, C, D> current, final Individual<A, B> newOwner, final Started from,
         final Stopped to) {
         // The previous owneship ends at the from event.
-        final var transferredFromEvent = new TransferredFromImpl(randId(), from.getFrom(), from.getTo());
-        final var transferredToEvent = new TransferredToImpl(randId(), to.getFrom(), to.getTo());
+        final var transferredFromEvent = intern(new TransferredFromImpl(idGenerator.newId(), from.getFrom(), from.getTo()));
+        final var transferredToEvent = intern(new TransferredToImpl(idGenerator.newId(), to.getFrom(), to.getTo()));
         final var endOwnership = createOwnership(current.getIdentifier(), current.getActionsDescription(), current.getOwner(), current.getOwned(),
             current.getBeginning(), transferredToEvent);
 
         // The new ownership starts at the from event.
-        final var ownershipEnds = new TransferredToImpl(randId(), null, null);
+        final var ownershipEnds = mergeEvents()
+            ? EventInterner.openEnded(TransferredToImpl.class)
+            : new TransferredToImpl(idGenerator.newId(), null, null);
         final var newOwnership = createOwnership(identifier, actionsDescription, newOwner, current.getOwned(), transferredFromEvent, ownershipEnds);
 
         // The transfer happens at the from event and finishes at the from event.
@@ -123,12 +187,37 @@ public class OntologyServicesImpl {
     }
 
     public Model createModel(final String identifier) {
-        return new ModelImpl(identifier, new HashSet<>());
+        return new ModelImpl(identifier, identifierEquality ? new IdentifierSet<>() : new HashSet<>());
+    }
+
+    /**
+     * Create a model whose Set of things is sized for a number of things, so
+     * that loading them does not resize it.
+     */
+    public ModelImpl createModel(final String identifier, final int expectedSize) {
+        return new ModelImpl(identifier,
+            identifierEquality ? new IdentifierSet<>(expectedSize, false) : new HashSet<>((int) (Math.max(expectedSize, 0) / 0.75f) + 1));
+    }
+
+    /**
+     * Create a model that can be added to and read from by many threads at once.
+     */
+    public ModelImpl createConcurrentModel(final String identifier) {
+        return createConcurrentModel(identifier, 16);
+    }
+
+    /**
+     * Create a model that can be added to and read from by many threads at once,
+     * whose Set of things is sized for a number of things.
+     */
+    public ModelImpl createConcurrentModel(final String identifier, final int expectedSize) {
+        return new ModelImpl(identifier,
+            identifierEquality ? new IdentifierSet<>(expectedSize, true) : ConcurrentHashMap.newKeySet(Math.max(expectedSize, 0)));
     }
 
     public AgglomerateImpl createAgglomerate(final String identifier, final Set<Individual<? extends Event, ? extends Event>> items, final AggregatedImpl from,
         final DisaggregatedImpl to) {
-        return new AgglomerateImpl(identifier, items, from, to);
+        return new AgglomerateImpl(identifier, members(items), from, to);
     }
 
     public <N extends Number, U extends Unit, T> AggregateImpl<N, U, T> createAggregate(final String identifier, final java.lang.Class<T> kind,
@@ -140,7 +229,20 @@ public class OntologyServicesImpl {
         return new ScalarValueImpl<N, U>(value, unit);
     }
 
-    private static String randId() {
-        return UUID.randomUUID().toString();
+    /**
+     * Share an event made up by {@link #transferOwnership}. Its identifier is
+     * new, so it can only be shared with others if identifiers are merged.
+     */
+    private <E extends Event> E intern(final E event) {
+        return mergeEvents() ? events.intern(event) : event;
     }
+
+    private boolean mergeEvents() {
+        return events != null && events.mergesIdentifiers();
+    }
+
+    private <T extends UniquelyIdentifiable> Set<T> members(final Set<T> members) {
+        return identifierEquality && members != null && !(members instanceof IdentifierSet) ? new IdentifierSet<>(members) : members;
+    }
+
 }
@@ -9,6 +9,9 @@ import uk.co.aosd.onto.organisation.Organisation;
 import uk.co.aosd.onto.reference.events.DissolvedImpl;
 import uk.co.aosd.onto.reference.events.FormedImpl;
 import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenOrganisation;
 import uk.co.aosd.onto.signifying.Signifier;
 
 /**
@@ -19,7 +22,7 @@ import uk.co.aosd.onto.signifying.Signifier;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class OrganisationImpl<R extends Role> implements Organisation<FormedImpl, DissolvedImpl, ResignifiedImpl> {
+public class OrganisationImpl<R extends Role> implements Organisation<FormedImpl, DissolvedImpl, ResignifiedImpl>, Freezable<FrozenOrganisation<R>> {
     private String identifier;
     private Class<MembershipImpl<R>> members;
     private String purpose;
@@ -27,4 +30,10 @@ public class OrganisationImpl<R extends Role> implements Organisation<FormedImpl
     private Class<Signifier<String, ResignifiedImpl>> names;
     private FormedImpl beginning;
     private DissolvedImpl ending;
-}
\ No newline at end of file
+
+    @Override
+    public FrozenOrganisation<R> freeze(final Freezer freezer) {
+        return new FrozenOrganisation<>(CompactId.key(identifier), freezer.freezeValue(members), purpose,
+            freezer.freezeValue(units), freezer.freezeValue(names), freezer.freeze(beginning), freezer.freeze(ending));
+    }
+}
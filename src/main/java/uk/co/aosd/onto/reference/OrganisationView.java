@@ -0,0 +1,43 @@
+package uk.co.aosd.onto.reference;
+
+import java.nio.ByteBuffer;
+
+import uk.co.aosd.onto.events.Dissolved;
+import uk.co.aosd.onto.events.Formed;
+import uk.co.aosd.onto.events.Resignified;
+import uk.co.aosd.onto.foundation.Class;
+import uk.co.aosd.onto.organisation.Organisation;
+import uk.co.aosd.onto.signifying.Signifier;
+
+/**
+ * An Organisation decoded lazily from a mapped record.
+ *
+ * @author Tony Walmsley
+ */
+final class OrganisationView extends RecordView<Organisation<Formed, Dissolved, Resignified>> implements Organisation<Formed, Dissolved, Resignified> {
+
+    OrganisationView(final MappedModel model, final ByteBuffer record, final String identifier, final java.lang.Class<?> type) {
+        super(model, record, identifier, type);
+    }
+
+    @Override
+    public String getPurpose() {
+        return (String) field("purpose", Organisation::getPurpose);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Class<Signifier<String, Resignified>> getNames() {
+        return (Class<Signifier<String, Resignified>>) field("names", Organisation::getNames);
+    }
+
+    @Override
+    public Formed getBeginning() {
+        return (Formed) field("beginning", Organisation::getBeginning);
+    }
+
+    @Override
+    public Dissolved getEnding() {
+        return (Dissolved) field("ending", Organisation::getEnding);
+    }
+}
@@ -8,6 +8,9 @@ import uk.co.aosd.onto.foundation.Individual;
 import uk.co.aosd.onto.ownership.Owning;
 import uk.co.aosd.onto.reference.events.TransferredFromImpl;
 import uk.co.aosd.onto.reference.events.TransferredToImpl;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenOwning;
 
 /**
  * An implementation of the Owning interface.
@@ -18,11 +21,17 @@ import uk.co.aosd.onto.reference.events.TransferredToImpl;
 @AllArgsConstructor
 @NoArgsConstructor
 public class OwningImpl<A extends Event, B extends Event, C extends Event, D extends Event>
-    implements Owning<A, B, C, D, TransferredFromImpl, TransferredToImpl> {
+    implements Owning<A, B, C, D, TransferredFromImpl, TransferredToImpl>, Freezable<FrozenOwning<A, B, C, D>> {
     private String identifier;
     private String actionsDescription;
     private Individual<A, B> owner;
     private Individual<C, D> owned;
     private TransferredFromImpl beginning;
     private TransferredToImpl ending;
+
+    @Override
+    public FrozenOwning<A, B, C, D> freeze(final Freezer freezer) {
+        return new FrozenOwning<>(CompactId.key(identifier), actionsDescription, freezer.freezeValue(owner),
+            freezer.freezeValue(owned), freezer.freeze(beginning), freezer.freeze(ending));
+    }
 }
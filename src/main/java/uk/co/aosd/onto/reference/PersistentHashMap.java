@@ -0,0 +1,414 @@
+package uk.co.aosd.onto.reference;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable hash array mapped trie.
+ *
+ * <p>
+ * Every addition or removal returns a new map that shares all of the unchanged
+ * nodes with the original, so an update copies at most one node per level
+ * (seven levels for 32-bit hashes) and old versions remain valid for as long
+ * as they are referenced. This is what makes model snapshots O(1).
+ * </p>
+ *
+ * <p>
+ * Bulk updates with {@link #plusAll} build each of the 32 top-level subtries in
+ * parallel and mutate the nodes they create in place rather than copying them,
+ * which is only safe because those nodes are not visible to anyone else until
+ * the new map is returned.
+ * </p>
+ *
+ * @param <K>
+ *            The key type.
+ * @param <V>
+ *            The value type.
+ * @author Tony Walmsley
+ */
+final class PersistentHashMap<K, V> implements Iterable<V> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(new Branch(0, new Object[0], null), 0);
+
+    private final Branch root;
+    private final int size;
+
+    private PersistentHashMap(final Branch root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(final K key) {
+        final int hash = hash(key);
+        Object node = root;
+        int shift = 0;
+        while (true) {
+            if (node instanceof Branch branch) {
+                final int bit = bit(hash, shift);
+                if ((branch.bitmap & bit) == 0) {
+                    return null;
+                }
+                node = branch.children[branch.index(bit)];
+                shift += BITS;
+            } else if (node instanceof Leaf leaf) {
+                return leaf.hash == hash && leaf.key.equals(key) ? (V) leaf.value : null;
+            } else {
+                final var collision = (Collision) node;
+                if (collision.hash != hash) {
+                    return null;
+                }
+                for (final var leaf : collision.leaves) {
+                    if (leaf.key.equals(key)) {
+                        return (V) leaf.value;
+                    }
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Return a map that also maps the key to the value.
+     *
+     * @param key
+     *            K
+     * @param value
+     *            V
+     * @return a new map, or this map if it already maps the key to the same value
+     */
+    PersistentHashMap<K, V> plus(final K key, final V value) {
+        Objects.requireNonNull(key);
+        final var leaf = new Leaf(hash(key), key, value);
+        final var added = new boolean[1];
+        final var newRoot = (Branch) insert(root, 0, leaf, added, null);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Return a map that also maps each of the values to its key.
+     *
+     * @param values
+     *            List of V
+     * @param keyOf
+     *            Function to get the key of a value
+     * @return a new map
+     */
+    @SuppressWarnings("unchecked")
+    PersistentHashMap<K, V> plusAll(final List<? extends V> values, final Function<? super V, ? extends K> keyOf) {
+        if (values.isEmpty()) {
+            return this;
+        }
+        final var slots = (List<Leaf>[]) new List<?>[WIDTH];
+        for (final V value : values) {
+            final K key = Objects.requireNonNull(keyOf.apply(value));
+            final var leaf = new Leaf(hash(key), key, value);
+            final int slot = leaf.hash & MASK;
+            if (slots[slot] == null) {
+                slots[slot] = new ArrayList<>();
+            }
+            slots[slot].add(leaf);
+        }
+        final var children = new Object[WIDTH];
+        final var added = new int[WIDTH];
+        IntStream.range(0, WIDTH).parallel().forEach(slot -> {
+            final int bit = 1 << slot;
+            Object node = (root.bitmap & bit) == 0 ? null : root.children[root.index(bit)];
+            if (slots[slot] != null) {
+                final var edit = new Object();
+                final var wasAdded = new boolean[1];
+                for (final var leaf : slots[slot]) {
+                    if (node == null) {
+                        node = leaf;
+                        added[slot]++;
+                    } else {
+                        wasAdded[0] = false;
+                        node = insert(node, BITS, leaf, wasAdded, edit);
+                        if (wasAdded[0]) {
+                            added[slot]++;
+                        }
+                    }
+                }
+            }
+            children[slot] = node;
+        });
+        int bitmap = 0;
+        int count = 0;
+        int newSize = size;
+        for (int slot = 0; slot < WIDTH; slot++) {
+            if (children[slot] != null) {
+                bitmap |= 1 << slot;
+                children[count++] = children[slot];
+            }
+            newSize += added[slot];
+        }
+        final var rootChildren = new Object[count];
+        System.arraycopy(children, 0, rootChildren, 0, count);
+        return new PersistentHashMap<>(new Branch(bitmap, rootChildren, null), newSize);
+    }
+
+    /**
+     * Return a map without a mapping for the key.
+     *
+     * @param key
+     *            K
+     * @return a new map, or this map if it has no mapping for the key
+     */
+    PersistentHashMap<K, V> minus(final K key) {
+        final var newRoot = remove(root, 0, hash(key), key);
+        return newRoot == root ? this : new PersistentHashMap<>((Branch) newRoot, size - 1);
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new ValueIterator<>(root);
+    }
+
+    /**
+     * Insert a leaf below a node. Branches created with the same non-null edit
+     * token are updated in place, all other nodes are copied.
+     */
+    private static Object insert(final Object node, final int shift, final Leaf leaf, final boolean[] added, final Object edit) {
+        if (node instanceof Branch branch) {
+            final boolean owned = edit != null && branch.edit == edit;
+            final int bit = bit(leaf.hash, shift);
+            final int index = branch.index(bit);
+            if ((branch.bitmap & bit) == 0) {
+                added[0] = true;
+                final var children = new Object[branch.children.length + 1];
+                System.arraycopy(branch.children, 0, children, 0, index);
+                children[index] = leaf;
+                System.arraycopy(branch.children, index, children, index + 1, branch.children.length - index);
+                if (owned) {
+                    branch.bitmap |= bit;
+                    branch.children = children;
+                    return branch;
+                }
+                return new Branch(branch.bitmap | bit, children, edit);
+            }
+            final var child = branch.children[index];
+            final var newChild = insert(child, shift + BITS, leaf, added, edit);
+            if (newChild == child) {
+                return branch;
+            }
+            if (owned) {
+                branch.children[index] = newChild;
+                return branch;
+            }
+            final var children = branch.children.clone();
+            children[index] = newChild;
+            return new Branch(branch.bitmap, children, edit);
+        } else if (node instanceof Leaf existing) {
+            if (existing.hash == leaf.hash && existing.key.equals(leaf.key)) {
+                return existing.value == leaf.value ? existing : leaf;
+            }
+            added[0] = true;
+            return merge(existing, leaf, shift, edit);
+        } else {
+            final var collision = (Collision) node;
+            if (collision.hash != leaf.hash) {
+                added[0] = true;
+                return merge(collision, leaf, shift, edit);
+            }
+            for (int i = 0; i < collision.leaves.length; i++) {
+                if (collision.leaves[i].key.equals(leaf.key)) {
+                    if (collision.leaves[i].value == leaf.value) {
+                        return collision;
+                    }
+                    final var leaves = collision.leaves.clone();
+                    leaves[i] = leaf;
+                    return new Collision(collision.hash, leaves);
+                }
+            }
+            added[0] = true;
+            final var leaves = new Leaf[collision.leaves.length + 1];
+            System.arraycopy(collision.leaves, 0, leaves, 0, collision.leaves.length);
+            leaves[collision.leaves.length] = leaf;
+            return new Collision(collision.hash, leaves);
+        }
+    }
+
+    /**
+     * Remove the leaf for a key below a node. Returns the node itself if there is
+     * no such leaf, or null if nothing is left below a node other than the root.
+     * A branch left with a single leaf or collision is replaced by that child.
+     */
+    private static Object remove(final Object node, final int shift, final int hash, final Object key) {
+        if (node instanceof Branch branch) {
+            final int bit = bit(hash, shift);
+            if ((branch.bitmap & bit) == 0) {
+                return branch;
+            }
+            final int index = branch.index(bit);
+            final var child = branch.children[index];
+            final var newChild = remove(child, shift + BITS, hash, key);
+            if (newChild == child) {
+                return branch;
+            }
+            if (newChild == null) {
+                if (branch.children.length == 1 && shift > 0) {
+                    return null;
+                }
+                final var children = new Object[branch.children.length - 1];
+                System.arraycopy(branch.children, 0, children, 0, index);
+                System.arraycopy(branch.children, index + 1, children, index, children.length - index);
+                if (children.length == 1 && shift > 0 && !(children[0] instanceof Branch)) {
+                    return children[0];
+                }
+                return new Branch(branch.bitmap & ~bit, children, null);
+            }
+            if (branch.children.length == 1 && shift > 0 && !(newChild instanceof Branch)) {
+                return newChild;
+            }
+            final var children = branch.children.clone();
+            children[index] = newChild;
+            return new Branch(branch.bitmap, children, null);
+        } else if (node instanceof Leaf leaf) {
+            return leaf.hash == hash && leaf.key.equals(key) ? null : leaf;
+        } else {
+            final var collision = (Collision) node;
+            if (collision.hash != hash) {
+                return collision;
+            }
+            for (int i = 0; i < collision.leaves.length; i++) {
+                if (collision.leaves[i].key.equals(key)) {
+                    if (collision.leaves.length == 2) {
+                        return collision.leaves[1 - i];
+                    }
+                    final var leaves = new Leaf[collision.leaves.length - 1];
+                    System.arraycopy(collision.leaves, 0, leaves, 0, i);
+                    System.arraycopy(collision.leaves, i + 1, leaves, i, leaves.length - i);
+                    return new Collision(collision.hash, leaves);
+                }
+            }
+            return collision;
+        }
+    }
+
+    /**
+     * Build the smallest sub-trie, rooted at the level given by shift, that holds
+     * an existing leaf or collision and a new leaf.
+     */
+    private static Object merge(final Object existing, final Leaf leaf, final int shift, final Object edit) {
+        final int existingHash = existing instanceof Leaf l ? l.hash : ((Collision) existing).hash;
+        if (existingHash == leaf.hash) {
+            return new Collision(leaf.hash, new Leaf[] { (Leaf) existing, leaf });
+        }
+        final int existingBit = bit(existingHash, shift);
+        final int leafBit = bit(leaf.hash, shift);
+        if (existingBit == leafBit) {
+            return new Branch(existingBit, new Object[] { merge(existing, leaf, shift + BITS, edit) }, edit);
+        }
+        final var children = Integer.compareUnsigned(existingBit, leafBit) < 0
+            ? new Object[] { existing, leaf }
+            : new Object[] { leaf, existing };
+        return new Branch(existingBit | leafBit, children, edit);
+    }
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(final int hash, final int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * An interior node with up to 32 children, each of which is a Branch, Leaf
+     * or Collision. Only the bulk update that created a Branch, identified by its
+     * edit token, may change it.
+     */
+    private static final class Branch {
+        private int bitmap;
+        private Object[] children;
+        private final Object edit;
+
+        Branch(final int bitmap, final Object[] children, final Object edit) {
+            this.bitmap = bitmap;
+            this.children = children;
+            this.edit = edit;
+        }
+
+        int index(final int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+    }
+
+    private record Leaf(int hash, Object key, Object value) {
+    }
+
+    /**
+     * Leaves whose keys have the same full hash.
+     */
+    private record Collision(int hash, Leaf[] leaves) {
+    }
+
+    /**
+     * A depth-first iterator over the values in the trie.
+     */
+    private static final class ValueIterator<V> implements Iterator<V> {
+        // The trie is at most 8 levels deep including a collision node.
+        private final Object[][] nodes = new Object[8][];
+        private final int[] positions = new int[8];
+        private int depth;
+        private Leaf next;
+
+        ValueIterator(final Branch root) {
+            nodes[0] = root.children;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final var value = (V) next.value;
+            advance();
+            return value;
+        }
+
+        private void advance() {
+            while (depth >= 0) {
+                final var children = nodes[depth];
+                if (positions[depth] == children.length) {
+                    depth--;
+                    continue;
+                }
+                final var child = children[positions[depth]++];
+                if (child instanceof Leaf leaf) {
+                    next = leaf;
+                    return;
+                }
+                depth++;
+                nodes[depth] = child instanceof Branch branch ? branch.children : ((Collision) child).leaves;
+                positions[depth] = 0;
+            }
+            next = null;
+        }
+    }
+}
@@ -10,6 +10,9 @@ import uk.co.aosd.onto.foundation.Individual;
 import uk.co.aosd.onto.foundation.PossibleWorld;
 import uk.co.aosd.onto.reference.events.CreatedImpl;
 import uk.co.aosd.onto.reference.events.DeletedImpl;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenPossibleWorld;
 
 /**
  * An implementaton of the PossibleWorld interface.
@@ -19,9 +22,14 @@ import uk.co.aosd.onto.reference.events.DeletedImpl;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class PossibleWorldImpl implements PossibleWorld<CreatedImpl, DeletedImpl> {
+public class PossibleWorldImpl implements PossibleWorld<CreatedImpl, DeletedImpl>, Freezable<FrozenPossibleWorld> {
     private String identifier;
     private Set<Individual<? extends Event, ? extends Event>> parts;
     private CreatedImpl beginning;
     private DeletedImpl ending;
+
+    @Override
+    public FrozenPossibleWorld freeze(final Freezer freezer) {
+        return new FrozenPossibleWorld(CompactId.key(identifier), freezer.freezeValue(parts), freezer.freeze(beginning), freezer.freeze(ending));
+    }
 }
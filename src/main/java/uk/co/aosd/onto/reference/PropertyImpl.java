@@ -7,6 +7,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.foundation.Property;
 import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenProperty;
 
 /**
  * An implementation of the Property interface.
@@ -16,8 +19,13 @@ import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class PropertyImpl<T extends UniquelyIdentifiable, U> implements Property<T, U> {
+public class PropertyImpl<T extends UniquelyIdentifiable, U> implements Property<T, U>, Freezable<FrozenProperty<T, U>> {
     private String identifier;
     private Set<T> members;
     private U property;
+
+    @Override
+    public FrozenProperty<T, U> freeze(final Freezer freezer) {
+        return new FrozenProperty<>(CompactId.key(identifier), freezer.freezeValue(members), freezer.freezeValue(property));
+    }
 }
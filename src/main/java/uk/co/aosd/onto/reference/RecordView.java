@@ -0,0 +1,151 @@
+package uk.co.aosd.onto.reference;
+
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+
+import uk.co.aosd.onto.biological.Human;
+import uk.co.aosd.onto.foundation.Event;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.organisation.Membership;
+import uk.co.aosd.onto.organisation.Organisation;
+
+/**
+ * A read-only thing whose fields are decoded from a record in a
+ * {@link MappedModel} only when a getter asks for them.
+ *
+ * <p>
+ * A view holds the record's identifier and a slice of the mapped file, and
+ * decodes nothing else when it is created. On the first getter call it walks
+ * the record once to find where each field starts, skipping over the values
+ * without building them. After that each getter decodes just its own field.
+ * Things that are stored separately in the model are returned as views too,
+ * so following references never decodes more than is read. Values that are
+ * not things in the model, such as the events and names of a thing, are
+ * decoded in full each time they are asked for.
+ * </p>
+ *
+ * <p>
+ * A view reads its fields by the names that the reference classes give them.
+ * If the record was written from another class of the same interface whose
+ * fields are named differently, the view decodes the whole thing, as
+ * {@link MappedModel#getThing} does, and calls its getter instead.
+ * </p>
+ *
+ * <p>
+ * Two views are equal if they have the same identifier and come from the same
+ * MappedModel. A view is never equal to a decoded thing, so use
+ * {@link MappedModel#getThing} to compare a thing by value.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+abstract class RecordView<V> implements UniquelyIdentifiable {
+    private final MappedModel model;
+    private final ByteBuffer record;
+    private final String identifier;
+    private final Class<?> type;
+    private final int start;
+    private volatile int[] offsets;
+
+    RecordView(final MappedModel model, final ByteBuffer record, final String identifier, final Class<?> type) {
+        this.model = model;
+        this.record = record;
+        this.identifier = identifier;
+        this.type = type;
+        this.start = record.position();
+    }
+
+    /**
+     * Create a view of a record if there is a view for its class.
+     *
+     * @param model
+     *            MappedModel the record is in.
+     * @param record
+     *            ByteBuffer positioned at the first field of the record's object.
+     * @param identifier
+     *            String
+     * @param type
+     *            The class the record was written from.
+     * @return a view, or null if the class has no view.
+     */
+    static UniquelyIdentifiable of(final MappedModel model, final ByteBuffer record, final String identifier, final Class<?> type) {
+        if (Event.class.isAssignableFrom(type)) {
+            return EventView.of(model, record, identifier, type);
+        } else if (Human.class.isAssignableFrom(type)) {
+            return new HumanView(model, record, identifier, type);
+        } else if (Membership.class.isAssignableFrom(type)) {
+            return new MembershipView(model, record, identifier, type);
+        } else if (Organisation.class.isAssignableFrom(type)) {
+            return new OrganisationView(model, record, identifier, type);
+        }
+        return null;
+    }
+
+    @Override
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Decode one field of the record.
+     *
+     * @param name
+     *            The name of the field in the class the record was written from.
+     * @param getter
+     *            Gets the value from the decoded thing if its class has no field
+     *            of that name.
+     * @return the value of the field.
+     */
+    protected final Object field(final String name, final Function<? super V, ?> getter) {
+        final int index = BinaryCodec.fieldIndex(type, name);
+        if (index < 0) {
+            return getter.apply(decoded());
+        }
+        return model.viewDecoder(record.duplicate().position(offsets()[index])).readValue();
+    }
+
+    /**
+     * Get the class the record was written from.
+     */
+    protected final Class<?> type() {
+        return type;
+    }
+
+    /**
+     * Decode the whole thing, which the model then keeps.
+     */
+    @SuppressWarnings("unchecked")
+    protected final V decoded() {
+        return (V) model.getThing(identifier).orElseThrow();
+    }
+
+    private int[] offsets() {
+        var found = offsets;
+        if (found == null) {
+            found = new int[BinaryCodec.fieldCount(type)];
+            final var in = record.duplicate().position(start);
+            final var decoder = model.viewDecoder(in);
+            for (int i = 0; i < found.length; i++) {
+                found[i] = in.position();
+                decoder.skipValue();
+            }
+            offsets = found;
+        }
+        return found;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return EventView.unwrap(o) instanceof RecordView<?> other && model == other.model && identifier.equals(other.identifier);
+    }
+
+    @Override
+    public int hashCode() {
+        return identifier.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(identifier=" + identifier + ")";
+    }
+}
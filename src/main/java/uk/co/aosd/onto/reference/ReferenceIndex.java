@@ -0,0 +1,134 @@
+package uk.co.aosd.onto.reference;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+
+/**
+ * An index of the things in a model by the identifiers of the things they
+ * refer to.
+ *
+ * <p>
+ * When a thing is added its fields are read reflectively, and every
+ * UniquelyIdentifiable held in a field, or in a Collection or Map in a field,
+ * is recorded as being referred to by it. Referenced things do not have to be
+ * in the model themselves, and references are not followed any further, so
+ * each add costs time proportional to the number of fields of the thing. The
+ * fields to read are worked out once for each class.
+ * </p>
+ *
+ * <p>
+ * A thing is found for removal by the references it holds now, so its fields
+ * must not be changed while it is in a model. The index is safe for concurrent
+ * use.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+class ReferenceIndex {
+    private static final ClassValue<List<Field>> REFERENCE_FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(final Class<?> type) {
+            final var fields = new ArrayList<Field>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (final var field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && mayHoldReferences(field.getType())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return List.copyOf(fields);
+        }
+    };
+
+    private final Map<Object, IdentifierSet<UniquelyIdentifiable>> referrers = new ConcurrentHashMap<>();
+
+    void add(final UniquelyIdentifiable thing) {
+        forEachReference(thing, key -> referrers.compute(key, (k, v) -> {
+            final var found = v == null ? new IdentifierSet<UniquelyIdentifiable>(4, true) : v;
+            found.put(thing);
+            return found;
+        }));
+    }
+
+    void remove(final UniquelyIdentifiable thing) {
+        forEachReference(thing, key -> referrers.computeIfPresent(key, (k, v) -> {
+            v.removeExactly(thing);
+            return v.isEmpty() ? null : v;
+        }));
+    }
+
+    void clear() {
+        referrers.clear();
+    }
+
+    /**
+     * Get a live, read-only view of the things that refer to an identifier.
+     *
+     * @param identifier
+     *            String
+     * @return Set of UniquelyIdentifiable
+     */
+    Set<UniquelyIdentifiable> getReferrers(final String identifier) {
+        final var found = referrers.get(CompactId.key(identifier));
+        return found == null ? Set.of() : Collections.unmodifiableSet(found);
+    }
+
+    private static void forEachReference(final UniquelyIdentifiable thing, final Consumer<Object> action) {
+        for (final var field : REFERENCE_FIELDS.get(thing.getClass())) {
+            final Object value;
+            try {
+                value = field.get(thing);
+            } catch (final IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read " + field, e);
+            }
+            if (value instanceof UniquelyIdentifiable referenced) {
+                accept(thing, referenced, action);
+            } else if (value instanceof Iterable<?> iterable) {
+                for (final var element : iterable) {
+                    if (element instanceof UniquelyIdentifiable referenced) {
+                        accept(thing, referenced, action);
+                    }
+                }
+            } else if (value instanceof Map<?, ?> map) {
+                for (final var element : map.values()) {
+                    if (element instanceof UniquelyIdentifiable referenced) {
+                        accept(thing, referenced, action);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void accept(final UniquelyIdentifiable thing, final UniquelyIdentifiable referenced, final Consumer<Object> action) {
+        if (referenced != thing) {
+            final var key = CompactId.key(referenced);
+            if (key != null) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Whether a field of a type could hold a UniquelyIdentifiable, either directly
+     * or in a Collection or Map. This includes Object and interfaces, which are
+     * the erasures of generic fields.
+     */
+    private static boolean mayHoldReferences(final Class<?> type) {
+        return !type.isPrimitive()
+            && (UniquelyIdentifiable.class.isAssignableFrom(type)
+                || type.isInterface()
+                || type == Object.class
+                || Iterable.class.isAssignableFrom(type)
+                || Map.class.isAssignableFrom(type));
+    }
+}
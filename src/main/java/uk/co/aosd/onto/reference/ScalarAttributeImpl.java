@@ -10,6 +10,9 @@ import uk.co.aosd.onto.foundation.Individual;
 import uk.co.aosd.onto.foundation.ScalarAttribute;
 import uk.co.aosd.onto.foundation.ScalarValue;
 import uk.co.aosd.onto.foundation.Unit;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenScalarAttribute;
 
 /**
  * An implementation of the ScalarAttribute interface.
@@ -19,10 +22,16 @@ import uk.co.aosd.onto.foundation.Unit;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class ScalarAttributeImpl<I extends Individual<? extends Event, ? extends Event>, N extends Number, U extends Unit> implements ScalarAttribute<I, N, U> {
+public class ScalarAttributeImpl<I extends Individual<? extends Event, ? extends Event>, N extends Number, U extends Unit> implements ScalarAttribute<I, N, U>,
+    Freezable<FrozenScalarAttribute<I, N, U>> {
     private String identifier;
     private I individual;
     private ScalarValue<N, U> property;
     private Instant from;
     private Instant to;
+
+    @Override
+    public FrozenScalarAttribute<I, N, U> freeze(final Freezer freezer) {
+        return new FrozenScalarAttribute<>(CompactId.key(identifier), freezer.freezeValue(individual), freezer.freezeValue(property), from, to);
+    }
 }
@@ -9,6 +9,9 @@ import uk.co.aosd.onto.foundation.ScalarProperty;
 import uk.co.aosd.onto.foundation.ScalarValue;
 import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
 import uk.co.aosd.onto.foundation.Unit;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenScalarProperty;
 
 /**
  * An implementation of the ScalarProperty interface.
@@ -18,8 +21,14 @@ import uk.co.aosd.onto.foundation.Unit;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class ScalarPropertyImpl<T extends UniquelyIdentifiable, U extends Number, V extends Unit> implements ScalarProperty<T, U, V> {
+public class ScalarPropertyImpl<T extends UniquelyIdentifiable, U extends Number, V extends Unit> implements ScalarProperty<T, U, V>,
+    Freezable<FrozenScalarProperty<T, U, V>> {
     private String identifier;
     private ScalarValue<U, V> property;
     private Set<T> members;
+
+    @Override
+    public FrozenScalarProperty<T, U, V> freeze(final Freezer freezer) {
+        return new FrozenScalarProperty<>(CompactId.key(identifier), freezer.freezeValue(property), freezer.freezeValue(members));
+    }
 }
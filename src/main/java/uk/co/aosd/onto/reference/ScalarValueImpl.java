@@ -5,6 +5,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.foundation.ScalarValue;
 import uk.co.aosd.onto.foundation.Unit;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenScalarValue;
 
 /**
  * An implementation of the ScalarValue interface.
@@ -14,7 +17,12 @@ import uk.co.aosd.onto.foundation.Unit;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class ScalarValueImpl<T extends Number, U extends Unit> implements ScalarValue<T, U> {
+public class ScalarValueImpl<T extends Number, U extends Unit> implements ScalarValue<T, U>, Freezable<FrozenScalarValue<T, U>> {
     private T value;
     private U unit;
+
+    @Override
+    public FrozenScalarValue<T, U> freeze(final Freezer freezer) {
+        return new FrozenScalarValue<>(freezer.freezeValue(value), freezer.freezeValue(unit));
+    }
 }
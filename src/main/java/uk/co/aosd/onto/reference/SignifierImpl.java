@@ -5,6 +5,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.language.Language;
 import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenSignifier;
 import uk.co.aosd.onto.signifying.Signifier;
 
 /**
@@ -15,10 +18,16 @@ import uk.co.aosd.onto.signifying.Signifier;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class SignifierImpl<T> implements Signifier<T, ResignifiedImpl> {
+public class SignifierImpl<T> implements Signifier<T, ResignifiedImpl>, Freezable<FrozenSignifier<T>> {
     private String identifier;
     private T name;
     private Language language;
     private ResignifiedImpl beginning;
     private ResignifiedImpl ending;
+
+    @Override
+    public FrozenSignifier<T> freeze(final Freezer freezer) {
+        return new FrozenSignifier<>(CompactId.key(identifier), freezer.freezeValue(name),
+            freezer.freezeValue(language), freezer.freeze(beginning), freezer.freeze(ending));
+    }
 }
@@ -6,6 +6,9 @@ import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
 import uk.co.aosd.onto.language.Language;
 import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenSignifying;
 import uk.co.aosd.onto.signifying.Signifying;
 
 /**
@@ -16,7 +19,7 @@ import uk.co.aosd.onto.signifying.Signifying;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class SignifyingImpl<T> implements Signifying<T, ResignifiedImpl> {
+public class SignifyingImpl<T> implements Signifying<T, ResignifiedImpl>, Freezable<FrozenSignifying<T>> {
     private String identifier;
     private String actionsDescription;
     private T name;
@@ -24,4 +27,10 @@ public class SignifyingImpl<T> implements Signifying<T, ResignifiedImpl> {
     private UniquelyIdentifiable named;
     private ResignifiedImpl beginning;
     private ResignifiedImpl ending;
+
+    @Override
+    public FrozenSignifying<T> freeze(final Freezer freezer) {
+        return new FrozenSignifying<>(CompactId.key(identifier), actionsDescription, freezer.freezeValue(name),
+            freezer.freezeValue(language), freezer.freezeValue(named), freezer.freeze(beginning), freezer.freeze(ending));
+    }
 }
@@ -6,6 +6,9 @@ import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.foundation.Event;
 import uk.co.aosd.onto.foundation.Individual;
 import uk.co.aosd.onto.foundation.State;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenState;
 
 /**
  * An implementation of the State interface.
@@ -15,9 +18,15 @@ import uk.co.aosd.onto.foundation.State;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class StateImpl<B extends Event, E extends Event, V extends Individual<B, E>> implements State<B, E, V> {
+public class StateImpl<B extends Event, E extends Event, V extends Individual<B, E>> implements State<B, E, V>, Freezable<FrozenState<B, E, V>> {
     private String identifier;
     private V individual;
     private B beginning;
     private E ending;
+
+    @Override
+    public FrozenState<B, E, V> freeze(final Freezer freezer) {
+        return new FrozenState<>(CompactId.key(identifier), freezer.freezeValue(individual), freezer.freezeValue(beginning),
+            freezer.freezeValue(ending));
+    }
 }
@@ -0,0 +1,148 @@
+package uk.co.aosd.onto.reference;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import uk.co.aosd.onto.foundation.Class;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+
+/**
+ * A pool of weakly held Strings that a ModelImpl uses to share the names of
+ * the things added to it.
+ *
+ * <p>
+ * The same names turn up on millions of things: common given names on
+ * signifiers, "English" on languages, and so on. Each one read from a file or
+ * a message is a separate String, and JVM string deduplication only shares the
+ * backing arrays of Strings that have survived several collections under G1,
+ * so they are all held until then. A model given a pool with
+ * {@link ModelImpl#setStringPool} replaces the names of each SignifierImpl,
+ * LanguageImpl and CurrencyImpl with the pooled copy as it is added, so the
+ * duplicate is garbage straight away. It also does this for those held by the
+ * things it adds: the members of a Class, the names and languages of a
+ * HumanImpl and the names of an OrganisationImpl, which is where most names
+ * are.
+ * </p>
+ *
+ * <p>
+ * The pool holds its Strings weakly, so a name is dropped once nothing in any
+ * model uses it. It is split into stripes that are locked separately, so
+ * parallel adds rarely wait for each other. The statistics estimate the heap
+ * saved from the size of each duplicate String and its array that was
+ * replaced.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public final class StringPool {
+    private static final int STRIPES = 64;
+
+    private final Map<String, WeakReference<String>>[] stripes;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public StringPool() {
+        stripes = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new WeakHashMap<>();
+        }
+    }
+
+    /**
+     * Get the pooled copy of a String, adding it to the pool if there is none.
+     *
+     * @param value
+     *            String or null
+     * @return a String equal to the value, or null.
+     */
+    public String intern(final String value) {
+        if (value == null) {
+            return null;
+        }
+        lookups.increment();
+        final int hash = value.hashCode();
+        final var stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        synchronized (stripe) {
+            final var ref = stripe.get(value);
+            final var pooled = ref == null ? null : ref.get();
+            if (pooled == null) {
+                stripe.put(value, new WeakReference<>(value));
+                return value;
+            }
+            if (pooled != value) {
+                hits.increment();
+                bytesSaved.add(HeapAnalyzer.sizeOf(value));
+            }
+            return pooled;
+        }
+    }
+
+    /**
+     * Replace the names of a thing, and of the signifiers, languages and
+     * classes of them that it holds, with their pooled copies.
+     */
+    @SuppressWarnings("unchecked")
+    void internNames(final UniquelyIdentifiable thing) {
+        if (thing instanceof SignifierImpl<?> signifier) {
+            if (signifier.getName() instanceof String name) {
+                ((SignifierImpl<String>) signifier).setName(intern(name));
+            }
+            if (signifier.getLanguage() instanceof LanguageImpl language) {
+                internNames(language);
+            }
+        } else if (thing instanceof LanguageImpl language) {
+            language.setName(intern(language.getName()));
+        } else if (thing instanceof CurrencyImpl currency) {
+            currency.setName(intern(currency.getName()));
+            currency.setAbbreviation(intern(currency.getAbbreviation()));
+        } else if (thing instanceof HumanImpl human) {
+            internNames(human.getNames());
+            internNames(human.getNativeLanguage());
+            internNames(human.getLanguages());
+        } else if (thing instanceof OrganisationImpl<?> organisation) {
+            internNames(organisation.getNames());
+        } else if (thing instanceof Class<?> members && members.getMembers() != null) {
+            members.getMembers().forEach(this::internNames);
+        }
+    }
+
+    /**
+     * The number of Strings the pool has been asked for.
+     */
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    /**
+     * The number of Strings that were replaced by a pooled copy.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * An estimate of the bytes of heap freed by replacing Strings with pooled
+     * copies, assuming compressed references and compact Strings.
+     */
+    public long getBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    /**
+     * The number of distinct Strings in the pool, including any that have been
+     * collected but not yet expunged.
+     */
+    public int size() {
+        int size = 0;
+        for (final var stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,247 @@
+package uk.co.aosd.onto.reference;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.model.Model;
+
+/**
+ * Deep structural comparison of object graphs, for checking that a model
+ * survived a round trip or that two replicas hold the same things.
+ *
+ * <p>
+ * Lombok's generated {@code equals} compares a shared subgraph again each time
+ * it is reached, so a graph in which millions of things share the same events
+ * and languages is compared over and over, and it recurses, so a deeply nested
+ * graph overflows the stack. This comparison walks the two graphs with an
+ * explicit work list, so it works at any depth, and remembers each pair of
+ * objects it has compared, so each shared pair is compared once. A pair is
+ * assumed equal while it is being compared, which also makes cycles safe.
+ * </p>
+ *
+ * <p>
+ * Objects are compared field by field, including inherited fields and
+ * excluding static and transient ones. Strings, boxed primitives, enums,
+ * Comparable values such as Instant and Decimal3f, and JDK classes are
+ * compared with their own {@code equals}. Any two Lists, Sets or Maps are
+ * compared by content whatever their classes, and any two Models by identifier
+ * and things, so a ModelImpl can be compared with a {@link MappedModel}. The
+ * UniquelyIdentifiable members of two Sets are paired by identifier and the
+ * other members, and the keys of Maps, are compared with {@code equals}.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public final class StructuralEquality {
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(final Class<?> type) {
+            final var fields = new ArrayList<Field>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                final var declared = new ArrayList<Field>();
+                for (final var field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                        field.setAccessible(true);
+                        declared.add(field);
+                    }
+                }
+                fields.addAll(0, declared);
+            }
+            return fields.toArray(Field[]::new);
+        }
+    };
+
+    private StructuralEquality() {
+    }
+
+    /**
+     * Compare two object graphs.
+     *
+     * @param a
+     *            Object or null
+     * @param b
+     *            Object or null
+     * @return true if the graphs have the same structure and values.
+     */
+    public static boolean equal(final Object a, final Object b) {
+        return difference(a, b).isEmpty();
+    }
+
+    /**
+     * Find the first difference between two object graphs.
+     *
+     * @param a
+     *            Object or null
+     * @param b
+     *            Object or null
+     * @return the path to a difference, such as
+     *         {@code things[alice].names.members[name1].name}, or empty if the
+     *         graphs are equal.
+     */
+    public static Optional<String> difference(final Object a, final Object b) {
+        final var compared = new HashSet<Pair>();
+        final var work = new ArrayDeque<Pair>();
+        work.push(new Pair(a, b, null, ""));
+        while (!work.isEmpty()) {
+            final var pair = work.pop();
+            final Object x = pair.a;
+            final Object y = pair.b;
+            if (x == y) {
+                continue;
+            }
+            if (x == null || y == null) {
+                return Optional.of(pair.path());
+            }
+            if (compared.add(pair) && !compare(pair, x, y, work)) {
+                return Optional.of(pair.path());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Compare one pair, pushing the pairs it is made of onto the work list.
+     *
+     * @return false if the pair is known to differ.
+     */
+    private static boolean compare(final Pair pair, final Object x, final Object y, final ArrayDeque<Pair> work) {
+        if (x instanceof Model mx && y instanceof Model my) {
+            work.push(new Pair(mx.getThings(), my.getThings(), pair, ".things"));
+            return equalValues(mx.getIdentifier(), my.getIdentifier());
+        }
+        if (x instanceof Set<?> sx && y instanceof Set<?> sy) {
+            return compareSets(pair, sx, sy, work);
+        }
+        if (x instanceof List<?> lx && y instanceof List<?> ly) {
+            if (lx.size() != ly.size()) {
+                return false;
+            }
+            final Iterator<?> ix = lx.iterator();
+            final Iterator<?> iy = ly.iterator();
+            for (int i = 0; ix.hasNext(); i++) {
+                work.push(new Pair(ix.next(), iy.next(), pair, "[" + i + "]"));
+            }
+            return true;
+        }
+        if (x instanceof Map<?, ?> mx && y instanceof Map<?, ?> my) {
+            if (mx.size() != my.size()) {
+                return false;
+            }
+            for (final var entry : mx.entrySet()) {
+                if (!my.containsKey(entry.getKey())) {
+                    return false;
+                }
+                work.push(new Pair(entry.getValue(), my.get(entry.getKey()), pair, "[" + entry.getKey() + "]"));
+            }
+            return true;
+        }
+        final var type = x.getClass();
+        if (type != y.getClass()) {
+            return false;
+        }
+        if (type.isArray()) {
+            final int length = Array.getLength(x);
+            if (length != Array.getLength(y)) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                work.push(new Pair(Array.get(x, i), Array.get(y, i), pair, "[" + i + "]"));
+            }
+            return true;
+        }
+        if (isValue(type)) {
+            return x.equals(y);
+        }
+        try {
+            for (final var field : FIELDS.get(type)) {
+                work.push(new Pair(field.get(x), field.get(y), pair, "." + field.getName()));
+            }
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException("Cannot compare " + type.getName(), e);
+        }
+        return true;
+    }
+
+    private static boolean compareSets(final Pair pair, final Set<?> x, final Set<?> y, final ArrayDeque<Pair> work) {
+        if (x.size() != y.size()) {
+            return false;
+        }
+        final var byIdentifier = new HashMap<String, Object>();
+        final var others = new HashSet<Object>();
+        for (final var member : y) {
+            if (member instanceof UniquelyIdentifiable thing && thing.getIdentifier() != null) {
+                byIdentifier.put(thing.getIdentifier(), thing);
+            } else {
+                others.add(member);
+            }
+        }
+        for (final var member : x) {
+            if (member instanceof UniquelyIdentifiable thing && thing.getIdentifier() != null) {
+                final var match = byIdentifier.remove(thing.getIdentifier());
+                if (match == null) {
+                    return false;
+                }
+                work.push(new Pair(thing, match, pair, "[" + thing.getIdentifier() + "]"));
+            } else if (!others.remove(member)) {
+                return false;
+            }
+        }
+        return byIdentifier.isEmpty() && others.isEmpty();
+    }
+
+    private static boolean isValue(final Class<?> type) {
+        return type.isPrimitive() || type.isEnum() || Comparable.class.isAssignableFrom(type) || type.getModule().isNamed();
+    }
+
+    private static boolean equalValues(final Object x, final Object y) {
+        return x == null ? y == null : x.equals(y);
+    }
+
+    /**
+     * A pair of objects to compare, equal to another pair only if it holds the
+     * same two instances, with the path that led to it.
+     */
+    private static final class Pair {
+        private final Object a;
+        private final Object b;
+        private final Pair parent;
+        private final String step;
+
+        private Pair(final Object a, final Object b, final Pair parent, final String step) {
+            this.a = a;
+            this.b = b;
+            this.parent = parent;
+            this.step = step;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Pair other && a == other.a && b == other.b;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(a) + System.identityHashCode(b);
+        }
+
+        String path() {
+            final var steps = new ArrayDeque<String>();
+            for (Pair p = this; p != null; p = p.parent) {
+                steps.push(p.step);
+            }
+            final var path = String.join("", steps);
+            return path.startsWith(".") ? path.substring(1) : path;
+        }
+    }
+}
@@ -8,6 +8,9 @@ import uk.co.aosd.onto.ownership.Owning;
 import uk.co.aosd.onto.ownership.TransferringOfOwnership;
 import uk.co.aosd.onto.reference.events.TransferredFromImpl;
 import uk.co.aosd.onto.reference.events.TransferredToImpl;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.FrozenTransferringOfOwnership;
 
 /**
  * An implementation of the TransferringOfOwnership interface.
@@ -18,11 +21,17 @@ import uk.co.aosd.onto.reference.events.TransferredToImpl;
 @AllArgsConstructor
 @NoArgsConstructor
 public class TransferringOfOwnershipImpl<A extends Event, B extends Event, C extends Event, D extends Event>
-    implements TransferringOfOwnership<A, B, C, D, TransferredFromImpl, TransferredToImpl> {
+    implements TransferringOfOwnership<A, B, C, D, TransferredFromImpl, TransferredToImpl>, Freezable<FrozenTransferringOfOwnership<A, B, C, D>> {
     private String identifier;
     private String actionsDescription;
     private Owning<A, B, C, D, TransferredFromImpl, TransferredToImpl> from;
     private Owning<A, B, C, D, TransferredFromImpl, TransferredToImpl> to;
     private TransferredFromImpl beginning;
     private TransferredToImpl ending;
+
+    @Override
+    public FrozenTransferringOfOwnership<A, B, C, D> freeze(final Freezer freezer) {
+        return new FrozenTransferringOfOwnership<>(CompactId.key(identifier), actionsDescription, freezer.freezeValue(from),
+            freezer.freezeValue(to), freezer.freeze(beginning), freezer.freeze(ending));
+    }
 }
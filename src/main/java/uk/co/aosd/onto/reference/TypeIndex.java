@@ -0,0 +1,134 @@
+package uk.co.aosd.onto.reference;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+
+/**
+ * A secondary index of the things in a model by type.
+ *
+ * <p>
+ * Things are bucketed by their concrete class when they are added. A query for
+ * an interface or superclass is answered by the union of the buckets whose
+ * class is assignable to it, so each thing is stored once however deep its
+ * type hierarchy is and no query has to scan the model.
+ * </p>
+ *
+ * <p>
+ * The index is safe for concurrent use: buckets are concurrent sets and reads
+ * never take a lock. Buckets are keyed by identifier, like the identifier
+ * index, so indexing a thing never hashes the things it refers to.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+class TypeIndex {
+    private final Map<Class<?>, IdentifierSet<UniquelyIdentifiable>> buckets = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Resolved> resolved = new ConcurrentHashMap<>();
+    // Incremented after a bucket is created, which invalidates every resolved type.
+    private final AtomicInteger generation = new AtomicInteger();
+
+    void add(final UniquelyIdentifiable thing) {
+        var bucket = buckets.get(thing.getClass());
+        if (bucket == null) {
+            final var created = new IdentifierSet<UniquelyIdentifiable>(16, true);
+            bucket = buckets.putIfAbsent(thing.getClass(), created);
+            if (bucket == null) {
+                bucket = created;
+                generation.incrementAndGet();
+            }
+        }
+        bucket.put(thing);
+    }
+
+    void remove(final UniquelyIdentifiable thing) {
+        final var bucket = buckets.get(thing.getClass());
+        if (bucket != null) {
+            bucket.removeExactly(thing);
+        }
+    }
+
+    void clear() {
+        buckets.clear();
+        resolved.clear();
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Get a live, read-only view of the things that are instances of a type.
+     *
+     * @param <T>
+     *            The type of the things.
+     * @param type
+     *            Class of T
+     * @return Set of T
+     */
+    <T> Set<T> getThingsOfType(final Class<T> type) {
+        return new TypedView<>(type);
+    }
+
+    private List<Set<UniquelyIdentifiable>> bucketsOf(final Class<?> type) {
+        final int gen = generation.get();
+        final var current = resolved.get(type);
+        if (current != null && current.generation == gen) {
+            return current.buckets;
+        }
+        final var matching = new ArrayList<Set<UniquelyIdentifiable>>();
+        buckets.forEach((k, v) -> {
+            if (type.isAssignableFrom(k)) {
+                matching.add(Collections.unmodifiableSet(v));
+            }
+        });
+        resolved.put(type, new Resolved(gen, matching));
+        return matching;
+    }
+
+    /**
+     * The buckets that matched a type when the index was at a given generation.
+     */
+    private record Resolved(int generation, List<Set<UniquelyIdentifiable>> buckets) {
+    }
+
+    /**
+     * A read-only Set made up of all of the buckets for a type.
+     */
+    private class TypedView<T> extends AbstractSet<T> {
+        private final Class<T> type;
+
+        TypedView(final Class<T> type) {
+            this.type = type;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            if (!type.isInstance(o)) {
+                return false;
+            }
+            final var bucket = buckets.get(o.getClass());
+            return bucket != null && o.equals(bucket.getByKey(CompactId.key((UniquelyIdentifiable) o)));
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (final var bucket : bucketsOf(type)) {
+                size += bucket.size();
+            }
+            return size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Iterator<T> iterator() {
+            return bucketsOf(type).stream().flatMap(b -> b.stream().map(t -> (T) t)).iterator();
+        }
+    }
+}
@@ -0,0 +1,507 @@
+package uk.co.aosd.onto.reference;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+
+/**
+ * An append-only log of the changes made to a ModelImpl, for recovering the
+ * changes made since the last snapshot after a restart.
+ *
+ * <p>
+ * The log is a directory of numbered segment files. Each record holds its
+ * length, a CRC32C checksum, the identifier of a thing and then, if the thing
+ * was added rather than removed, the thing encoded with {@link BinaryCodec}
+ * together with the names of the classes it uses. A record that is cut short or
+ * fails its checksum, as the last one may after a crash, ends the replay of
+ * its segment. Each time a log is opened it starts a new segment.
+ * </p>
+ *
+ * <p>
+ * Records are written by a single committer thread. Callers queue their
+ * records and wait, and the committer writes everything that has been queued
+ * since its last write and then forces it to disk once for the whole group, so
+ * concurrent writers share the cost of each fsync.
+ * </p>
+ *
+ * <p>
+ * Despite its name the log is written behind the model rather than ahead of
+ * it. A model is changed first and the change is queued to the log while the
+ * model still holds the lock for the identifier of the thing, so the changes to
+ * any one thing are logged in the order they were made. Other threads can see
+ * a change before it has been forced to disk, and by the time the method that
+ * made it returns it has been. If the log cannot be written the method throws,
+ * but the change stays in the model and is lost on recovery. A
+ * {@link ModelImpl#checkpoint} starts a new segment, saves a snapshot and then
+ * deletes the older segments, whose changes are all in the snapshot. Changes
+ * logged in the newer segments may be in the snapshot too, which is harmless
+ * because replaying an add or remove that has already been applied has no
+ * effect.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public final class WriteAheadLog implements Closeable {
+    static final byte ADD = 1;
+    static final byte REMOVE = 2;
+
+    private static final String SUFFIX = ".wal";
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private final Path directory;
+    private final Object queueLock = new Object();
+    private final ReentrantLock fileLock = new ReentrantLock();
+    private final Thread committer;
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong records = new AtomicLong();
+    private List<Pending> queue = new ArrayList<>();
+    private boolean closed;
+    private FileChannel channel;
+    private long segment;
+
+    private WriteAheadLog(final Path directory, final long segment) throws IOException {
+        this.directory = directory;
+        this.segment = segment;
+        this.channel = openSegment(segment);
+        this.committer = new Thread(this::commitLoop, "WriteAheadLog committer " + directory);
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * Open a log in a directory, creating the directory if it does not exist.
+     * Records are appended to a new segment after any that are already there.
+     *
+     * @param directory
+     *            Path
+     * @return WriteAheadLog
+     * @throws IOException
+     *             if the directory cannot be read or the segment created.
+     */
+    public static WriteAheadLog open(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        final var existing = segments(directory);
+        return new WriteAheadLog(directory, existing.isEmpty() ? 1L : number(existing.get(existing.size() - 1)) + 1L);
+    }
+
+    /**
+     * Apply the changes recorded in a log directory to a model, in order.
+     *
+     * @param directory
+     *            Path, which need not exist.
+     * @param model
+     *            ModelImpl, which should not have a log attached.
+     * @return the number of records replayed.
+     * @throws IOException
+     *             if the log cannot be read or refers to a thing it never added.
+     */
+    public static long replay(final Path directory, final ModelImpl model) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0L;
+        }
+        long replayed = 0L;
+        final var replay = new Replay(model);
+        for (final var segment : segments(directory)) {
+            final var in = ByteBuffer.wrap(Files.readAllBytes(segment));
+            final var checksum = new CRC32C();
+            while (in.remaining() >= RECORD_HEADER_SIZE) {
+                final int length = in.getInt();
+                final int crc = in.getInt();
+                if (length < 1 || length > in.remaining()) {
+                    break;
+                }
+                final var payload = in.slice(in.position(), length);
+                checksum.reset();
+                checksum.update(payload.duplicate());
+                if ((int) checksum.getValue() != crc) {
+                    break;
+                }
+                in.position(in.position() + length);
+                replay.apply(payload);
+                replayed++;
+            }
+        }
+        if (!replay.deferred.isEmpty()) {
+            throw new IOException(replay.deferred.size() + " records in " + directory + " refer to things that are not in the model");
+        }
+        return replayed;
+    }
+
+    /**
+     * Queue the records that things were added to a model.
+     *
+     * @param things
+     *            List of UniquelyIdentifiable
+     * @param isInModel
+     *            Whether a thing held by one of the things is in the model, in
+     *            which case it is logged as a reference to its identifier.
+     * @return a future that completes once the records have been forced to disk,
+     *         see {@link #await}.
+     */
+    CompletableFuture<Void> logAdded(final List<? extends UniquelyIdentifiable> things, final Predicate<UniquelyIdentifiable> isInModel) {
+        final var payloads = new ArrayList<byte[]>(things.size());
+        for (final var thing : things) {
+            final var classes = new BinaryCodec.ClassTable();
+            final var body = new BinaryCodec.Encoder(classes, t -> t != thing && isInModel.test(t));
+            body.writeThing(thing);
+            final var header = new BinaryCodec.Encoder(classes, t -> false);
+            header.writeString(thing.getIdentifier());
+            header.writeClassTable(classes);
+            final var payload = new byte[1 + header.size() + body.size()];
+            payload[0] = ADD;
+            System.arraycopy(header.bytes(), 0, payload, 1, header.size());
+            System.arraycopy(body.bytes(), 0, payload, 1 + header.size(), body.size());
+            payloads.add(payload);
+        }
+        return enqueue(payloads);
+    }
+
+    /**
+     * Queue the record that a thing was removed from a model.
+     *
+     * @param identifier
+     *            String
+     * @return a future that completes once the record has been forced to disk,
+     *         see {@link #await}.
+     */
+    CompletableFuture<Void> logRemoved(final String identifier) {
+        final var encoder = new BinaryCodec.Encoder(new BinaryCodec.ClassTable(), t -> false);
+        encoder.writeString(identifier);
+        final var payload = new byte[1 + encoder.size()];
+        payload[0] = REMOVE;
+        System.arraycopy(encoder.bytes(), 0, payload, 1, encoder.size());
+        return enqueue(List.of(payload));
+    }
+
+    /**
+     * Wait until queued records have been forced to disk.
+     *
+     * @param done
+     *            The future returned when the records were queued, or null if
+     *            nothing was queued.
+     * @throws UncheckedIOException
+     *             if the records could not be written.
+     * @throws IllegalStateException
+     *             if the log was closed before they were.
+     */
+    static void await(final CompletableFuture<Void> done) {
+        if (done == null) {
+            return;
+        }
+        try {
+            done.join();
+        } catch (final CompletionException e) {
+            throw e.getCause() instanceof RuntimeException r ? r : e;
+        }
+    }
+
+    /**
+     * Start a new segment. Records queued after this call are written to the new
+     * segment.
+     *
+     * @return the number of the new segment.
+     * @throws IOException
+     *             if the new segment cannot be created.
+     */
+    long rotate() throws IOException {
+        fileLock.lock();
+        try {
+            final var next = openSegment(segment + 1);
+            channel.close();
+            channel = next;
+            segment++;
+            return segment;
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    /**
+     * Delete the segments before a segment.
+     *
+     * @param number
+     *            long
+     * @throws IOException
+     *             if a segment cannot be deleted.
+     */
+    void deleteSegmentsBefore(final long number) throws IOException {
+        for (final var path : segments(directory)) {
+            if (number(path) < number) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Get the number of group commits, each of which forced one batch of records
+     * to disk.
+     *
+     * @return long
+     */
+    public long getCommits() {
+        return commits.get();
+    }
+
+    /**
+     * Get the number of records written.
+     *
+     * @return long
+     */
+    public long getRecords() {
+        return records.get();
+    }
+
+    /**
+     * Write any queued records and close the log.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (queueLock) {
+            closed = true;
+            queueLock.notifyAll();
+        }
+        try {
+            committer.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        fileLock.lock();
+        try {
+            channel.close();
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(final List<byte[]> payloads) {
+        final var pending = new Pending(payloads, new CompletableFuture<>());
+        synchronized (queueLock) {
+            if (closed) {
+                throw new IllegalStateException("The log in " + directory + " is closed.");
+            }
+            queue.add(pending);
+            queueLock.notifyAll();
+        }
+        return pending.done;
+    }
+
+    private void commitLoop() {
+        while (true) {
+            final List<Pending> batch;
+            synchronized (queueLock) {
+                while (queue.isEmpty() && !closed) {
+                    try {
+                        queueLock.wait();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        shutDown();
+                        return;
+                    }
+                }
+                if (queue.isEmpty()) {
+                    return;
+                }
+                batch = queue;
+                queue = new ArrayList<>();
+            }
+            try {
+                write(batch);
+                batch.forEach(p -> p.done.complete(null));
+            } catch (final IOException e) {
+                final var failure = new UncheckedIOException("Cannot write to the log in " + directory, e);
+                batch.forEach(p -> p.done.completeExceptionally(failure));
+                if (Thread.currentThread().isInterrupted()) {
+                    synchronized (queueLock) {
+                        shutDown();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Close the log when the committer is interrupted, failing everything that is
+     * still queued so that no caller waits for a commit that will never happen.
+     * The caller must hold the queue lock.
+     */
+    private void shutDown() {
+        closed = true;
+        final var failure = new IllegalStateException("The committer of the log in " + directory + " was interrupted.");
+        queue.forEach(p -> p.done.completeExceptionally(failure));
+        queue = new ArrayList<>();
+    }
+
+    private void write(final List<Pending> batch) throws IOException {
+        final var buffers = new ArrayList<ByteBuffer>();
+        final var checksum = new CRC32C();
+        for (final var pending : batch) {
+            for (final var payload : pending.payloads) {
+                checksum.reset();
+                checksum.update(payload);
+                buffers.add(ByteBuffer.allocate(RECORD_HEADER_SIZE).putInt(payload.length).putInt((int) checksum.getValue()).flip());
+                buffers.add(ByteBuffer.wrap(payload));
+            }
+        }
+        final var array = buffers.toArray(ByteBuffer[]::new);
+        fileLock.lock();
+        try {
+            long remaining = 0L;
+            for (final var buffer : array) {
+                remaining += buffer.remaining();
+            }
+            while (remaining > 0) {
+                remaining -= channel.write(array);
+            }
+            channel.force(false);
+        } finally {
+            fileLock.unlock();
+        }
+        commits.incrementAndGet();
+        records.addAndGet(array.length / 2);
+    }
+
+    private FileChannel openSegment(final long number) throws IOException {
+        return FileChannel.open(directory.resolve(String.format("%020d%s", number, SUFFIX)), StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.WRITE);
+    }
+
+    private static List<Path> segments(final Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+    }
+
+    private static long number(final Path segment) {
+        final var name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Records queued by one caller.
+     */
+    private record Pending(List<byte[]> payloads, CompletableFuture<Void> done) {
+    }
+
+    /**
+     * Applies the records of a log to a model in order.
+     *
+     * <p>
+     * A thing can be logged just before one it refers to when both are added
+     * concurrently. Such a record is deferred until the thing it refers to has
+     * been added, and is then applied straight away, before any later record. A
+     * later record for the same thing, either adding or removing it, replaces a
+     * deferred one, so a thing that was removed does not come back.
+     * </p>
+     */
+    private static final class Replay {
+        private final ModelImpl model;
+        private final Map<String, ByteBuffer> deferred = new HashMap<>();
+        private final Map<String, List<ByteBuffer>> waiting = new HashMap<>();
+
+        Replay(final ModelImpl model) {
+            this.model = model;
+        }
+
+        void apply(final ByteBuffer payload) {
+            final var in = payload.duplicate();
+            final byte op = in.get();
+            final var identifier = new BinaryCodec.Decoder(in, null, null).readString();
+            deferred.remove(identifier);
+            if (op == REMOVE) {
+                model.remove(identifier);
+                return;
+            }
+            final var missing = add(in);
+            if (missing != null) {
+                defer(identifier, payload, missing);
+                return;
+            }
+            final var added = new ArrayDeque<String>();
+            added.add(identifier);
+            while (!added.isEmpty()) {
+                final var ready = waiting.remove(added.poll());
+                if (ready == null) {
+                    continue;
+                }
+                for (final var record : ready) {
+                    final var retry = record.duplicate();
+                    retry.get();
+                    final var id = new BinaryCodec.Decoder(retry, null, null).readString();
+                    if (deferred.get(id) != record) {
+                        continue;
+                    }
+                    final var stillMissing = add(retry);
+                    if (stillMissing == null) {
+                        deferred.remove(id);
+                        added.add(id);
+                    } else {
+                        defer(id, record, stillMissing);
+                    }
+                }
+            }
+        }
+
+        private void defer(final String identifier, final ByteBuffer payload, final String missing) {
+            deferred.put(identifier, payload);
+            waiting.computeIfAbsent(missing, k -> new ArrayList<>()).add(payload);
+        }
+
+        /**
+         * Add the thing in an ADD record to the model.
+         *
+         * @return null, or the identifier of a thing it refers to that is not in the
+         *         model yet.
+         */
+        private String add(final ByteBuffer in) {
+            final BinaryCodec.ClassTable classes;
+            try {
+                classes = new BinaryCodec.Decoder(in, null, null).readClassTable();
+            } catch (final ClassNotFoundException | InvalidClassException e) {
+                throw new IllegalStateException("Cannot load a class used in the log", e);
+            }
+            final var decoder = new BinaryCodec.Decoder(in, classes, id -> model.getThing(id).orElseThrow(() -> new Unresolved(id)));
+            try {
+                model.add((UniquelyIdentifiable) decoder.readValue());
+                return null;
+            } catch (final Unresolved e) {
+                return e.identifier;
+            }
+        }
+    }
+
+    /**
+     * Thrown while replaying a record that refers to a thing not yet in the
+     * model.
+     */
+    private static final class Unresolved extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final String identifier;
+
+        Unresolved(final String identifier) {
+            super(null, null, false, false);
+            this.identifier = identifier;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package uk.co.aosd.onto.reference.events;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Getter;
+
+/**
+ * The mutable events, which hold their bounds as primitive epoch seconds and
+ * nanoseconds rather than as Instants.
+ *
+ * <p>
+ * An Instant is a separate object of 24 bytes plus a reference to it, so an
+ * event with two Instants takes 72 bytes where an AbstractEvent takes 48,
+ * including the mark that {@link EventInterner} sets on shared events. The
+ * bounds are still read and written as Instants by {@link #getFrom},
+ * {@link #setFrom}, {@link #getTo} and {@link #setTo}, so the JSON form is
+ * unchanged. A bound that is not known has a nanosecond part of
+ * {@link EpochEvent#NONE}.
+ * </p>
+ *
+ * <p>
+ * The Instant given to a setter is not kept. Each call to {@link #getFrom} or
+ * {@link #getTo} creates a new Instant that is equal to it but not the same
+ * object, so bounds must be compared with equals rather than ==. Code that
+ * reads many bounds, such as the lifetime index and the binary codec, uses the
+ * epoch fields and creates no Instants.
+ * </p>
+ *
+ * <p>
+ * Two events are equal if they are of the same class and have the same
+ * identifier and bounds.
+ * </p>
+ *
+ * <p>
+ * The events shared by {@link EventInterner} are copies marked as shared,
+ * whose setters throw UnsupportedOperationException. The mark is transient, so
+ * a shared event is equal to the event it was copied from, and is written and
+ * read back as an ordinary event.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+@JsonPropertyOrder({ "identifier", "from", "to" })
+public abstract class AbstractEvent implements EpochEvent, Cloneable {
+    @Getter
+    private String identifier;
+    private long fromEpochSecond;
+    private int fromNano = NONE;
+    private long toEpochSecond;
+    private int toNano = NONE;
+    private transient boolean shared;
+
+    protected AbstractEvent() {
+    }
+
+    protected AbstractEvent(final String identifier, final Instant from, final Instant to) {
+        this.identifier = identifier;
+        this.fromEpochSecond = from == null ? 0L : from.getEpochSecond();
+        this.fromNano = from == null ? NONE : from.getNano();
+        this.toEpochSecond = to == null ? 0L : to.getEpochSecond();
+        this.toNano = to == null ? NONE : to.getNano();
+    }
+
+    public void setIdentifier(final String identifier) {
+        checkNotShared();
+        this.identifier = identifier;
+    }
+
+    @Override
+    public Instant getFrom() {
+        return fromNano == NONE ? null : Instant.ofEpochSecond(fromEpochSecond, fromNano);
+    }
+
+    public void setFrom(final Instant from) {
+        checkNotShared();
+        this.fromEpochSecond = from == null ? 0L : from.getEpochSecond();
+        this.fromNano = from == null ? NONE : from.getNano();
+    }
+
+    @Override
+    public Instant getTo() {
+        return toNano == NONE ? null : Instant.ofEpochSecond(toEpochSecond, toNano);
+    }
+
+    public void setTo(final Instant to) {
+        checkNotShared();
+        this.toEpochSecond = to == null ? 0L : to.getEpochSecond();
+        this.toNano = to == null ? NONE : to.getNano();
+    }
+
+    @JsonIgnore
+    @Override
+    public long getFromEpochSecond() {
+        return fromEpochSecond;
+    }
+
+    @JsonIgnore
+    @Override
+    public int getFromNano() {
+        return fromNano;
+    }
+
+    @JsonIgnore
+    @Override
+    public long getToEpochSecond() {
+        return toEpochSecond;
+    }
+
+    @JsonIgnore
+    @Override
+    public int getToNano() {
+        return toNano;
+    }
+
+    /**
+     * Create a copy of this event that cannot be changed, for
+     * {@link EventInterner} to share.
+     *
+     * @return a shared copy, or this event if it is already shared.
+     */
+    AbstractEvent share() {
+        if (shared) {
+            return this;
+        }
+        try {
+            final var copy = (AbstractEvent) clone();
+            copy.shared = true;
+            return copy;
+        } catch (final CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void checkNotShared() {
+        if (shared) {
+            throw new UnsupportedOperationException(this + " is shared and cannot be changed");
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o == null || o.getClass() != getClass()) {
+            return false;
+        }
+        final var other = (AbstractEvent) o;
+        return fromEpochSecond == other.fromEpochSecond && fromNano == other.fromNano && toEpochSecond == other.toEpochSecond
+            && toNano == other.toNano && (identifier == null ? other.identifier == null : identifier.equals(other.identifier));
+    }
+
+    @Override
+    public int hashCode() {
+        int h = identifier == null ? 43 : identifier.hashCode();
+        h = 31 * h + Long.hashCode(fromEpochSecond);
+        h = 31 * h + fromNano;
+        h = 31 * h + Long.hashCode(toEpochSecond);
+        return 31 * h + toNano;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(identifier=" + identifier + ", from=" + getFrom() + ", to=" + getTo() + ")";
+    }
+}
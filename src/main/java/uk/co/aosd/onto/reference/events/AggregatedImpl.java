@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Aggregated;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenAggregated;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class AggregatedImpl implements Aggregated {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class AggregatedImpl extends AbstractEvent implements Aggregated, Freezable<FrozenAggregated> {
+
+    public AggregatedImpl() {
+    }
+
+    public AggregatedImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenAggregated freeze(final Freezer freezer) {
+        return new FrozenAggregated(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,22 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Appointed;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenAppointed;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class AppointedImpl implements Appointed {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class AppointedImpl extends AbstractEvent implements Appointed, Freezable<FrozenAppointed> {
 
+    public AppointedImpl() {
+    }
+
+    public AppointedImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenAppointed freeze(final Freezer freezer) {
+        return new FrozenAppointed(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Assembled;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenAssembled;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class AssembledImpl implements Assembled {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class AssembledImpl extends AbstractEvent implements Assembled, Freezable<FrozenAssembled> {
+
+    public AssembledImpl() {
+    }
+
+    public AssembledImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenAssembled freeze(final Freezer freezer) {
+        return new FrozenAssembled(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
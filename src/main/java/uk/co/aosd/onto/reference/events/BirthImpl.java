@@ -2,22 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Birth;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenBirth;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class BirthImpl implements Birth {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class BirthImpl extends AbstractEvent implements Birth, Freezable<FrozenBirth> {
 
+    public BirthImpl() {
+    }
+
+    public BirthImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenBirth freeze(final Freezer freezer) {
+        return new FrozenBirth(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Bought;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenBought;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class BoughtImpl implements Bought {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class BoughtImpl extends AbstractEvent implements Bought, Freezable<FrozenBought> {
+
+    public BoughtImpl() {
+    }
+
+    public BoughtImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenBought freeze(final Freezer freezer) {
+        return new FrozenBought(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
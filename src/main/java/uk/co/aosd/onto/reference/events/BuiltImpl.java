@@ -2,22 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Built;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenBuilt;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class BuiltImpl implements Built {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class BuiltImpl extends AbstractEvent implements Built, Freezable<FrozenBuilt> {
 
+    public BuiltImpl() {
+    }
+
+    public BuiltImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenBuilt freeze(final Freezer freezer) {
+        return new FrozenBuilt(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Changed;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenChanged;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class ChangedImpl implements Changed {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class ChangedImpl extends AbstractEvent implements Changed, Freezable<FrozenChanged> {
+
+    public ChangedImpl() {
+    }
+
+    public ChangedImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenChanged freeze(final Freezer freezer) {
+        return new FrozenChanged(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,22 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Created;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenCreated;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class CreatedImpl implements Created {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class CreatedImpl extends AbstractEvent implements Created, Freezable<FrozenCreated> {
 
+    public CreatedImpl() {
+    }
+
+    public CreatedImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenCreated freeze(final Freezer freezer) {
+        return new FrozenCreated(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,22 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Death;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenDeath;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class DeathImpl implements Death {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class DeathImpl extends AbstractEvent implements Death, Freezable<FrozenDeath> {
 
+    public DeathImpl() {
+    }
+
+    public DeathImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenDeath freeze(final Freezer freezer) {
+        return new FrozenDeath(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
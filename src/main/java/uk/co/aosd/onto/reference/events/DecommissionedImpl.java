@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Decommissioned;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenDecommissioned;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class DecommissionedImpl implements Decommissioned {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class DecommissionedImpl extends AbstractEvent implements Decommissioned, Freezable<FrozenDecommissioned> {
+
+    public DecommissionedImpl() {
+    }
+
+    public DecommissionedImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenDecommissioned freeze(final Freezer freezer) {
+        return new FrozenDecommissioned(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
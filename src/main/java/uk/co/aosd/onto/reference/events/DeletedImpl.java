@@ -2,22 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Deleted;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenDeleted;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class DeletedImpl implements Deleted {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class DeletedImpl extends AbstractEvent implements Deleted, Freezable<FrozenDeleted> {
 
+    public DeletedImpl() {
+    }
+
+    public DeletedImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenDeleted freeze(final Freezer freezer) {
+        return new FrozenDeleted(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,22 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Destroyed;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenDestroyed;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class DestroyedImpl implements Destroyed {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class DestroyedImpl extends AbstractEvent implements Destroyed, Freezable<FrozenDestroyed> {
 
+    public DestroyedImpl() {
+    }
+
+    public DestroyedImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenDestroyed freeze(final Freezer freezer) {
+        return new FrozenDestroyed(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Disaggregated;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenDisaggregated;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class DisaggregatedImpl implements Disaggregated {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class DisaggregatedImpl extends AbstractEvent implements Disaggregated, Freezable<FrozenDisaggregated> {
+
+    public DisaggregatedImpl() {
+    }
+
+    public DisaggregatedImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenDisaggregated freeze(final Freezer freezer) {
+        return new FrozenDisaggregated(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
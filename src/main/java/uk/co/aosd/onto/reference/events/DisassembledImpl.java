@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Disassembled;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenDisassembled;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class DisassembledImpl implements Disassembled {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class DisassembledImpl extends AbstractEvent implements Disassembled, Freezable<FrozenDisassembled> {
+
+    public DisassembledImpl() {
+    }
+
+    public DisassembledImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenDisassembled freeze(final Freezer freezer) {
+        return new FrozenDisassembled(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Dissolved;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenDissolved;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class DissolvedImpl implements Dissolved {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class DissolvedImpl extends AbstractEvent implements Dissolved, Freezable<FrozenDissolved> {
+
+    public DissolvedImpl() {
+    }
+
+    public DissolvedImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenDissolved freeze(final Freezer freezer) {
+        return new FrozenDissolved(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
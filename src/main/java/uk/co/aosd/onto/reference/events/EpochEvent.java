@@ -0,0 +1,36 @@
+package uk.co.aosd.onto.reference.events;
+
+import uk.co.aosd.onto.foundation.Event;
+
+/**
+ * An Event that holds its bounds as seconds and nanoseconds since the epoch
+ * rather than as Instants, so that they can be read and compared without
+ * creating an Instant.
+ *
+ * @author Tony Walmsley
+ */
+public interface EpochEvent extends Event {
+
+    /**
+     * The nanosecond part of a bound that is not known.
+     */
+    int NONE = -1;
+
+    long getFromEpochSecond();
+
+    /**
+     * Get the nanosecond part of the from bound.
+     *
+     * @return 0 to 999,999,999, or {@link #NONE} if the bound is not known.
+     */
+    int getFromNano();
+
+    long getToEpochSecond();
+
+    /**
+     * Get the nanosecond part of the to bound.
+     *
+     * @return 0 to 999,999,999, or {@link #NONE} if the bound is not known.
+     */
+    int getToNano();
+}
@@ -0,0 +1,173 @@
+package uk.co.aosd.onto.reference.events;
+
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.co.aosd.onto.foundation.Event;
+
+/**
+ * Shares event instances that are the same.
+ *
+ * <p>
+ * Events are the most numerous objects in a large model, and many of them are
+ * the same: a model read from JSON has a separate copy of an event for each
+ * thing that refers to it, every ownership that has not ended yet ends with a
+ * TransferredTo whose bounds are both unknown, and many people are born on the
+ * same day. {@link #intern} returns one canonical instance for each event, so
+ * the others can be garbage collected. {@link #openEnded} returns a single event
+ * of each type whose bounds are both unknown.
+ * </p>
+ *
+ * <p>
+ * The events handed out are copies that cannot be changed, so that changing
+ * one thing's event can never change another's: their setters throw
+ * UnsupportedOperationException. A shared copy is equal to the event it was
+ * copied from. Only the event classes of this package are shared, as the
+ * setters of a subclass elsewhere or of another implementation of Event could
+ * still change them, so those events are returned unchanged.
+ * </p>
+ *
+ * <p>
+ * By default only events of the same type with the same identifier and bounds
+ * are shared. An EventInterner created to merge identifiers shares all events
+ * of the same type and bounds, with the identifier of the first one it was
+ * given, which is only right when the identifiers of the events do not matter,
+ * as with those made up by {@link uk.co.aosd.onto.reference.OntologyServicesImpl#transferOwnership}.
+ * An EventInterner is safe for concurrent use.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public final class EventInterner {
+    private static final ClassValue<Event> OPEN_ENDED = new ClassValue<>() {
+        @Override
+        protected Event computeValue(final Class<?> type) {
+            final var identifier = UUID.nameUUIDFromBytes(("open-ended " + type.getName()).getBytes(StandardCharsets.UTF_8)).toString();
+            final Object event;
+            try {
+                event = type.getConstructor(String.class, Instant.class, Instant.class).newInstance(identifier, null, null);
+            } catch (final NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalArgumentException(type.getName() + " needs a public (String, Instant, Instant) constructor", e);
+            }
+            final var shared = share(event);
+            if (shared == null) {
+                throw new IllegalArgumentException(type.getName() + " cannot be shared");
+            }
+            return shared;
+        }
+    };
+
+    private final boolean mergeIdentifiers;
+    private final Map<Key, Event> canonical = new ConcurrentHashMap<>();
+
+    /**
+     * Create an EventInterner that shares events with the same type, identifier
+     * and bounds.
+     */
+    public EventInterner() {
+        this(false);
+    }
+
+    /**
+     * Create an EventInterner.
+     *
+     * @param mergeIdentifiers
+     *            True to share events with the same type and bounds whatever
+     *            their identifiers, false to share only those with the same
+     *            identifier as well.
+     */
+    public EventInterner(final boolean mergeIdentifiers) {
+        this.mergeIdentifiers = mergeIdentifiers;
+    }
+
+    /**
+     * Get the shared event of a type whose bounds are both unknown, such as the
+     * ending of an ownership that has not ended yet. All of the open-ended
+     * events of a type have the same identifier.
+     *
+     * @param <E>
+     *            The event type.
+     * @param type
+     *            One of the event classes in this package, such as
+     *            TransferredToImpl.
+     * @return E, which cannot be changed.
+     */
+    public static <E extends Event> E openEnded(final Class<E> type) {
+        return type.cast(OPEN_ENDED.get(type));
+    }
+
+    /**
+     * Whether events with different identifiers are shared.
+     *
+     * @return boolean
+     */
+    public boolean mergesIdentifiers() {
+        return mergeIdentifiers;
+    }
+
+    /**
+     * Get the canonical event for an event.
+     *
+     * @param <E>
+     *            The event type.
+     * @param event
+     *            E or null
+     * @return a copy of the first event interned with the same type and bounds,
+     *         and identifier unless identifiers are merged, which cannot be
+     *         changed, or the event itself if its class cannot be shared, or
+     *         null.
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Event> E intern(final E event) {
+        if (!(event instanceof AbstractEvent)) {
+            return event;
+        }
+        final var key = new Key(event.getClass(), mergeIdentifiers ? null : event.getIdentifier(), event.getFrom(), event.getTo());
+        final var found = canonical.get(key);
+        if (found != null) {
+            return (E) found;
+        }
+        final var shared = share(event);
+        if (shared == null) {
+            return event;
+        }
+        final var existing = canonical.putIfAbsent(key, shared);
+        return (E) (existing != null ? existing : shared);
+    }
+
+    /**
+     * Get the number of canonical events.
+     *
+     * @return int
+     */
+    public int size() {
+        return canonical.size();
+    }
+
+    /**
+     * Forget the canonical events, so that they can be garbage collected once
+     * nothing else refers to them.
+     */
+    public void clear() {
+        canonical.clear();
+    }
+
+    /**
+     * Copy an event into one of the same class that cannot be changed.
+     *
+     * @return the shared event, or null if the event cannot be shared.
+     */
+    private static Event share(final Object event) {
+        if (event instanceof AbstractEvent e && event.getClass().getPackageName().equals(EventInterner.class.getPackageName())) {
+            return e.share();
+        }
+        return null;
+    }
+
+    private record Key(Class<?> type, String identifier, Instant from, Instant to) {
+    }
+}
@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Formed;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenFormed;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class FormedImpl implements Formed {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class FormedImpl extends AbstractEvent implements Formed, Freezable<FrozenFormed> {
+
+    public FormedImpl() {
+    }
+
+    public FormedImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenFormed freeze(final Freezer freezer) {
+        return new FrozenFormed(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Installed;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenInstalled;
 
 /**
  * An implementation of the Installed interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class InstalledImpl implements Installed {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class InstalledImpl extends AbstractEvent implements Installed, Freezable<FrozenInstalled> {
+
+    public InstalledImpl() {
+    }
+
+    public InstalledImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenInstalled freeze(final Freezer freezer) {
+        return new FrozenInstalled(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Removed;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenRemoved;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class RemovedImpl implements Removed {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class RemovedImpl extends AbstractEvent implements Removed, Freezable<FrozenRemoved> {
+
+    public RemovedImpl() {
+    }
+
+    public RemovedImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenRemoved freeze(final Freezer freezer) {
+        return new FrozenRemoved(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Resignified;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenResignified;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class ResignifiedImpl implements Resignified {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class ResignifiedImpl extends AbstractEvent implements Resignified, Freezable<FrozenResignified> {
+
+    public ResignifiedImpl() {
+    }
+
+    public ResignifiedImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenResignified freeze(final Freezer freezer) {
+        return new FrozenResignified(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
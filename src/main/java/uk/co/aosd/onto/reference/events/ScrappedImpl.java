@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Scrapped;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenScrapped;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class ScrappedImpl implements Scrapped {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class ScrappedImpl extends AbstractEvent implements Scrapped, Freezable<FrozenScrapped> {
+
+    public ScrappedImpl() {
+    }
+
+    public ScrappedImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenScrapped freeze(final Freezer freezer) {
+        return new FrozenScrapped(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Sold;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenSold;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class SoldImpl implements Sold {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class SoldImpl extends AbstractEvent implements Sold, Freezable<FrozenSold> {
+
+    public SoldImpl() {
+    }
+
+    public SoldImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenSold freeze(final Freezer freezer) {
+        return new FrozenSold(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Started;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenStarted;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class StartedImpl implements Started {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class StartedImpl extends AbstractEvent implements Started, Freezable<FrozenStarted> {
+
+    public StartedImpl() {
+    }
+
+    public StartedImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenStarted freeze(final Freezer freezer) {
+        return new FrozenStarted(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.Stopped;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenStopped;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class StoppedImpl implements Stopped {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class StoppedImpl extends AbstractEvent implements Stopped, Freezable<FrozenStopped> {
+
+    public StoppedImpl() {
+    }
+
+    public StoppedImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenStopped freeze(final Freezer freezer) {
+        return new FrozenStopped(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
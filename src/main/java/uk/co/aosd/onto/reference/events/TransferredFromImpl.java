@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.TransferredFrom;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenTransferredFrom;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class TransferredFromImpl implements TransferredFrom {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class TransferredFromImpl extends AbstractEvent implements TransferredFrom, Freezable<FrozenTransferredFrom> {
+
+    public TransferredFromImpl() {
+    }
+
+    public TransferredFromImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenTransferredFrom freeze(final Freezer freezer) {
+        return new FrozenTransferredFrom(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -2,21 +2,28 @@ package uk.co.aosd.onto.reference.events;
 
 import java.time.Instant;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import uk.co.aosd.onto.events.TransferredTo;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.frozen.Freezer;
+import uk.co.aosd.onto.reference.frozen.events.FrozenTransferredTo;
 
 /**
  * An implementation of an extension to the Event interface.
  *
  * @author Tony Walmsley
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class TransferredToImpl implements TransferredTo {
-    private String identifier;
-    private Instant from;
-    private Instant to;
+public class TransferredToImpl extends AbstractEvent implements TransferredTo, Freezable<FrozenTransferredTo> {
+
+    public TransferredToImpl() {
+    }
+
+    public TransferredToImpl(final String identifier, final Instant from, final Instant to) {
+        super(identifier, from, to);
+    }
+
+    @Override
+    public FrozenTransferredTo freeze(final Freezer freezer) {
+        return new FrozenTransferredTo(CompactId.key(getIdentifier()), getFrom(), getTo());
+    }
 }
@@ -0,0 +1,30 @@
+package uk.co.aosd.onto.reference.frozen;
+
+/**
+ * A mutable reference implementation that has an immutable equivalent.
+ *
+ * @param <F>
+ *            The immutable type.
+ * @author Tony Walmsley
+ */
+public interface Freezable<F> {
+
+    /**
+     * Make an immutable copy of this and of everything it refers to.
+     *
+     * @return F
+     */
+    default F freeze() {
+        return new Freezer().freeze(this);
+    }
+
+    /**
+     * Make an immutable copy using a Freezer, so that things shared with other
+     * frozen copies are only frozen once.
+     *
+     * @param freezer
+     *            Freezer
+     * @return F
+     */
+    F freeze(Freezer freezer);
+}
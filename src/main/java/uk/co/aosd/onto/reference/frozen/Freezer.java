@@ -0,0 +1,109 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.reference.IdentifierSet;
+
+/**
+ * Turns graphs of the mutable reference implementation classes into their
+ * immutable Frozen equivalents.
+ *
+ * <p>
+ * The mutable classes use Lombok's generated {@code hashCode}, which visits
+ * every field each time it is called, so finding a Human in a HashSet hashes
+ * its names, languages and everything they hold in turn. The Frozen classes
+ * cannot change, so each one works out its hash code once and keeps it, and
+ * hashing a frozen graph after the first time costs one field read per thing.
+ * They also hold UUID identifiers as {@link uk.co.aosd.onto.reference.CompactId}s
+ * and only make the String form when it is asked for.
+ * </p>
+ *
+ * <p>
+ * A Freezer remembers what it has frozen, so a thing that is referred to from
+ * many places is frozen once and the copies share it. Use one Freezer for a
+ * whole model, see {@link uk.co.aosd.onto.reference.ModelImpl#freeze}. Sets,
+ * Lists and Maps are copied into unmodifiable collections of frozen values,
+ * keeping IdentifierSets as IdentifierSets, and values that are neither
+ * Freezable nor collections are shared as they are. A Freezer is not safe for
+ * concurrent use and reference cycles are not supported.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public final class Freezer {
+    private final Map<Object, Object> frozen = new IdentityHashMap<>();
+
+    /**
+     * Freeze a mutable thing.
+     *
+     * @param <F>
+     *            The immutable type.
+     * @param thing
+     *            Freezable or null
+     * @return F or null
+     */
+    @SuppressWarnings("unchecked")
+    public <F> F freeze(final Freezable<F> thing) {
+        if (thing == null) {
+            return null;
+        }
+        final var found = frozen.get(thing);
+        if (found != null) {
+            return (F) found;
+        }
+        final var copy = thing.freeze(this);
+        frozen.put(thing, copy);
+        return copy;
+    }
+
+    /**
+     * Freeze a value of any type. The result has the same static type as the
+     * field it is assigned to, which holds at run time because the Frozen
+     * classes implement the same interfaces as the mutable classes.
+     *
+     * @param <T>
+     *            The type expected.
+     * @param value
+     *            Object or null
+     * @return T or null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T freezeValue(final Object value) {
+        if (value instanceof Freezable<?> thing) {
+            return (T) freeze(thing);
+        }
+        if (value instanceof IdentifierSet<?> set) {
+            final var copy = new IdentifierSet<UniquelyIdentifiable>(set.size(), false);
+            set.forEach(member -> copy.add(freezeValue(member)));
+            return (T) Collections.unmodifiableSet(copy);
+        }
+        if (value instanceof Set<?> set) {
+            return (T) Collections.unmodifiableSet(freezeAll(set, new LinkedHashSet<>((int) (set.size() / 0.75f) + 1)));
+        }
+        if (value instanceof List<?> list) {
+            return (T) Collections.unmodifiableList(freezeAll(list, new ArrayList<>(list.size())));
+        }
+        if (value instanceof Map<?, ?> map) {
+            final var copy = new LinkedHashMap<>((int) (map.size() / 0.75f) + 1);
+            map.forEach((k, v) -> copy.put(freezeValue(k), freezeValue(v)));
+            return (T) Collections.unmodifiableMap(copy);
+        }
+        return (T) value;
+    }
+
+    private <C extends Collection<Object>> C freezeAll(final Collection<?> values, final C copy) {
+        for (final var value : values) {
+            copy.add(freezeValue(value));
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,32 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import java.util.Set;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.Agglomerate;
+import uk.co.aosd.onto.foundation.Event;
+import uk.co.aosd.onto.foundation.Individual;
+import uk.co.aosd.onto.reference.AgglomerateImpl;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.frozen.events.FrozenAggregated;
+import uk.co.aosd.onto.reference.frozen.events.FrozenDisaggregated;
+
+/**
+ * An immutable {@link AgglomerateImpl}, made by {@link AgglomerateImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenAgglomerate implements Agglomerate<FrozenAggregated, FrozenDisaggregated>, CompactIdentifiable {
+    Object identifierKey;
+    Set<Individual<? extends Event, ? extends Event>> parts;
+    FrozenAggregated beginning;
+    FrozenDisaggregated ending;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
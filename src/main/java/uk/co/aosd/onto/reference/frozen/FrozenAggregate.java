@@ -0,0 +1,32 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.Aggregate;
+import uk.co.aosd.onto.foundation.ScalarValue;
+import uk.co.aosd.onto.foundation.Unit;
+import uk.co.aosd.onto.reference.AggregateImpl;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.frozen.events.FrozenAggregated;
+import uk.co.aosd.onto.reference.frozen.events.FrozenDisaggregated;
+
+/**
+ * An immutable {@link AggregateImpl}, made by {@link AggregateImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenAggregate<N extends Number, U extends Unit, T>
+    implements Aggregate<N, U, T, FrozenAggregated, FrozenDisaggregated>, CompactIdentifiable {
+    Object identifierKey;
+    Class<T> kind;
+    ScalarValue<N, U> quantity;
+    FrozenAggregated beginning;
+    FrozenDisaggregated ending;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
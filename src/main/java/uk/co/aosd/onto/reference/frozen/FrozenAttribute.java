@@ -0,0 +1,31 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import java.time.Instant;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.Attribute;
+import uk.co.aosd.onto.foundation.Event;
+import uk.co.aosd.onto.foundation.Individual;
+import uk.co.aosd.onto.reference.AttributeImpl;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+
+/**
+ * An immutable {@link AttributeImpl}, made by {@link AttributeImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenAttribute<I extends Individual<? extends Event, ? extends Event>, P> implements Attribute<I, P>, CompactIdentifiable {
+    Object identifierKey;
+    I individual;
+    P property;
+    Instant from;
+    Instant to;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
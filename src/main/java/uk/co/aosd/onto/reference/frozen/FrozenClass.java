@@ -0,0 +1,27 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import java.util.Set;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.Class;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.reference.ClassImpl;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+
+/**
+ * An immutable {@link ClassImpl}, made by {@link ClassImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenClass<T extends UniquelyIdentifiable> implements Class<T>, CompactIdentifiable {
+    Object identifierKey;
+    Set<T> members;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
@@ -0,0 +1,26 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.money.Currency;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.CurrencyImpl;
+
+/**
+ * An immutable {@link CurrencyImpl}, made by {@link CurrencyImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenCurrency implements Currency, CompactIdentifiable {
+    Object identifierKey;
+    String abbreviation;
+    String name;
+    char symbol;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
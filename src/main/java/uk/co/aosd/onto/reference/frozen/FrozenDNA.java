@@ -0,0 +1,24 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.biological.DNA;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.DNAImpl;
+
+/**
+ * An immutable {@link DNAImpl}, made by {@link DNAImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenDNA implements DNA, CompactIdentifiable {
+    Object identifierKey;
+    String dna;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
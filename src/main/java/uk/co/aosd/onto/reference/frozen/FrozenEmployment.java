@@ -0,0 +1,39 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.Role;
+import uk.co.aosd.onto.organisation.Employment;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.EmploymentImpl;
+import uk.co.aosd.onto.reference.frozen.events.FrozenAppointed;
+import uk.co.aosd.onto.reference.frozen.events.FrozenBirth;
+import uk.co.aosd.onto.reference.frozen.events.FrozenDeath;
+import uk.co.aosd.onto.reference.frozen.events.FrozenDissolved;
+import uk.co.aosd.onto.reference.frozen.events.FrozenFormed;
+import uk.co.aosd.onto.reference.frozen.events.FrozenRemoved;
+import uk.co.aosd.onto.reference.frozen.events.FrozenResignified;
+
+/**
+ * An immutable {@link EmploymentImpl}, made by {@link EmploymentImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenEmployment<C>
+    implements Employment<C, FrozenAppointed, FrozenRemoved, FrozenFormed, FrozenDissolved, FrozenResignified, FrozenBirth, FrozenDeath, FrozenLanguage>,
+    CompactIdentifiable {
+    Object identifierKey;
+    FrozenOrganisation<? extends Role> employer;
+    FrozenHuman employee;
+    String actionsDescription;
+    C contract;
+    FrozenAppointed beginning;
+    FrozenRemoved ending;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
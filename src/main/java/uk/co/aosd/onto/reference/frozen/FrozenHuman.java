@@ -0,0 +1,35 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.biological.DNA;
+import uk.co.aosd.onto.biological.Human;
+import uk.co.aosd.onto.foundation.Class;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.HumanImpl;
+import uk.co.aosd.onto.reference.frozen.events.FrozenBirth;
+import uk.co.aosd.onto.reference.frozen.events.FrozenDeath;
+import uk.co.aosd.onto.reference.frozen.events.FrozenResignified;
+import uk.co.aosd.onto.signifying.Signifier;
+
+/**
+ * An immutable {@link HumanImpl}, made by {@link HumanImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenHuman implements Human<FrozenBirth, FrozenDeath, FrozenResignified, FrozenLanguage>, CompactIdentifiable {
+    Object identifierKey;
+    FrozenBirth beginning;
+    FrozenDeath ending;
+    Class<Signifier<String, FrozenResignified>> names;
+    FrozenLanguage nativeLanguage;
+    Class<FrozenLanguage> languages;
+    DNA dna;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
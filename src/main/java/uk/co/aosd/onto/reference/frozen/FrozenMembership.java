@@ -0,0 +1,34 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.Role;
+import uk.co.aosd.onto.organisation.Membership;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.MembershipImpl;
+import uk.co.aosd.onto.reference.frozen.events.FrozenAppointed;
+import uk.co.aosd.onto.reference.frozen.events.FrozenBirth;
+import uk.co.aosd.onto.reference.frozen.events.FrozenDeath;
+import uk.co.aosd.onto.reference.frozen.events.FrozenRemoved;
+import uk.co.aosd.onto.reference.frozen.events.FrozenResignified;
+
+/**
+ * An immutable {@link MembershipImpl}, made by {@link MembershipImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenMembership<R extends Role>
+    implements Membership<R, FrozenAppointed, FrozenRemoved, FrozenBirth, FrozenDeath, FrozenResignified, FrozenLanguage>, CompactIdentifiable {
+    Object identifierKey;
+    FrozenHuman member;
+    R role;
+    FrozenAppointed beginning;
+    FrozenRemoved ending;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
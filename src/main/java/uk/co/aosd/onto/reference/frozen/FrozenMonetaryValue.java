@@ -0,0 +1,20 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.decimal4j.immutable.Decimal3f;
+import uk.co.aosd.onto.money.Currency;
+import uk.co.aosd.onto.money.MonetaryValue;
+import uk.co.aosd.onto.reference.MonetaryValueImpl;
+
+/**
+ * An immutable {@link MonetaryValueImpl}, made by {@link MonetaryValueImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenMonetaryValue<U extends Currency> implements MonetaryValue<U> {
+    Decimal3f value;
+    U unit;
+}
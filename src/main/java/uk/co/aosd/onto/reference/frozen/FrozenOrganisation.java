@@ -0,0 +1,35 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.Class;
+import uk.co.aosd.onto.foundation.Role;
+import uk.co.aosd.onto.organisation.Organisation;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.OrganisationImpl;
+import uk.co.aosd.onto.reference.frozen.events.FrozenDissolved;
+import uk.co.aosd.onto.reference.frozen.events.FrozenFormed;
+import uk.co.aosd.onto.reference.frozen.events.FrozenResignified;
+import uk.co.aosd.onto.signifying.Signifier;
+
+/**
+ * An immutable {@link OrganisationImpl}, made by {@link OrganisationImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenOrganisation<R extends Role> implements Organisation<FrozenFormed, FrozenDissolved, FrozenResignified>, CompactIdentifiable {
+    Object identifierKey;
+    Class<FrozenMembership<R>> members;
+    String purpose;
+    Class<FrozenOrganisation<R>> units;
+    Class<Signifier<String, FrozenResignified>> names;
+    FrozenFormed beginning;
+    FrozenDissolved ending;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
@@ -0,0 +1,33 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.Event;
+import uk.co.aosd.onto.foundation.Individual;
+import uk.co.aosd.onto.ownership.Owning;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.OwningImpl;
+import uk.co.aosd.onto.reference.frozen.events.FrozenTransferredFrom;
+import uk.co.aosd.onto.reference.frozen.events.FrozenTransferredTo;
+
+/**
+ * An immutable {@link OwningImpl}, made by {@link OwningImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenOwning<A extends Event, B extends Event, C extends Event, D extends Event>
+    implements Owning<A, B, C, D, FrozenTransferredFrom, FrozenTransferredTo>, CompactIdentifiable {
+    Object identifierKey;
+    String actionsDescription;
+    Individual<A, B> owner;
+    Individual<C, D> owned;
+    FrozenTransferredFrom beginning;
+    FrozenTransferredTo ending;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import java.util.Set;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.Event;
+import uk.co.aosd.onto.foundation.Individual;
+import uk.co.aosd.onto.foundation.PossibleWorld;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.PossibleWorldImpl;
+import uk.co.aosd.onto.reference.frozen.events.FrozenCreated;
+import uk.co.aosd.onto.reference.frozen.events.FrozenDeleted;
+
+/**
+ * An immutable {@link PossibleWorldImpl}, made by {@link PossibleWorldImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenPossibleWorld implements PossibleWorld<FrozenCreated, FrozenDeleted>, CompactIdentifiable {
+    Object identifierKey;
+    Set<Individual<? extends Event, ? extends Event>> parts;
+    FrozenCreated beginning;
+    FrozenDeleted ending;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
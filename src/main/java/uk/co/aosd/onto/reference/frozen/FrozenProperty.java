@@ -0,0 +1,28 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import java.util.Set;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.Property;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.PropertyImpl;
+
+/**
+ * An immutable {@link PropertyImpl}, made by {@link PropertyImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenProperty<T extends UniquelyIdentifiable, U> implements Property<T, U>, CompactIdentifiable {
+    Object identifierKey;
+    Set<T> members;
+    U property;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
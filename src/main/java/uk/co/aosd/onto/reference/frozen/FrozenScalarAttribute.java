@@ -0,0 +1,34 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import java.time.Instant;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.Event;
+import uk.co.aosd.onto.foundation.Individual;
+import uk.co.aosd.onto.foundation.ScalarAttribute;
+import uk.co.aosd.onto.foundation.ScalarValue;
+import uk.co.aosd.onto.foundation.Unit;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.ScalarAttributeImpl;
+
+/**
+ * An immutable {@link ScalarAttributeImpl}, made by {@link ScalarAttributeImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenScalarAttribute<I extends Individual<? extends Event, ? extends Event>, N extends Number, U extends Unit>
+    implements ScalarAttribute<I, N, U>, CompactIdentifiable {
+    Object identifierKey;
+    I individual;
+    ScalarValue<N, U> property;
+    Instant from;
+    Instant to;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
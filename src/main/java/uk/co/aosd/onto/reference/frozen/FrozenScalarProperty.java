@@ -0,0 +1,31 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import java.util.Set;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.ScalarProperty;
+import uk.co.aosd.onto.foundation.ScalarValue;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.foundation.Unit;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.ScalarPropertyImpl;
+
+/**
+ * An immutable {@link ScalarPropertyImpl}, made by {@link ScalarPropertyImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenScalarProperty<T extends UniquelyIdentifiable, U extends Number, V extends Unit>
+    implements ScalarProperty<T, U, V>, CompactIdentifiable {
+    Object identifierKey;
+    ScalarValue<U, V> property;
+    Set<T> members;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
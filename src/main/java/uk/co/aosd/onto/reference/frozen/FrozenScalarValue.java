@@ -0,0 +1,19 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.ScalarValue;
+import uk.co.aosd.onto.foundation.Unit;
+import uk.co.aosd.onto.reference.ScalarValueImpl;
+
+/**
+ * An immutable {@link ScalarValueImpl}, made by {@link ScalarValueImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenScalarValue<T extends Number, U extends Unit> implements ScalarValue<T, U> {
+    T value;
+    U unit;
+}
@@ -0,0 +1,29 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.language.Language;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.SignifierImpl;
+import uk.co.aosd.onto.reference.frozen.events.FrozenResignified;
+import uk.co.aosd.onto.signifying.Signifier;
+
+/**
+ * An immutable {@link SignifierImpl}, made by {@link SignifierImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenSignifier<T> implements Signifier<T, FrozenResignified>, CompactIdentifiable {
+    Object identifierKey;
+    T name;
+    Language language;
+    FrozenResignified beginning;
+    FrozenResignified ending;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.language.Language;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.SignifyingImpl;
+import uk.co.aosd.onto.reference.frozen.events.FrozenResignified;
+import uk.co.aosd.onto.signifying.Signifying;
+
+/**
+ * An immutable {@link SignifyingImpl}, made by {@link SignifyingImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenSignifying<T> implements Signifying<T, FrozenResignified>, CompactIdentifiable {
+    Object identifierKey;
+    String actionsDescription;
+    T name;
+    Language language;
+    UniquelyIdentifiable named;
+    FrozenResignified beginning;
+    FrozenResignified ending;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
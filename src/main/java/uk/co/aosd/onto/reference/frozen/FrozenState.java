@@ -0,0 +1,28 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.Event;
+import uk.co.aosd.onto.foundation.Individual;
+import uk.co.aosd.onto.foundation.State;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.StateImpl;
+
+/**
+ * An immutable {@link StateImpl}, made by {@link StateImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenState<B extends Event, E extends Event, V extends Individual<B, E>> implements State<B, E, V>, CompactIdentifiable {
+    Object identifierKey;
+    V individual;
+    B beginning;
+    E ending;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
@@ -0,0 +1,33 @@
+package uk.co.aosd.onto.reference.frozen;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import uk.co.aosd.onto.foundation.Event;
+import uk.co.aosd.onto.ownership.Owning;
+import uk.co.aosd.onto.ownership.TransferringOfOwnership;
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.TransferringOfOwnershipImpl;
+import uk.co.aosd.onto.reference.frozen.events.FrozenTransferredFrom;
+import uk.co.aosd.onto.reference.frozen.events.FrozenTransferredTo;
+
+/**
+ * An immutable {@link TransferringOfOwnershipImpl}, made by {@link TransferringOfOwnershipImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+@Value
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+public class FrozenTransferringOfOwnership<A extends Event, B extends Event, C extends Event, D extends Event>
+    implements TransferringOfOwnership<A, B, C, D, FrozenTransferredFrom, FrozenTransferredTo>, CompactIdentifiable {
+    Object identifierKey;
+    String actionsDescription;
+    Owning<A, B, C, D, FrozenTransferredFrom, FrozenTransferredTo> from;
+    Owning<A, B, C, D, FrozenTransferredFrom, FrozenTransferredTo> to;
+    FrozenTransferredFrom beginning;
+    FrozenTransferredTo ending;
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+}
@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Aggregated;
+import uk.co.aosd.onto.reference.events.AggregatedImpl;
+
+/**
+ * An immutable {@link AggregatedImpl}, made by {@link AggregatedImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenAggregated extends FrozenEvent implements Aggregated {
+
+    public FrozenAggregated(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenAggregated(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
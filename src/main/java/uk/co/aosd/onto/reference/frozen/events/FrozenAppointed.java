@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Appointed;
+import uk.co.aosd.onto.reference.events.AppointedImpl;
+
+/**
+ * An immutable {@link AppointedImpl}, made by {@link AppointedImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenAppointed extends FrozenEvent implements Appointed {
+
+    public FrozenAppointed(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenAppointed(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Assembled;
+import uk.co.aosd.onto.reference.events.AssembledImpl;
+
+/**
+ * An immutable {@link AssembledImpl}, made by {@link AssembledImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenAssembled extends FrozenEvent implements Assembled {
+
+    public FrozenAssembled(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenAssembled(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
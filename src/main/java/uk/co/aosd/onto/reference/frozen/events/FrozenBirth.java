@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Birth;
+import uk.co.aosd.onto.reference.events.BirthImpl;
+
+/**
+ * An immutable {@link BirthImpl}, made by {@link BirthImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenBirth extends FrozenEvent implements Birth {
+
+    public FrozenBirth(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenBirth(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
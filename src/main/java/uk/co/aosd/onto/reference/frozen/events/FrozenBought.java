@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Bought;
+import uk.co.aosd.onto.reference.events.BoughtImpl;
+
+/**
+ * An immutable {@link BoughtImpl}, made by {@link BoughtImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenBought extends FrozenEvent implements Bought {
+
+    public FrozenBought(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenBought(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
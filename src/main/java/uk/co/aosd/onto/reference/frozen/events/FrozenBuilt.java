@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Built;
+import uk.co.aosd.onto.reference.events.BuiltImpl;
+
+/**
+ * An immutable {@link BuiltImpl}, made by {@link BuiltImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenBuilt extends FrozenEvent implements Built {
+
+    public FrozenBuilt(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenBuilt(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
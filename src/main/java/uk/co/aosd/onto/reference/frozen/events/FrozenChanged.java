@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Changed;
+import uk.co.aosd.onto.reference.events.ChangedImpl;
+
+/**
+ * An immutable {@link ChangedImpl}, made by {@link ChangedImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenChanged extends FrozenEvent implements Changed {
+
+    public FrozenChanged(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenChanged(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
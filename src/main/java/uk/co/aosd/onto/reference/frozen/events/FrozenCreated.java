@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Created;
+import uk.co.aosd.onto.reference.events.CreatedImpl;
+
+/**
+ * An immutable {@link CreatedImpl}, made by {@link CreatedImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenCreated extends FrozenEvent implements Created {
+
+    public FrozenCreated(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenCreated(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
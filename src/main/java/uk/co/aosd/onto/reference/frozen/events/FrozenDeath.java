@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Death;
+import uk.co.aosd.onto.reference.events.DeathImpl;
+
+/**
+ * An immutable {@link DeathImpl}, made by {@link DeathImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenDeath extends FrozenEvent implements Death {
+
+    public FrozenDeath(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenDeath(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
@@ -0,0 +1,26 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Decommissioned;
+import uk.co.aosd.onto.reference.events.DecommissionedImpl;
+
+/**
+ * An immutable {@link DecommissionedImpl}, made by {@link DecommissionedImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenDecommissioned extends FrozenEvent implements Decommissioned {
+
+    public FrozenDecommissioned(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenDecommissioned(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond,
+        final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Deleted;
+import uk.co.aosd.onto.reference.events.DeletedImpl;
+
+/**
+ * An immutable {@link DeletedImpl}, made by {@link DeletedImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenDeleted extends FrozenEvent implements Deleted {
+
+    public FrozenDeleted(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenDeleted(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Destroyed;
+import uk.co.aosd.onto.reference.events.DestroyedImpl;
+
+/**
+ * An immutable {@link DestroyedImpl}, made by {@link DestroyedImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenDestroyed extends FrozenEvent implements Destroyed {
+
+    public FrozenDestroyed(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenDestroyed(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
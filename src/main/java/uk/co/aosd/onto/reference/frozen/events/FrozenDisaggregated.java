@@ -0,0 +1,26 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Disaggregated;
+import uk.co.aosd.onto.reference.events.DisaggregatedImpl;
+
+/**
+ * An immutable {@link DisaggregatedImpl}, made by {@link DisaggregatedImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenDisaggregated extends FrozenEvent implements Disaggregated {
+
+    public FrozenDisaggregated(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenDisaggregated(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond,
+        final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
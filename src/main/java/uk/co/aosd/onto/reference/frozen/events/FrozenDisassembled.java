@@ -0,0 +1,26 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Disassembled;
+import uk.co.aosd.onto.reference.events.DisassembledImpl;
+
+/**
+ * An immutable {@link DisassembledImpl}, made by {@link DisassembledImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenDisassembled extends FrozenEvent implements Disassembled {
+
+    public FrozenDisassembled(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenDisassembled(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond,
+        final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
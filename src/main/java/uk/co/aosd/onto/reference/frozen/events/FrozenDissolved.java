@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Dissolved;
+import uk.co.aosd.onto.reference.events.DissolvedImpl;
+
+/**
+ * An immutable {@link DissolvedImpl}, made by {@link DissolvedImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenDissolved extends FrozenEvent implements Dissolved {
+
+    public FrozenDissolved(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenDissolved(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
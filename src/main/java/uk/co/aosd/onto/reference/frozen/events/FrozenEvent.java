@@ -0,0 +1,115 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.reference.CompactIdentifiable;
+import uk.co.aosd.onto.reference.events.EpochEvent;
+
+/**
+ * The immutable events, which hold their identifier as a
+ * {@link uk.co.aosd.onto.reference.CompactId} and their bounds as primitive
+ * epoch seconds and nanoseconds.
+ *
+ * <p>
+ * An Instant is a separate object of 24 bytes plus a reference to it, so an
+ * event with two Instants takes 80 bytes where a FrozenEvent takes 48 and a
+ * CompactId. The Instants are only created when {@link #getFrom} or
+ * {@link #getTo} is called, as a new Instant on each call, and the model's
+ * lifetime index reads the primitive bounds directly. The hash code is computed once, when the event is
+ * created.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public abstract class FrozenEvent implements EpochEvent, CompactIdentifiable {
+    private final Object identifierKey;
+    private final long fromEpochSecond;
+    private final int fromNano;
+    private final long toEpochSecond;
+    private final int toNano;
+    private final transient int hash;
+
+    protected FrozenEvent(final Object identifierKey, final Instant from, final Instant to) {
+        this(identifierKey, from == null ? 0L : from.getEpochSecond(), from == null ? NONE : from.getNano(),
+            to == null ? 0L : to.getEpochSecond(), to == null ? NONE : to.getNano());
+    }
+
+    protected FrozenEvent(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        this.identifierKey = identifierKey;
+        this.fromEpochSecond = fromEpochSecond;
+        this.fromNano = fromNano;
+        this.toEpochSecond = toEpochSecond;
+        this.toNano = toNano;
+        int h = getClass().getName().hashCode();
+        h = 31 * h + (identifierKey == null ? 0 : identifierKey.hashCode());
+        h = 31 * h + Long.hashCode(fromEpochSecond);
+        h = 31 * h + fromNano;
+        h = 31 * h + Long.hashCode(toEpochSecond);
+        this.hash = 31 * h + toNano;
+    }
+
+    @Override
+    public Object getIdentifierKey() {
+        return identifierKey;
+    }
+
+    @Override
+    public String getIdentifier() {
+        return identifierKey == null ? null : identifierKey.toString();
+    }
+
+    @Override
+    public Instant getFrom() {
+        return fromNano == NONE ? null : Instant.ofEpochSecond(fromEpochSecond, fromNano);
+    }
+
+    @Override
+    public Instant getTo() {
+        return toNano == NONE ? null : Instant.ofEpochSecond(toEpochSecond, toNano);
+    }
+
+    @Override
+    public long getFromEpochSecond() {
+        return fromEpochSecond;
+    }
+
+    @Override
+    public int getFromNano() {
+        return fromNano;
+    }
+
+    @Override
+    public long getToEpochSecond() {
+        return toEpochSecond;
+    }
+
+    @Override
+    public int getToNano() {
+        return toNano;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || o.getClass() != getClass()) {
+            return false;
+        }
+        final var other = (FrozenEvent) o;
+        return hash == other.hash
+            && fromEpochSecond == other.fromEpochSecond && fromNano == other.fromNano
+            && toEpochSecond == other.toEpochSecond && toNano == other.toNano
+            && (identifierKey == null ? other.identifierKey == null : identifierKey.equals(other.identifierKey));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(identifier=" + getIdentifier() + ", from=" + getFrom() + ", to=" + getTo() + ")";
+    }
+}
@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Formed;
+import uk.co.aosd.onto.reference.events.FormedImpl;
+
+/**
+ * An immutable {@link FormedImpl}, made by {@link FormedImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenFormed extends FrozenEvent implements Formed {
+
+    public FrozenFormed(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenFormed(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
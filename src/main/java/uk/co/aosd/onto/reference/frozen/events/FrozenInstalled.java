@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Installed;
+import uk.co.aosd.onto.reference.events.InstalledImpl;
+
+/**
+ * An immutable {@link InstalledImpl}, made by {@link InstalledImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenInstalled extends FrozenEvent implements Installed {
+
+    public FrozenInstalled(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenInstalled(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
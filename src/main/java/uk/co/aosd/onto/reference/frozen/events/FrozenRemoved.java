@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Removed;
+import uk.co.aosd.onto.reference.events.RemovedImpl;
+
+/**
+ * An immutable {@link RemovedImpl}, made by {@link RemovedImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenRemoved extends FrozenEvent implements Removed {
+
+    public FrozenRemoved(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenRemoved(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
@@ -0,0 +1,26 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Resignified;
+import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+
+/**
+ * An immutable {@link ResignifiedImpl}, made by {@link ResignifiedImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenResignified extends FrozenEvent implements Resignified {
+
+    public FrozenResignified(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenResignified(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond,
+        final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Scrapped;
+import uk.co.aosd.onto.reference.events.ScrappedImpl;
+
+/**
+ * An immutable {@link ScrappedImpl}, made by {@link ScrappedImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenScrapped extends FrozenEvent implements Scrapped {
+
+    public FrozenScrapped(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenScrapped(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
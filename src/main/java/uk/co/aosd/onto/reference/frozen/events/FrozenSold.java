@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Sold;
+import uk.co.aosd.onto.reference.events.SoldImpl;
+
+/**
+ * An immutable {@link SoldImpl}, made by {@link SoldImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenSold extends FrozenEvent implements Sold {
+
+    public FrozenSold(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenSold(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Started;
+import uk.co.aosd.onto.reference.events.StartedImpl;
+
+/**
+ * An immutable {@link StartedImpl}, made by {@link StartedImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenStarted extends FrozenEvent implements Started {
+
+    public FrozenStarted(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenStarted(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
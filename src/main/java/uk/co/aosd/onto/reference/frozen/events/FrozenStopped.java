@@ -0,0 +1,25 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.Stopped;
+import uk.co.aosd.onto.reference.events.StoppedImpl;
+
+/**
+ * An immutable {@link StoppedImpl}, made by {@link StoppedImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenStopped extends FrozenEvent implements Stopped {
+
+    public FrozenStopped(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenStopped(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond, final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
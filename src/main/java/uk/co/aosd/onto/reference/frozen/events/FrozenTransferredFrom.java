@@ -0,0 +1,26 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.TransferredFrom;
+import uk.co.aosd.onto.reference.events.TransferredFromImpl;
+
+/**
+ * An immutable {@link TransferredFromImpl}, made by {@link TransferredFromImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenTransferredFrom extends FrozenEvent implements TransferredFrom {
+
+    public FrozenTransferredFrom(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenTransferredFrom(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond,
+        final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
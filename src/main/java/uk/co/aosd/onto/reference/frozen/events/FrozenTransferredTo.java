@@ -0,0 +1,26 @@
+package uk.co.aosd.onto.reference.frozen.events;
+
+import java.time.Instant;
+
+import uk.co.aosd.onto.events.TransferredTo;
+import uk.co.aosd.onto.reference.events.TransferredToImpl;
+
+/**
+ * An immutable {@link TransferredToImpl}, made by {@link TransferredToImpl#freeze()}.
+ *
+ * @author Tony Walmsley
+ */
+public final class FrozenTransferredTo extends FrozenEvent implements TransferredTo {
+
+    public FrozenTransferredTo(final Object identifierKey, final Instant from, final Instant to) {
+        super(identifierKey, from, to);
+    }
+
+    /**
+     * Used by the binary snapshot codec, which passes the fields in order.
+     */
+    private FrozenTransferredTo(final Object identifierKey, final long fromEpochSecond, final int fromNano, final long toEpochSecond,
+        final int toNano) {
+        super(identifierKey, fromEpochSecond, fromNano, toEpochSecond, toNano);
+    }
+}
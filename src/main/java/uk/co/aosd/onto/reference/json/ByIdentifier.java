@@ -0,0 +1,14 @@
+package uk.co.aosd.onto.reference.json;
+
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+
+/**
+ * A Jackson mix-in for UniquelyIdentifiable that writes each thing in full the
+ * first time it is reached and as its identifier after that, and resolves the
+ * identifiers back to the same instance when reading.
+ *
+ * @author Tony Walmsley
+ */
+@JsonIdentityInfo(generator = IdentifierGenerator.class, property = "@id")
+interface ByIdentifier {
+}
@@ -0,0 +1,60 @@
+package uk.co.aosd.onto.reference.json;
+
+import com.fasterxml.jackson.annotation.ObjectIdGenerator;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+
+/**
+ * Uses the identifier of a UniquelyIdentifiable as its Jackson object id.
+ *
+ * <p>
+ * Jackson's property-based generator needs a settable {@code identifier}
+ * property on the declared type, which the ontology interfaces do not have, so
+ * the id is written as a separate {@code @id} property and read back from
+ * there.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+final class IdentifierGenerator extends ObjectIdGenerator<String> {
+    private static final long serialVersionUID = 1L;
+
+    private final Class<?> scope;
+
+    IdentifierGenerator() {
+        this(Object.class);
+    }
+
+    private IdentifierGenerator(final Class<?> scope) {
+        this.scope = scope;
+    }
+
+    @Override
+    public Class<?> getScope() {
+        return scope;
+    }
+
+    @Override
+    public boolean canUseFor(final ObjectIdGenerator<?> gen) {
+        return gen.getClass() == getClass() && gen.getScope() == scope;
+    }
+
+    @Override
+    public ObjectIdGenerator<String> forScope(final Class<?> scope) {
+        return scope == this.scope ? this : new IdentifierGenerator(scope);
+    }
+
+    @Override
+    public ObjectIdGenerator<String> newForSerialization(final Object context) {
+        return this;
+    }
+
+    @Override
+    public String generateId(final Object forPojo) {
+        return ((UniquelyIdentifiable) forPojo).getIdentifier();
+    }
+
+    @Override
+    public IdKey key(final Object key) {
+        return key == null ? null : new IdKey(getClass(), scope, key);
+    }
+}
@@ -0,0 +1,119 @@
+package uk.co.aosd.onto.reference.json;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.cfg.CacheProvider;
+import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import com.fasterxml.jackson.databind.ser.SerializerFactory;
+import com.fasterxml.jackson.databind.ser.impl.WritableObjectId;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+
+/**
+ * A SerializerProvider that remembers which things it has written by their
+ * identifiers rather than by instance.
+ *
+ * <p>
+ * Jackson tracks the objects that have object ids by identity, so two
+ * distinct but equal instances with the same identifier, such as a language
+ * read twice from a file, would each be written in full, and reading the
+ * result back fails with "Already had POJO for id". Keying by identifier
+ * writes the first instance in full and every other one as a reference to it,
+ * which is what {@link IdentifierGenerator} ids mean. Objects that are not
+ * UniquelyIdentifiable, or have no identifier, are still tracked by identity.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+final class IdentifierSerializerProvider extends DefaultSerializerProvider {
+    private static final long serialVersionUID = 1L;
+
+    IdentifierSerializerProvider() {
+    }
+
+    private IdentifierSerializerProvider(final IdentifierSerializerProvider src) {
+        super(src);
+    }
+
+    private IdentifierSerializerProvider(final SerializerProvider src, final SerializationConfig config, final SerializerFactory factory) {
+        super(src, config, factory);
+    }
+
+    private IdentifierSerializerProvider(final IdentifierSerializerProvider src, final CacheProvider cacheProvider) {
+        super(src, cacheProvider);
+    }
+
+    @Override
+    public DefaultSerializerProvider copy() {
+        return new IdentifierSerializerProvider(this);
+    }
+
+    @Override
+    public IdentifierSerializerProvider createInstance(final SerializationConfig config, final SerializerFactory factory) {
+        return new IdentifierSerializerProvider(this, config, factory);
+    }
+
+    @Override
+    public DefaultSerializerProvider withCaches(final CacheProvider cacheProvider) {
+        return new IdentifierSerializerProvider(this, cacheProvider);
+    }
+
+    @Override
+    protected Map<Object, WritableObjectId> _createObjectIdMap() {
+        return new SeenObjectIds();
+    }
+
+    /**
+     * The object ids written so far, keyed by identifier.
+     */
+    private static final class SeenObjectIds extends HashMap<Object, WritableObjectId> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public WritableObjectId get(final Object key) {
+            return super.get(keyOf(key));
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return super.containsKey(keyOf(key));
+        }
+
+        @Override
+        public WritableObjectId put(final Object key, final WritableObjectId value) {
+            return super.put(keyOf(key), value);
+        }
+
+        @Override
+        public WritableObjectId remove(final Object key) {
+            return super.remove(keyOf(key));
+        }
+
+        private static Object keyOf(final Object pojo) {
+            if (pojo instanceof UniquelyIdentifiable thing && thing.getIdentifier() != null) {
+                return new Identifier(thing.getIdentifier());
+            }
+            return new Instance(pojo);
+        }
+    }
+
+    private record Identifier(String identifier) {
+    }
+
+    /**
+     * Compares the object it holds by identity.
+     */
+    private record Instance(Object pojo) {
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Instance other && other.pojo == pojo;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(pojo);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package uk.co.aosd.onto.reference.json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import uk.co.aosd.onto.reference.AgglomerateImpl;
+import uk.co.aosd.onto.reference.AggregateImpl;
+import uk.co.aosd.onto.reference.AttributeImpl;
+import uk.co.aosd.onto.reference.ClassImpl;
+import uk.co.aosd.onto.reference.CurrencyImpl;
+import uk.co.aosd.onto.reference.DNAImpl;
+import uk.co.aosd.onto.reference.EmploymentImpl;
+import uk.co.aosd.onto.reference.HumanImpl;
+import uk.co.aosd.onto.reference.IdentifierSet;
+import uk.co.aosd.onto.reference.LanguageImpl;
+import uk.co.aosd.onto.reference.MembershipImpl;
+import uk.co.aosd.onto.reference.ModelImpl;
+import uk.co.aosd.onto.reference.MonetaryValueImpl;
+import uk.co.aosd.onto.reference.OrganisationImpl;
+import uk.co.aosd.onto.reference.OwningImpl;
+import uk.co.aosd.onto.reference.PossibleWorldImpl;
+import uk.co.aosd.onto.reference.PropertyImpl;
+import uk.co.aosd.onto.reference.ScalarAttributeImpl;
+import uk.co.aosd.onto.reference.ScalarPropertyImpl;
+import uk.co.aosd.onto.reference.ScalarValueImpl;
+import uk.co.aosd.onto.reference.SignifierImpl;
+import uk.co.aosd.onto.reference.SignifyingImpl;
+import uk.co.aosd.onto.reference.StateImpl;
+import uk.co.aosd.onto.reference.TransferringOfOwnershipImpl;
+import uk.co.aosd.onto.reference.events.AggregatedImpl;
+import uk.co.aosd.onto.reference.events.AppointedImpl;
+import uk.co.aosd.onto.reference.events.AssembledImpl;
+import uk.co.aosd.onto.reference.events.BirthImpl;
+import uk.co.aosd.onto.reference.events.BoughtImpl;
+import uk.co.aosd.onto.reference.events.BuiltImpl;
+import uk.co.aosd.onto.reference.events.ChangedImpl;
+import uk.co.aosd.onto.reference.events.CreatedImpl;
+import uk.co.aosd.onto.reference.events.DeathImpl;
+import uk.co.aosd.onto.reference.events.DecommissionedImpl;
+import uk.co.aosd.onto.reference.events.DeletedImpl;
+import uk.co.aosd.onto.reference.events.DestroyedImpl;
+import uk.co.aosd.onto.reference.events.DisaggregatedImpl;
+import uk.co.aosd.onto.reference.events.DisassembledImpl;
+import uk.co.aosd.onto.reference.events.DissolvedImpl;
+import uk.co.aosd.onto.reference.events.FormedImpl;
+import uk.co.aosd.onto.reference.events.InstalledImpl;
+import uk.co.aosd.onto.reference.events.RemovedImpl;
+import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.reference.events.ScrappedImpl;
+import uk.co.aosd.onto.reference.events.SoldImpl;
+import uk.co.aosd.onto.reference.events.StartedImpl;
+import uk.co.aosd.onto.reference.events.StoppedImpl;
+import uk.co.aosd.onto.reference.events.TransferredFromImpl;
+import uk.co.aosd.onto.reference.events.TransferredToImpl;
+
+/**
+ * The registry of the reference classes that can appear in polymorphic JSON.
+ *
+ * <p>
+ * The list is written out here rather than found by scanning the classpath at
+ * startup, which takes seconds on a large classpath. A test scans the
+ * reference packages at build time and fails if a new class has not been
+ * added, so the list cannot drift from the code.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public final class JsonTypes {
+
+    /**
+     * The model, its identifier Set, and every mutable reference class and
+     * event.
+     */
+    public static final List<Class<?>> SUBTYPES = List.of(
+        AgglomerateImpl.class,
+        AggregateImpl.class,
+        AttributeImpl.class,
+        ClassImpl.class,
+        CurrencyImpl.class,
+        DNAImpl.class,
+        EmploymentImpl.class,
+        HumanImpl.class,
+        IdentifierSet.class,
+        LanguageImpl.class,
+        MembershipImpl.class,
+        ModelImpl.class,
+        MonetaryValueImpl.class,
+        OrganisationImpl.class,
+        OwningImpl.class,
+        PossibleWorldImpl.class,
+        PropertyImpl.class,
+        ScalarAttributeImpl.class,
+        ScalarPropertyImpl.class,
+        ScalarValueImpl.class,
+        SignifierImpl.class,
+        SignifyingImpl.class,
+        StateImpl.class,
+        TransferringOfOwnershipImpl.class,
+        AggregatedImpl.class,
+        AppointedImpl.class,
+        AssembledImpl.class,
+        BirthImpl.class,
+        BoughtImpl.class,
+        BuiltImpl.class,
+        ChangedImpl.class,
+        CreatedImpl.class,
+        DeathImpl.class,
+        DecommissionedImpl.class,
+        DeletedImpl.class,
+        DestroyedImpl.class,
+        DisaggregatedImpl.class,
+        DisassembledImpl.class,
+        DissolvedImpl.class,
+        FormedImpl.class,
+        InstalledImpl.class,
+        RemovedImpl.class,
+        ResignifiedImpl.class,
+        ScrappedImpl.class,
+        SoldImpl.class,
+        StartedImpl.class,
+        StoppedImpl.class,
+        TransferredFromImpl.class,
+        TransferredToImpl.class);
+
+    private JsonTypes() {
+    }
+
+    /**
+     * Register the subtypes with a mapper, named by their {@link JsonTypeName}
+     * if they have one and by their simple name otherwise.
+     *
+     * @param mapper
+     *            ObjectMapper
+     * @param extraSubtypes
+     *            Further classes to register, such as an application's own Roles.
+     * @return the mapper
+     */
+    public static ObjectMapper register(final ObjectMapper mapper, final Class<?>... extraSubtypes) {
+        mapper.registerSubtypes(namedTypes(extraSubtypes).toArray(NamedType[]::new));
+        return mapper;
+    }
+
+    /**
+     * Name the subtypes, by their {@link JsonTypeName} if they have one and by
+     * their simple name otherwise.
+     *
+     * @param extraSubtypes
+     *            Further classes to name, such as an application's own Roles.
+     * @return List of NamedType
+     */
+    static List<NamedType> namedTypes(final Class<?>... extraSubtypes) {
+        final var named = new ArrayList<NamedType>(SUBTYPES.size() + extraSubtypes.length);
+        for (final var type : SUBTYPES) {
+            named.add(namedType(type));
+        }
+        for (final var type : extraSubtypes) {
+            named.add(namedType(type));
+        }
+        return named;
+    }
+
+    private static NamedType namedType(final Class<?> type) {
+        final var name = type.getAnnotation(JsonTypeName.class);
+        return new NamedType(type, name == null ? type.getSimpleName() : name.value());
+    }
+}
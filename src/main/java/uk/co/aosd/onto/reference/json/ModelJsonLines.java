@@ -0,0 +1,512 @@
+package uk.co.aosd.onto.reference.json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.annotation.ObjectIdGenerator.IdKey;
+import com.fasterxml.jackson.annotation.ObjectIdResolver;
+import com.fasterxml.jackson.annotation.SimpleObjectIdResolver;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.cfg.HandlerInstantiator;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.deser.UnresolvedForwardReference;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import com.fasterxml.jackson.databind.jsontype.TypeResolverBuilder;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.reference.ModelImpl;
+import uk.co.aosd.onto.reference.ModelSnapshot;
+
+/**
+ * Streams the things in a model to and from JSON Lines: one thing per line,
+ * in the graph form of {@link OntologyJson}.
+ *
+ * <p>
+ * A thing that is itself in the model is written as its identifier wherever
+ * another thing refers to it, so each line holds one thing and the things it
+ * owns, such as its events. The things of a snapshot of the model are written
+ * in an order in which each comes after the model things it refers to, so the
+ * reader can resolve every identifier from the model it has built so far and
+ * add each line as soon as it is read. Each thing is converted to JSON once,
+ * and its line is held until the things it refers to have been written, so the
+ * writer holds the lines of one path through the references at a time.
+ * </p>
+ *
+ * <p>
+ * Things that refer to each other in a cycle cannot all come after each
+ * other, so they are written together on one line, each in full the first time
+ * it appears and as its identifier after that, and the reader adds them all.
+ * The cycles are found with Tarjan's algorithm as the things are written.
+ * </p>
+ *
+ * <p>
+ * Rather than a Set of the identifiers written so far, the writer keeps the
+ * things of the snapshot in an array, a sorted array of their identity hash
+ * codes and positions to find a thing's position, and a BitSet of the
+ * positions written, which is about 12 bytes for each thing in the model. The
+ * reader holds nothing beyond the model and the line it is reading.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public final class ModelJsonLines {
+    private static final String ROOT = "root";
+    private static final String INLINE = "inline";
+    private static final String MODEL = "model";
+    private static final String REFERENCES = "references";
+
+    private ModelJsonLines() {
+    }
+
+    /**
+     * Write the things in a model, one per line.
+     *
+     * @param model
+     *            ModelImpl
+     * @param out
+     *            Writer, which is not closed.
+     * @param extraSubtypes
+     *            Further classes to register, such as an application's own Roles.
+     * @return the number of lines written.
+     * @throws IOException
+     *             on error
+     */
+    public static long write(final ModelImpl model, final Writer out, final Class<?>... extraSubtypes) throws IOException {
+        final var mapper = OntologyJson.newGraphMapper(withCycle(extraSubtypes));
+        mapper.registerModule(new SimpleModule().setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(final SerializationConfig config, final BeanDescription beanDesc,
+                final JsonSerializer<?> serializer) {
+                return UniquelyIdentifiable.class.isAssignableFrom(beanDesc.getBeanClass()) ? new ReferenceSerializer(serializer) : serializer;
+            }
+        }));
+        final var snapshot = model.snapshot();
+        final var writer = mapper.writerFor(UniquelyIdentifiable.class).withAttribute(MODEL, snapshot);
+        final var positions = new Positions(snapshot.getThings().toArray(UniquelyIdentifiable[]::new));
+        final var written = new BitSet(positions.size());
+        final Map<Integer, Visit> open = new HashMap<>();
+        final var path = new ArrayDeque<Visit>();
+        final var component = new ArrayDeque<Visit>();
+        int visits = 0;
+        long lines = 0;
+        for (int start = 0; start < positions.size(); start++) {
+            if (written.get(start)) {
+                continue;
+            }
+            path.push(visit(writer, positions, start, visits++, open, component));
+            while (!path.isEmpty()) {
+                final var current = path.peek();
+                if (current.next < current.references.length) {
+                    final int reference = current.references[current.next++];
+                    final var seen = open.get(reference);
+                    if (seen != null) {
+                        current.low = Math.min(current.low, seen.order);
+                    } else if (!written.get(reference)) {
+                        path.push(visit(writer, positions, reference, visits++, open, component));
+                    }
+                    continue;
+                }
+                path.pop();
+                if (!path.isEmpty()) {
+                    path.peek().low = Math.min(path.peek().low, current.low);
+                }
+                if (current.low != current.order) {
+                    continue;
+                }
+                final var members = new ArrayList<Visit>();
+                Visit member;
+                do {
+                    member = component.pop();
+                    open.remove(member.position);
+                    written.set(member.position);
+                    members.add(member);
+                } while (member != current);
+                out.write(members.size() == 1 ? current.line : cycle(writer, members));
+                out.write('\n');
+                lines++;
+            }
+        }
+        out.flush();
+        return lines;
+    }
+
+    /**
+     * Read things written by {@link #write} and add them to a model, one line at
+     * a time.
+     *
+     * @param in
+     *            BufferedReader, which is not closed.
+     * @param model
+     *            ModelImpl to add the things to.
+     * @param extraSubtypes
+     *            Further classes to register, such as an application's own Roles.
+     * @return the number of things read.
+     * @throws IOException
+     *             on error, or if a line refers to a thing that is not in the
+     *             input.
+     */
+    public static long read(final BufferedReader in, final ModelImpl model, final Class<?>... extraSubtypes) throws IOException {
+        final var mapper = OntologyJson.newGraphMapper(withCycle(extraSubtypes));
+        mapper.setHandlerInstantiator(new ModelResolverInstantiator(model));
+        final var reader = mapper.readerFor(UniquelyIdentifiable.class);
+        final var heldBack = new ArrayList<String>();
+        long count = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            final int added = add(reader, line, model);
+            if (added > 0) {
+                count += added;
+                count += retry(reader, heldBack, model);
+            } else {
+                heldBack.add(line);
+            }
+        }
+        if (!heldBack.isEmpty()) {
+            throw new IOException(heldBack.size() + " things refer to things that are not in the input");
+        }
+        return count;
+    }
+
+    private static Class<?>[] withCycle(final Class<?>... extraSubtypes) {
+        final var types = Arrays.copyOf(extraSubtypes, extraSubtypes.length + 1);
+        types[extraSubtypes.length] = Cycle.class;
+        return types;
+    }
+
+    /**
+     * Convert a thing to its line, and start visiting it.
+     */
+    private static Visit visit(final ObjectWriter writer, final Positions positions, final int position, final int order,
+        final Map<Integer, Visit> open, final ArrayDeque<Visit> component) throws IOException {
+        final var thing = positions.get(position);
+        final var references = new ArrayList<UniquelyIdentifiable>();
+        final var line = writer.withAttribute(ROOT, thing).withAttribute(REFERENCES, references).writeValueAsString(thing);
+        final var visit = new Visit(thing, position, order, line, references.stream().mapToInt(positions::positionOf).filter(p -> p >= 0).toArray());
+        open.put(position, visit);
+        component.push(visit);
+        return visit;
+    }
+
+    /**
+     * Convert the things in a cycle to one line, in which each is written in full
+     * the first time it appears.
+     */
+    private static String cycle(final ObjectWriter writer, final List<Visit> members) throws IOException {
+        final var things = new Members();
+        final Set<Object> inline = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final var member : members) {
+            things.add(member.thing);
+            inline.add(member.thing);
+        }
+        return writer.withAttribute(INLINE, inline).withAttribute(REFERENCES, new ArrayList<UniquelyIdentifiable>())
+            .writeValueAsString(new Cycle("cycle " + things.get(0).getIdentifier(), things));
+    }
+
+    private static int add(final ObjectReader reader, final String line, final ModelImpl model) throws IOException {
+        final UniquelyIdentifiable thing;
+        try {
+            thing = reader.readValue(line);
+        } catch (final UnresolvedForwardReference e) {
+            return 0;
+        }
+        if (thing instanceof Cycle cycle) {
+            cycle.things.forEach(model::add);
+            return cycle.things.size();
+        }
+        model.add(thing);
+        return 1;
+    }
+
+    private static long retry(final ObjectReader reader, final List<String> heldBack, final ModelImpl model) throws IOException {
+        long count = 0;
+        boolean progress = true;
+        while (progress && !heldBack.isEmpty()) {
+            progress = false;
+            for (final var i = heldBack.iterator(); i.hasNext();) {
+                final int added = add(reader, i.next(), model);
+                if (added > 0) {
+                    i.remove();
+                    count += added;
+                    progress = true;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes a thing that is in the model as its identifier unless it is the
+     * thing being written, and records it as a reference.
+     */
+    private static final class ReferenceSerializer extends JsonSerializer<Object> implements ContextualSerializer, ResolvableSerializer {
+        private final JsonSerializer<Object> delegate;
+
+        @SuppressWarnings("unchecked")
+        ReferenceSerializer(final JsonSerializer<?> delegate) {
+            this.delegate = (JsonSerializer<Object>) delegate;
+        }
+
+        @Override
+        public void serialize(final Object value, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+            if (!writeReference(value, gen, provider)) {
+                delegate.serialize(value, gen, provider);
+            }
+        }
+
+        @Override
+        public void serializeWithType(final Object value, final JsonGenerator gen, final SerializerProvider provider, final TypeSerializer typeSer)
+            throws IOException {
+            if (!writeReference(value, gen, provider)) {
+                delegate.serializeWithType(value, gen, provider, typeSer);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static boolean writeReference(final Object value, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+            final var model = (ModelSnapshot) provider.getAttribute(MODEL);
+            if (model == null || value == provider.getAttribute(ROOT)) {
+                return false;
+            }
+            final var inline = (Set<Object>) provider.getAttribute(INLINE);
+            if (inline != null && inline.contains(value)) {
+                return false;
+            }
+            final var thing = (UniquelyIdentifiable) value;
+            if (model.getThing(thing.getIdentifier()).orElse(null) != thing) {
+                return false;
+            }
+            gen.writeString(thing.getIdentifier());
+            ((List<UniquelyIdentifiable>) provider.getAttribute(REFERENCES)).add(thing);
+            return true;
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(final SerializerProvider prov, final BeanProperty property) throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer contextual) {
+                final var created = contextual.createContextual(prov, property);
+                return created == delegate ? this : new ReferenceSerializer(created);
+            }
+            return this;
+        }
+
+        @Override
+        public void resolve(final SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+
+        @Override
+        public boolean usesObjectId() {
+            return delegate.usesObjectId();
+        }
+
+        @Override
+        public Class<Object> handledType() {
+            return delegate.handledType();
+        }
+    }
+
+    /**
+     * A thing being written, for Tarjan's algorithm.
+     */
+    private static final class Visit {
+        private final UniquelyIdentifiable thing;
+        private final int position;
+        private final int order;
+        private final String line;
+        private final int[] references;
+        private int next;
+        private int low;
+
+        Visit(final UniquelyIdentifiable thing, final int position, final int order, final String line, final int[] references) {
+            this.thing = thing;
+            this.position = position;
+            this.order = order;
+            this.line = line;
+            this.references = references;
+            this.low = order;
+        }
+    }
+
+    /**
+     * The things of a snapshot, found by identity through a sorted array that
+     * holds the identity hash code of each thing in its upper half and its
+     * position in its lower half.
+     */
+    private static final class Positions {
+        private final UniquelyIdentifiable[] things;
+        private final long[] byHash;
+
+        Positions(final UniquelyIdentifiable[] things) {
+            this.things = things;
+            this.byHash = new long[things.length];
+            for (int i = 0; i < things.length; i++) {
+                byHash[i] = (long) System.identityHashCode(things[i]) << 32 | i;
+            }
+            Arrays.sort(byHash);
+        }
+
+        int size() {
+            return things.length;
+        }
+
+        UniquelyIdentifiable get(final int position) {
+            return things[position];
+        }
+
+        /**
+         * Find a thing.
+         *
+         * @return its position, or -1 if it is not in the snapshot.
+         */
+        int positionOf(final UniquelyIdentifiable thing) {
+            final long hash = (long) System.identityHashCode(thing) << 32;
+            int i = Arrays.binarySearch(byHash, hash);
+            for (i = i < 0 ? -i - 1 : i; i < byHash.length && (byHash[i] & 0xFFFFFFFF00000000L) == hash; i++) {
+                final int position = (int) byHash[i];
+                if (things[position] == thing) {
+                    return position;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * The things in a cycle, written together on one line.
+     */
+    @JsonTypeName("ModelJsonLines.Cycle")
+    private static final class Cycle implements UniquelyIdentifiable {
+        private String identifier;
+        private Members things;
+
+        @SuppressWarnings("unused")
+        Cycle() {
+        }
+
+        Cycle(final String identifier, final Members things) {
+            this.identifier = identifier;
+            this.things = things;
+        }
+
+        @Override
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        public Members getThings() {
+            return things;
+        }
+    }
+
+    /**
+     * The things of a Cycle. The class is final so that the list is written
+     * without a type, which the mapper would refuse to read, while each thing in
+     * it is written with its own.
+     */
+    private static final class Members extends ArrayList<UniquelyIdentifiable> {
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * Resolves an object id first from the line being read and then from the
+     * model.
+     */
+    private static final class ModelResolver extends SimpleObjectIdResolver {
+        private final ModelImpl model;
+
+        ModelResolver(final ModelImpl model) {
+            this.model = model;
+        }
+
+        @Override
+        public Object resolveId(final IdKey id) {
+            final var found = super.resolveId(id);
+            return found != null ? found : model.getThing(id.key.toString()).orElse(null);
+        }
+
+        @Override
+        public boolean canUseFor(final ObjectIdResolver resolverType) {
+            return resolverType.getClass() == getClass();
+        }
+
+        @Override
+        public ObjectIdResolver newForDeserialization(final Object context) {
+            return new ModelResolver(model);
+        }
+    }
+
+    /**
+     * Supplies a ModelResolver wherever Jackson needs an object id resolver.
+     */
+    private static final class ModelResolverInstantiator extends HandlerInstantiator {
+        private final ModelImpl model;
+
+        ModelResolverInstantiator(final ModelImpl model) {
+            this.model = model;
+        }
+
+        @Override
+        public ObjectIdResolver resolverIdGeneratorInstance(final MapperConfig<?> config, final Annotated annotated, final Class<?> implClass) {
+            return new ModelResolver(model);
+        }
+
+        @Override
+        public JsonDeserializer<?> deserializerInstance(final DeserializationConfig config, final Annotated annotated, final Class<?> deserClass) {
+            return null;
+        }
+
+        @Override
+        public KeyDeserializer keyDeserializerInstance(final DeserializationConfig config, final Annotated annotated, final Class<?> keyDeserClass) {
+            return null;
+        }
+
+        @Override
+        public JsonSerializer<?> serializerInstance(final SerializationConfig config, final Annotated annotated, final Class<?> serClass) {
+            return null;
+        }
+
+        @Override
+        public TypeResolverBuilder<?> typeResolverBuilderInstance(final MapperConfig<?> config, final Annotated annotated,
+            final Class<?> builderClass) {
+            return null;
+        }
+
+        @Override
+        public TypeIdResolver typeIdResolverInstance(final MapperConfig<?> config, final Annotated annotated, final Class<?> resolverClass) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package uk.co.aosd.onto.reference.json;
+
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import uk.co.aosd.onto.foundation.ScalarValue;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+
+/**
+ * Reads and writes ontology object graphs as JSON.
+ *
+ * <p>
+ * The mapper writes the type of each polymorphic value alongside it, and only
+ * reads back classes that are UniquelyIdentifiable, Sets or ScalarValues. Its
+ * subtypes come from {@link JsonTypes}, so creating it does not scan the
+ * classpath, and are written by their registered names, see
+ * {@link RegisteredNameTyping}. Other classes are written by their class
+ * names. It is configured once, when this class is initialised. After that
+ * it is only read, so it and the readers and writers made from it can be
+ * shared between threads. Use {@link #newMapper} for a separate mapper that
+ * can be configured further.
+ * </p>
+ *
+ * <p>
+ * By default a thing is written in full wherever it appears, so a language
+ * used by a thousand signifiers is written a thousand times and read back as a
+ * thousand separate copies. The graph methods write each thing once, and refer
+ * to it by its identifier everywhere else, so the JSON is smaller and reading
+ * it restores the sharing. Identifiers must be unique across the graph, as
+ * they are in a model.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+public final class OntologyJson {
+
+    private static final ObjectMapper MAPPER = newMapper();
+    private static final ObjectWriter WRITER = MAPPER.writer();
+    private static final ObjectMapper GRAPH_MAPPER = newGraphMapper();
+
+    private OntologyJson() {
+    }
+
+    /**
+     * Create a mapper configured for ontology graphs.
+     *
+     * @param extraSubtypes
+     *            Further classes to register, such as an application's own Roles.
+     * @return a new ObjectMapper
+     */
+    public static ObjectMapper newMapper(final Class<?>... extraSubtypes) {
+        final var mapper = new ObjectMapper()
+            .registerModule(new Jdk8Module())
+            .registerModule(new JavaTimeModule())
+            .registerModule(new ParameterNamesModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        JsonTypes.register(mapper, extraSubtypes);
+        final PolymorphicTypeValidator ptv = BasicPolymorphicTypeValidator.builder()
+            .allowIfSubType(UniquelyIdentifiable.class)
+            .allowIfSubType(Set.class)
+            .allowIfSubType(ScalarValue.class)
+            .build();
+        return mapper.setDefaultTyping(new RegisteredNameTyping(ptv, JsonTypes.namedTypes(extraSubtypes)));
+    }
+
+    /**
+     * Create a mapper that writes each UniquelyIdentifiable once and refers to it
+     * by identifier after that. Distinct instances with the same identifier are
+     * the same thing, so only the first of them is written in full.
+     *
+     * @param extraSubtypes
+     *            Further classes to register, such as an application's own Roles.
+     * @return a new ObjectMapper
+     */
+    public static ObjectMapper newGraphMapper(final Class<?>... extraSubtypes) {
+        return newMapper(extraSubtypes)
+            .addMixIn(UniquelyIdentifiable.class, ByIdentifier.class)
+            .setSerializerProvider(new IdentifierSerializerProvider());
+    }
+
+    /**
+     * Get the shared mapper, which must not be reconfigured.
+     *
+     * @return ObjectMapper
+     */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Get a reader for a type from the shared mapper.
+     *
+     * @param type
+     *            java.lang.Class
+     * @return ObjectReader
+     */
+    public static ObjectReader reader(final Class<?> type) {
+        return MAPPER.readerFor(type);
+    }
+
+    /**
+     * Convert an object to a JSON String.
+     *
+     * @param o
+     *            Object
+     * @return String
+     * @throws JsonProcessingException
+     *             on error
+     */
+    public static String write(final Object o) throws JsonProcessingException {
+        return WRITER.writeValueAsString(o);
+    }
+
+    /**
+     * Convert a JSON String to a type.
+     *
+     * @param <T>
+     *            The type to return.
+     * @param json
+     *            String
+     * @param type
+     *            java.lang.Class of T
+     * @return T
+     * @throws JsonProcessingException
+     *             on error
+     */
+    public static <T> T read(final String json, final Class<T> type) throws JsonProcessingException {
+        return MAPPER.readValue(json, type);
+    }
+
+    /**
+     * Convert an object graph to a JSON String, writing each thing once.
+     *
+     * @param o
+     *            Object
+     * @return String
+     * @throws JsonProcessingException
+     *             on error
+     */
+    public static String writeGraph(final Object o) throws JsonProcessingException {
+        return GRAPH_MAPPER.writeValueAsString(o);
+    }
+
+    /**
+     * Convert a JSON String written by {@link #writeGraph} to a type, so that
+     * each thing is a single instance wherever it is referred to.
+     *
+     * @param <T>
+     *            The type to return.
+     * @param json
+     *            String
+     * @param type
+     *            java.lang.Class of T
+     * @return T
+     * @throws JsonProcessingException
+     *             on error
+     */
+    public static <T> T readGraph(final String json, final Class<T> type) throws JsonProcessingException {
+        return GRAPH_MAPPER.readValue(json, type);
+    }
+}
@@ -0,0 +1,115 @@
+package uk.co.aosd.onto.reference.json;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import com.fasterxml.jackson.databind.jsontype.impl.ClassNameIdResolver;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+/**
+ * Default typing that identifies the classes registered by {@link JsonTypes}
+ * by their registered names, and any other class by its class name.
+ *
+ * <p>
+ * Jackson's default typing can only use class names, so the names given to
+ * the subtypes would never be written. With this typing a Human is written as
+ * {@code ["HumanImpl", {...}]}, which is shorter and does not change when the
+ * class is moved. Values of classes that are not registered, such as the JDK's
+ * Sets or an application's own classes, still carry their class names, and
+ * are checked against the PolymorphicTypeValidator when they are read. A class
+ * that is not registered but is annotated with {@link JsonTypeName} is written
+ * with that name, and read back as the class registered under it.
+ * </p>
+ *
+ * @author Tony Walmsley
+ */
+final class RegisteredNameTyping extends ObjectMapper.DefaultTypeResolverBuilder {
+    private static final long serialVersionUID = 1L;
+
+    private final Collection<NamedType> registered;
+
+    /**
+     * Create the typing.
+     *
+     * @param ptv
+     *            Checks the classes that are read by their class names.
+     * @param registered
+     *            The registered classes and their names.
+     */
+    RegisteredNameTyping(final PolymorphicTypeValidator ptv, final Collection<NamedType> registered) {
+        super(ObjectMapper.DefaultTyping.NON_FINAL, ptv);
+        this.registered = List.copyOf(registered);
+        init(JsonTypeInfo.Id.CUSTOM, null);
+        inclusion(JsonTypeInfo.As.WRAPPER_ARRAY);
+    }
+
+    @Override
+    protected TypeIdResolver idResolver(final MapperConfig<?> config, final JavaType baseType, final PolymorphicTypeValidator subtypeValidator,
+        final Collection<NamedType> subtypes, final boolean forSer, final boolean forDeser) {
+        final var names = new HashMap<Class<?>, String>();
+        final var types = new HashMap<String, JavaType>();
+        for (final var type : registered) {
+            if (baseType.getRawClass().isAssignableFrom(type.getType())) {
+                names.put(type.getType(), type.getName());
+                types.put(type.getName(), config.constructType(type.getType()));
+            }
+        }
+        return new Resolver(baseType, config.getTypeFactory(), subtypeValidator, names, types);
+    }
+
+    /**
+     * Writes and reads registered names, falling back to class names.
+     */
+    private static final class Resolver extends ClassNameIdResolver {
+        private final Map<Class<?>, String> names;
+        private final Map<String, JavaType> types;
+
+        Resolver(final JavaType baseType, final TypeFactory typeFactory, final PolymorphicTypeValidator ptv, final Map<Class<?>, String> names,
+            final Map<String, JavaType> types) {
+            super(baseType, typeFactory, ptv);
+            this.names = names;
+            this.types = types;
+        }
+
+        @Override
+        public String idFromValue(final Object value) {
+            return idFromValueAndType(value, value.getClass());
+        }
+
+        @Override
+        public String idFromValueAndType(final Object value, final Class<?> type) {
+            final var name = names.get(type);
+            if (name != null) {
+                return name;
+            }
+            final var annotation = type.getAnnotation(JsonTypeName.class);
+            if (annotation != null && types.containsKey(annotation.value())) {
+                return annotation.value();
+            }
+            return super.idFromValueAndType(value, type);
+        }
+
+        @Override
+        public JavaType typeFromId(final DatabindContext context, final String id) throws IOException {
+            final var type = types.get(id);
+            return type != null ? type : super.typeFromId(context, id);
+        }
+
+        @Override
+        public JsonTypeInfo.Id getMechanism() {
+            return JsonTypeInfo.Id.CUSTOM;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package uk.co.aosd.onto.foundation;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Instant;
 import java.util.Set;
@@ -20,6 +22,7 @@ import uk.co.aosd.onto.reference.LanguageImpl;
 import uk.co.aosd.onto.reference.MembershipImpl;
 import uk.co.aosd.onto.reference.OntologyServicesImpl;
 import uk.co.aosd.onto.reference.OrganisationImpl;
+import uk.co.aosd.onto.reference.StructuralEquality;
 import uk.co.aosd.onto.reference.events.AppointedImpl;
 import uk.co.aosd.onto.reference.events.BirthImpl;
 import uk.co.aosd.onto.reference.events.DeathImpl;
@@ -27,6 +30,7 @@ import uk.co.aosd.onto.reference.events.DissolvedImpl;
 import uk.co.aosd.onto.reference.events.FormedImpl;
 import uk.co.aosd.onto.reference.events.RemovedImpl;
 import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.reference.json.OntologyJson;
 import uk.co.aosd.onto.signifying.Signifier;
 
 /**
@@ -127,6 +131,20 @@ public class PotusExampleTest {
         final var usa2 = JsonUtils.readJsonString(json, Nation.class);
 
         assertEquals(usa, usa2);
+        assertTrue(StructuralEquality.equal(usa, usa2));
+
+        // Written by reference, each shared thing appears once and is shared again when read.
+        final var graph = OntologyJson.writeGraph(usa);
+        assertTrue(graph.length() < json.length());
+        assertEquals(1, graph.split("American English", -1).length - 1);
+        final var usa3 = OntologyJson.readGraph(graph, Nation.class);
+        assertEquals(usa, usa3);
+        final var names = usa3.getNames().getMembers();
+        assertEquals(5, names.size());
+        for (final var name : names) {
+            assertSame(names.iterator().next().getBeginning(), name.getBeginning());
+            assertSame(names.iterator().next().getLanguage(), name.getLanguage());
+        }
     }
 
     private static String randStr() {
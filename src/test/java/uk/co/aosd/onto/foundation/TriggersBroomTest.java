@@ -1,5 +1,6 @@
 package uk.co.aosd.onto.foundation;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.time.Instant;
@@ -90,14 +91,15 @@ public class TriggersBroomTest {
         assertSame(activityFrom, activityRecord.getBeginning());
         assertSame(activityTo, activityRecord.getEnding());
 
-        assertSame(activityFrom.getFrom(), activityRecord.getOldBroom().getEnding().getFrom());
-        assertSame(activityFrom.getFrom(), activityRecord.getOldBroom().getHeadWithBracketAssembly().getHeadAssembly().getBristles().getEnding().getFrom());
-        assertSame(activityFrom.getFrom(), activityRecord.getOldBristles().getEnding().getFrom());
-        assertSame(activityFrom.getFrom(), activityRecord.getOldHeadAssembly().getEnding().getFrom());
-        assertSame(activityFrom.getFrom(), activityRecord.getOldHeadWithBracketAssembly().getEnding().getFrom());
+        // Events keep their bounds as epoch numbers, so each bound read is a new Instant that is equal but not the same.
+        assertEquals(activityFrom.getFrom(), activityRecord.getOldBroom().getEnding().getFrom());
+        assertEquals(activityFrom.getFrom(), activityRecord.getOldBroom().getHeadWithBracketAssembly().getHeadAssembly().getBristles().getEnding().getFrom());
+        assertEquals(activityFrom.getFrom(), activityRecord.getOldBristles().getEnding().getFrom());
+        assertEquals(activityFrom.getFrom(), activityRecord.getOldHeadAssembly().getEnding().getFrom());
+        assertEquals(activityFrom.getFrom(), activityRecord.getOldHeadWithBracketAssembly().getEnding().getFrom());
 
-        assertSame(activityFrom.getFrom(), activityRecord.getNewBroom().getBeginning().getFrom());
-        assertSame(UNKNOWN_END.getFrom(), activityRecord.getNewBroom().getEnding().getFrom());
+        assertEquals(activityFrom.getFrom(), activityRecord.getNewBroom().getBeginning().getFrom());
+        assertEquals(UNKNOWN_END.getFrom(), activityRecord.getNewBroom().getEnding().getFrom());
 
         assertSame(broomBracket, activityRecord.getNewBroom().getHeadWithBracketAssembly().getBracket());
         assertSame(broomHead, activityRecord.getNewBroom().getHeadWithBracketAssembly().getHeadAssembly().getHead());
@@ -0,0 +1,323 @@
+package uk.co.aosd.onto.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.co.aosd.onto.events.Birth;
+import uk.co.aosd.onto.foundation.Car;
+import uk.co.aosd.onto.foundation.Class;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.language.Language;
+import uk.co.aosd.onto.organisation.Membership;
+import uk.co.aosd.onto.reference.HumanImpl;
+import uk.co.aosd.onto.reference.MembershipImpl;
+import uk.co.aosd.onto.reference.ModelImpl;
+import uk.co.aosd.onto.reference.OntologyBinary;
+import uk.co.aosd.onto.reference.OntologyServicesImpl;
+import uk.co.aosd.onto.reference.events.AppointedImpl;
+import uk.co.aosd.onto.reference.events.BirthImpl;
+import uk.co.aosd.onto.reference.events.DeathImpl;
+import uk.co.aosd.onto.reference.events.EpochEvent;
+import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.reference.json.JsonTypes;
+import uk.co.aosd.onto.reference.json.OntologyJson;
+import uk.co.aosd.onto.signifying.Signifier;
+
+/**
+ * Test binary snapshots, mapped views and the binary codec.
+ *
+ * @author Tony Walmsley
+ */
+public class BinaryTest {
+
+    private static final OntologyServicesImpl svc = new OntologyServicesImpl();
+
+    @Test
+    public void testSaveAndLoadABinarySnapshot(@TempDir final Path dir) throws IOException {
+        final var model = svc.createConcurrentModel("model1");
+        final var english = svc.createLanguage("en-GB", "British English");
+        final var named = new ResignifiedImpl("named", Instant.parse("1948-02-04T00:00:00.00Z"), null);
+        final var name = svc.createSignifier("name", "Alice", english, named, null);
+        final Class<Signifier<String, ResignifiedImpl>> names = svc.createClass("aliceNames", Set.of(name));
+        final var alice = svc.createHuman("alice", new BirthImpl("aliceBorn", null, null), new DeathImpl("aliceDied", null, null), names, english,
+            svc.createClass("languages", Set.of(english)), null);
+        model.addAll(Stream.of(english, name, names, alice, svc.createLanguage("Aa", "Language Aa"), svc.createLanguage("BB", "Language BB")), 6);
+        IntStream.range(0, 1_000).forEach(i -> model.add(ModelFixtures.car("car" + i, 1900 + i % 100, i % 2 == 0 ? null : 2000)));
+        final var file = dir.resolve("model1.bin");
+
+        model.save(file);
+        final var loaded = ModelImpl.load(file);
+
+        assertEquals("model1", loaded.getIdentifier());
+        assertEquals(model.getThings().size(), loaded.getThings().size());
+        final var loadedAlice = (HumanImpl) loaded.getThing("alice").orElseThrow();
+        assertEquals(alice, loadedAlice);
+        assertSame(loaded.getThing("en-GB").orElseThrow(), loadedAlice.getNativeLanguage());
+        assertSame(loadedAlice, loaded.getThing("alice").orElseThrow());
+        assertTrue(loaded.getThing("Aa").isPresent());
+        assertTrue(loaded.getThing("BB").isPresent());
+        assertFalse(loaded.getThing("missing").isPresent());
+        assertEquals(model.getThings(), Set.copyOf(loaded.getThings()));
+        assertThrows(UnsupportedOperationException.class, () -> loaded.add(english));
+
+        final var reloaded = loaded.toModelImpl();
+        assertEquals(1_000, reloaded.getThingsOfType(Car.class).size());
+        assertEquals(model.getIndividualsExistingAt(ModelFixtures.year(2010)).size(), reloaded.getIndividualsExistingAt(ModelFixtures.year(2010)).size());
+        assertEquals(Set.of(name), reloaded.getReferrers("named"));
+
+        Files.writeString(dir.resolve("bad.bin"), "not a snapshot");
+        assertThrows(IOException.class, () -> ModelImpl.load(dir.resolve("bad.bin")));
+    }
+
+    @Test
+    public void testMappedViewsDecodeFieldsOnDemand(@TempDir final Path dir) throws IOException {
+        final var model = svc.createConcurrentModel("model1");
+        final var english = svc.createLanguage("en-GB", "British English");
+        final var named = new ResignifiedImpl("named", Instant.parse("1948-02-04T00:00:00.00Z"), null);
+        final var name = svc.createSignifier("name", "Alice", english, named, null);
+        final Class<Signifier<String, ResignifiedImpl>> names = svc.createClass("aliceNames", Set.of(name));
+        final var born = new BirthImpl("aliceBorn", Instant.parse("1948-02-04T00:00:00.00Z"), null);
+        final var alice = svc.createHuman("alice", born, new DeathImpl("aliceDied", null, null), names, english,
+            svc.createClass("languages", Set.of(english)), null);
+        final var membership = svc.createMembership("membership", alice, null, new AppointedImpl("appointed", null, null), null);
+        model.addAll(Stream.of(english, name, names, alice, membership), 5);
+        final var file = dir.resolve("model1.bin");
+        model.save(file);
+        final var loaded = ModelImpl.load(file);
+
+        final var view = (Membership<?, ?, ?, ?, ?, ?, ?>) loaded.getView("membership").orElseThrow();
+        assertFalse(view instanceof MembershipImpl);
+        assertEquals("membership", view.getIdentifier());
+        assertEquals(membership.getBeginning(), view.getBeginning());
+        assertNull(view.getEnding());
+        final var member = view.getMember();
+        assertFalse(member instanceof HumanImpl);
+        assertEquals("alice", member.getIdentifier());
+        assertEquals(born, member.getBeginning());
+        assertEquals("British English", member.getNativeLanguage().getName());
+        assertEquals(names, member.getNames());
+        assertEquals(member, loaded.getView("alice").orElseThrow());
+        assertSame(loaded.getThing("en-GB").orElseThrow(), loaded.getView("en-GB").orElseThrow());
+        assertFalse(loaded.getView("missing").isPresent());
+        assertFalse(loaded.getView(null).isPresent());
+        assertFalse(loaded.getThing(null).isPresent());
+        assertEquals(alice, loaded.getThing("alice").orElseThrow());
+        assertSame(loaded.getThing("alice").orElseThrow(), loaded.getView("alice").orElseThrow());
+    }
+
+    @Test
+    public void testOntologyBinaryRoundTrip() throws JsonProcessingException {
+        final var english = svc.createLanguage("en-GB", "British English");
+        final var named = new ResignifiedImpl("named", Instant.parse("1948-02-04T12:34:56.789Z"), null);
+        final var name = svc.createSignifier("name", "Alice", english, named, null);
+        final Class<Signifier<String, ResignifiedImpl>> names = svc.createClass("aliceNames", Set.of(name));
+        final var alice = svc.createHuman("alice", new BirthImpl("aliceBorn", null, null), new DeathImpl("aliceDied", null, null), names, english,
+            svc.createClass("languages", Set.of(english)), null);
+
+        final var bytes = OntologyBinary.write(alice);
+        // The version and the hash of the registered classes, then no class names as only they are used.
+        assertEquals(OntologyBinary.VERSION, bytes[0]);
+        assertEquals(0, bytes[5]);
+        assertTrue(bytes.length * 3 < OntologyJson.write(alice).length());
+        assertEquals(alice, OntologyBinary.read(bytes, HumanImpl.class));
+
+        final var car = ModelFixtures.car("car", 2000, null);
+        assertEquals(car, OntologyBinary.read(OntologyBinary.write(car), Car.class));
+
+        // Bytes of another version are refused.
+        final var old = bytes.clone();
+        old[0] = 0;
+        assertThrows(IllegalArgumentException.class, () -> OntologyBinary.read(old, HumanImpl.class));
+    }
+
+    @Test
+    public void testOntologyBinaryRefusesChangedFields() {
+        final var bytes = OntologyBinary.write(new Link("link", null));
+        assertEquals(new Link("link", null), OntologyBinary.read(bytes, Link.class));
+
+        // The hash of the registered classes follows the version.
+        final var registered = bytes.clone();
+        registered[1]++;
+        final var e = assertThrows(IllegalArgumentException.class, () -> OntologyBinary.read(registered, Link.class));
+        assertInstanceOf(InvalidClassException.class, e.getCause());
+
+        // Each class name is followed by the hash of its fields.
+        final var linked = bytes.clone();
+        linked[1 + 4 + 1 + 1 + Link.class.getName().length()]++;
+        final var f = assertThrows(IllegalArgumentException.class, () -> OntologyBinary.read(linked, Link.class));
+        assertInstanceOf(InvalidClassException.class, f.getCause());
+        assertTrue(f.getCause().getMessage().startsWith(Link.class.getName()));
+    }
+
+    @Test
+    public void testOntologyBinaryClassNumbersArePinned() {
+        // The class numbers are part of the format: add new classes at the end and never reorder these.
+        assertEquals(List.of("AgglomerateImpl", "AggregateImpl", "AttributeImpl", "ClassImpl", "CurrencyImpl", "DNAImpl", "EmploymentImpl",
+            "HumanImpl", "IdentifierSet", "LanguageImpl", "MembershipImpl", "MonetaryValueImpl", "OrganisationImpl", "OwningImpl",
+            "PossibleWorldImpl", "PropertyImpl", "ScalarAttributeImpl", "ScalarPropertyImpl", "ScalarValueImpl", "SignifierImpl",
+            "SignifyingImpl", "StateImpl", "TransferringOfOwnershipImpl", "AggregatedImpl", "AppointedImpl", "AssembledImpl", "BirthImpl",
+            "BoughtImpl", "BuiltImpl", "ChangedImpl", "CreatedImpl", "DeathImpl", "DecommissionedImpl", "DeletedImpl", "DestroyedImpl",
+            "DisaggregatedImpl", "DisassembledImpl", "DissolvedImpl", "FormedImpl", "InstalledImpl", "RemovedImpl", "ResignifiedImpl",
+            "ScrappedImpl", "SoldImpl", "StartedImpl", "StoppedImpl", "TransferredFromImpl", "TransferredToImpl"),
+            OntologyBinary.CLASSES.stream().map(java.lang.Class::getSimpleName).toList());
+
+        // Every JSON type but the model, which cannot be encoded, is numbered.
+        final var missing = new ArrayList<>(JsonTypes.SUBTYPES);
+        missing.removeAll(OntologyBinary.CLASSES);
+        assertEquals(List.of(ModelImpl.class), missing);
+    }
+
+    @Test
+    public void testMappedModelDecodesCycles(@TempDir final Path dir) throws IOException {
+        final var model = svc.createConcurrentModel("model1");
+        final var a = new Link("A", null);
+        final var b = new Link("B", a);
+        a.next = b;
+        model.addAll(Stream.of(a, b), 2);
+        final var file = dir.resolve("model1.bin");
+        model.save(file);
+
+        final var loaded = ModelImpl.load(file);
+        final var loadedA = (Link) loaded.getThing("A").orElseThrow();
+        assertEquals("B", loadedA.next.getIdentifier());
+        assertSame(loadedA, loadedA.next.next);
+        assertSame(loadedA.next, loaded.getThing("B").orElseThrow());
+
+        final var reloaded = ModelImpl.load(file).toModelImpl();
+        final var reloadedB = (Link) reloaded.getThing("B").orElseThrow();
+        assertEquals("A", reloadedB.next.getIdentifier());
+        assertEquals(reloadedB, reloadedB.next.next);
+    }
+
+    @Test
+    public void testMappedEventViews(@TempDir final Path dir) throws IOException {
+        final var model = svc.createConcurrentModel("model1");
+        final var born = new BirthImpl("born", Instant.parse("1948-02-04T12:34:56.789Z"), null);
+        final var tick = new Tick("tick", 1_000L);
+        final var frozen = new BirthImpl("frozen", born.getFrom(), null).freeze();
+        model.addAll(Stream.of(born, frozen, tick), 3);
+        final var file = dir.resolve("model1.bin");
+        model.save(file);
+        final var loaded = ModelImpl.load(file);
+
+        // A view of a reference event is still of its kind of event.
+        final var view = loaded.getView("born").orElseThrow();
+        assertTrue(view instanceof Birth);
+        assertFalse(view instanceof BirthImpl);
+        final var birth = (Birth) view;
+        assertEquals("born", birth.getIdentifier());
+        assertEquals(born.getFrom(), birth.getFrom());
+        assertNull(birth.getTo());
+        assertEquals(view, loaded.getView("born").orElseThrow());
+        assertEquals(born, loaded.getThing("born").orElseThrow());
+        assertEquals(born.getFrom(), ((Birth) loaded.getView("frozen").orElseThrow()).getFrom());
+
+        // Fields with other names are read from the decoded event.
+        final var tickView = (EpochEvent) loaded.getView("tick").orElseThrow();
+        assertFalse(tickView instanceof Tick);
+        assertEquals(Instant.ofEpochSecond(1_000L), tickView.getFrom());
+        assertEquals(1_000L, tickView.getToEpochSecond());
+        assertTrue(loaded.getView("tick").orElseThrow() instanceof Tick);
+    }
+
+    /**
+     * An event whose fields are not named as those of the reference events.
+     */
+    static final class Tick implements EpochEvent {
+        private String identifier;
+        private long at;
+
+        Tick() {
+        }
+
+        Tick(final String identifier, final long at) {
+            this.identifier = identifier;
+            this.at = at;
+        }
+
+        @Override
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        @Override
+        public Instant getFrom() {
+            return Instant.ofEpochSecond(at);
+        }
+
+        @Override
+        public Instant getTo() {
+            return getFrom();
+        }
+
+        @Override
+        public long getFromEpochSecond() {
+            return at;
+        }
+
+        @Override
+        public int getFromNano() {
+            return 0;
+        }
+
+        @Override
+        public long getToEpochSecond() {
+            return at;
+        }
+
+        @Override
+        public int getToNano() {
+            return 0;
+        }
+    }
+
+    /**
+     * A thing that refers to another, so that things can form a cycle.
+     */
+    static final class Link implements UniquelyIdentifiable {
+        private String identifier;
+        private Link next;
+
+        Link() {
+        }
+
+        Link(final String identifier, final Link next) {
+            this.identifier = identifier;
+            this.next = next;
+        }
+
+        @Override
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Link other && identifier.equals(other.identifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return identifier.hashCode();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package uk.co.aosd.onto.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import uk.co.aosd.onto.reference.IdGenerator;
+import uk.co.aosd.onto.reference.OntologyServicesImpl;
+import uk.co.aosd.onto.reference.events.BirthImpl;
+import uk.co.aosd.onto.reference.events.DeathImpl;
+import uk.co.aosd.onto.reference.events.EventInterner;
+import uk.co.aosd.onto.reference.events.StartedImpl;
+import uk.co.aosd.onto.reference.events.StoppedImpl;
+import uk.co.aosd.onto.reference.events.TransferredFromImpl;
+import uk.co.aosd.onto.reference.events.TransferredToImpl;
+
+/**
+ * Test the sharing of equal events.
+ *
+ * @author Tony Walmsley
+ */
+public class EventInternerTest {
+
+    private static final Instant FEB_4TH_1948_START = Instant.parse("1948-02-04T00:00:00.00Z");
+    private static final Instant FEB_4TH_1948_END = Instant.parse("1948-02-04T23:59:59.99Z");
+    private static final Instant NOV_11TH_2024_START = Instant.parse("2024-11-11T00:00:00.00Z");
+    private static final Instant NOV_11TH_2024_MIDDAY = Instant.parse("2024-11-11T12:00:00.00Z");
+
+    @Test
+    public void testSharedEvents() {
+        // Events are shared as copies that cannot be changed, and only with the same identifier.
+        final var interner = new EventInterner();
+        final var born = new BirthImpl("born1", FEB_4TH_1948_START, FEB_4TH_1948_END);
+        final var shared = interner.intern(born);
+        assertNotSame(born, shared);
+        assertSame(BirthImpl.class, shared.getClass());
+        assertEquals(born, shared);
+        assertEquals(shared, born);
+        assertEquals(born.toString(), shared.toString());
+        assertSame(shared, interner.intern(shared));
+        assertSame(shared, interner.intern(new BirthImpl("born1", FEB_4TH_1948_START, FEB_4TH_1948_END)));
+        assertNotSame(shared, interner.intern(new BirthImpl("born2", FEB_4TH_1948_START, FEB_4TH_1948_END)));
+        assertNotSame(shared, interner.intern(new DeathImpl("born1", FEB_4TH_1948_START, FEB_4TH_1948_END)));
+        assertNotSame(shared, interner.intern(new BirthImpl("born1", FEB_4TH_1948_START, null)));
+        assertEquals(4, interner.size());
+        assertThrows(UnsupportedOperationException.class, () -> shared.setTo(null));
+        assertThrows(UnsupportedOperationException.class, () -> shared.setIdentifier("changed"));
+        assertEquals(FEB_4TH_1948_END, shared.getTo());
+        born.setTo(null);
+        assertEquals(FEB_4TH_1948_END, shared.getTo());
+    }
+
+    @Test
+    public void testMergedIdentifiers() {
+        // Merging identifiers must be asked for.
+        final var merging = new EventInterner(true);
+        final var merged = merging.intern(new BirthImpl("born1", FEB_4TH_1948_START, FEB_4TH_1948_END));
+        assertSame(merged, merging.intern(new BirthImpl("born2", FEB_4TH_1948_START, FEB_4TH_1948_END)));
+        assertEquals("born1", merged.getIdentifier());
+    }
+
+    @Test
+    public void testOpenEndedEvents() {
+        final var open = EventInterner.openEnded(TransferredToImpl.class);
+        assertSame(open, EventInterner.openEnded(TransferredToImpl.class));
+        assertNull(open.getFrom());
+        assertNull(open.getTo());
+        assertThrows(UnsupportedOperationException.class, () -> open.setFrom(NOV_11TH_2024_START));
+        assertNotEquals(open.getIdentifier(), EventInterner.openEnded(DeathImpl.class).getIdentifier());
+    }
+
+    @Test
+    public void testTransfersShareEvents() {
+        // Transfers at the same time share their events, and new ownerships share the open-ended ending.
+        final var ids = new OntologyServicesImpl(false, IdGenerator.timeOrdered(), new EventInterner(true));
+        final var owner = ModelFixtures.car("owner", 1990, null);
+        final var car = ModelFixtures.car("car", 1999, null);
+        final var begins = new StartedImpl("transferBegins", NOV_11TH_2024_START, NOV_11TH_2024_START);
+        final var ends = new StoppedImpl("transferEnds", NOV_11TH_2024_MIDDAY, NOV_11TH_2024_MIDDAY);
+        final var owning1 = ids.createOwnership("owning1", "Car Purchase", owner, car, new TransferredFromImpl("bought1", null, null), null);
+        final var owning2 = ids.createOwnership("owning2", "Car Purchase", owner, car, new TransferredFromImpl("bought2", null, null), null);
+        final var transfer1 = ids.transferOwnership("transfer1", "Car Sold", owning1, ModelFixtures.car("buyer1", 2000, null), begins, ends);
+        final var transfer2 = ids.transferOwnership("transfer2", "Car Sold", owning2, ModelFixtures.car("buyer2", 2000, null), begins, ends);
+        assertSame(transfer1.getBeginning(), transfer2.getBeginning());
+        assertSame(transfer1.getEnding(), transfer2.getEnding());
+        final var open = EventInterner.openEnded(TransferredToImpl.class);
+        assertSame(open, transfer1.getTo().getEnding());
+        assertSame(open, transfer2.getTo().getEnding());
+
+        // Without merging, transfers make their own events.
+        final var unmerged = new OntologyServicesImpl(false, IdGenerator.timeOrdered(), new EventInterner());
+        final var transfer3 = unmerged.transferOwnership("transfer3", "Car Sold", owning1, ModelFixtures.car("buyer3", 2000, null), begins, ends);
+        final var transfer4 = unmerged.transferOwnership("transfer4", "Car Sold", owning2, ModelFixtures.car("buyer4", 2000, null), begins, ends);
+        assertNotEquals(transfer3.getBeginning().getIdentifier(), transfer4.getBeginning().getIdentifier());
+        assertNotEquals(transfer3.getTo().getEnding().getIdentifier(), transfer4.getTo().getEnding().getIdentifier());
+    }
+}
@@ -0,0 +1,77 @@
+package uk.co.aosd.onto.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import uk.co.aosd.onto.foundation.Car;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.reference.EndedIndividualsEvictionPolicy;
+import uk.co.aosd.onto.reference.OntologyServicesImpl;
+
+/**
+ * Test evicting individuals from a model that is over budget.
+ *
+ * @author Tony Walmsley
+ */
+public class EvictionTest {
+
+    private static final OntologyServicesImpl svc = new OntologyServicesImpl();
+
+    @Test
+    public void testEvictionDropsTheEarliestEndedIndividuals() {
+        final var model = svc.createConcurrentModel("model1");
+        final var spilled = new ArrayList<UniquelyIdentifiable>();
+        model.setEvictionPolicy(EndedIndividualsEvictionPolicy.maxThings(60, Duration.ofDays(365), spilled::add));
+
+        for (int i = 0; i < 100; i++) {
+            model.add(i % 10 < 7 ? ModelFixtures.car("car" + i, 1900 + i, 1910 + i) : ModelFixtures.car("car" + i, 1900 + i, null));
+        }
+
+        // Each eviction goes down to the low-water mark of 54 things.
+        final int size = model.getThings().size();
+        assertTrue(size >= 54 && size <= 60);
+        assertEquals(100 - size, spilled.size());
+        assertEquals(size, model.getThingsOfType(Car.class).size());
+        assertEquals(size, model.getIndividualsExistingBetween(null, null).size());
+        assertEquals(size, model.snapshot().getThings().size());
+        for (final var thing : spilled) {
+            assertFalse(model.getThing(thing.getIdentifier()).isPresent());
+            assertTrue(((Car) thing).getEnding().getTo() != null);
+        }
+        final var latestSpilled = spilled.stream().map(t -> ((Car) t).getEnding().getTo()).max(Instant::compareTo).get();
+        model.getThingsOfType(Car.class).stream()
+            .filter(c -> c.getEnding().getTo() != null)
+            .forEach(c -> assertTrue(c.getEnding().getTo().isAfter(latestSpilled)));
+    }
+
+    @Test
+    public void testIndividualsEndedBeforeAreInOrderOfEnding() {
+        final var model = svc.createConcurrentModel("model1");
+        model.add(ModelFixtures.car("A", 1900, 1950));
+        model.add(ModelFixtures.car("B", 1910, 1920));
+        model.add(ModelFixtures.car("C", 1905, null));
+        model.addAll(Stream.of(ModelFixtures.car("D", 1901, 1930), ModelFixtures.car("E", 1902, 1990)), 2);
+
+        assertEquals(List.of("B", "D", "A"), ids(model.getIndividualsEndedBefore(ModelFixtures.year(1960), 10)));
+        assertEquals(List.of("B", "D"), ids(model.getIndividualsEndedBefore(ModelFixtures.year(1960), 2)));
+
+        // Removing an Individual drops it, and adding it back with a new ending moves it.
+        model.remove("B");
+        model.remove("D");
+        model.add(ModelFixtures.car("B", 1910, 1970));
+        assertEquals(List.of("A"), ids(model.getIndividualsEndedBefore(ModelFixtures.year(1960), 10)));
+        assertEquals(List.of("A", "B", "E"), ids(model.getIndividualsEndedBefore(ModelFixtures.year(2000), 10)));
+    }
+
+    private static List<String> ids(final List<? extends UniquelyIdentifiable> things) {
+        return things.stream().map(UniquelyIdentifiable::getIdentifier).toList();
+    }
+}
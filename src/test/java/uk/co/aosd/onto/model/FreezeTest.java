@@ -0,0 +1,152 @@
+package uk.co.aosd.onto.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.co.aosd.onto.biological.Human;
+import uk.co.aosd.onto.foundation.Class;
+import uk.co.aosd.onto.foundation.JsonUtils;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.HumanImpl;
+import uk.co.aosd.onto.reference.ModelImpl;
+import uk.co.aosd.onto.reference.OntologyServicesImpl;
+import uk.co.aosd.onto.reference.SignifierImpl;
+import uk.co.aosd.onto.reference.StructuralEquality;
+import uk.co.aosd.onto.reference.events.AppointedImpl;
+import uk.co.aosd.onto.reference.events.BirthImpl;
+import uk.co.aosd.onto.reference.events.EpochEvent;
+import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.reference.frozen.FrozenHuman;
+import uk.co.aosd.onto.reference.frozen.FrozenMembership;
+import uk.co.aosd.onto.reference.frozen.events.FrozenBirth;
+import uk.co.aosd.onto.signifying.Signifier;
+
+/**
+ * Test frozen models, structural equality and epoch events.
+ *
+ * @author Tony Walmsley
+ */
+public class FreezeTest {
+
+    private static final OntologyServicesImpl svc = new OntologyServicesImpl();
+
+    @Test
+    public void testFreeze(@TempDir final Path dir) throws IOException {
+        final var model = svc.createConcurrentModel("model1");
+        final var english = svc.createLanguage("en-GB", "British English");
+        final var named = new ResignifiedImpl("named", Instant.parse("1948-02-04T00:00:00.00Z"), null);
+        final var name = svc.createSignifier("name", "Alice", english, named, null);
+        final Class<Signifier<String, ResignifiedImpl>> names = svc.createClass("aliceNames", Set.of(name));
+        final var alice = svc.createHuman("alice", new BirthImpl("aliceBorn", ModelFixtures.year(1948), ModelFixtures.year(1948)), null, names, english,
+            svc.createClass("languages", Set.of(english)), null);
+        final var membership = svc.createMembership("membership", alice, null, new AppointedImpl("appointed", null, null), null);
+        model.addAll(Stream.of(english, name, names, alice, membership), 5);
+
+        final var frozen = model.freeze();
+
+        assertEquals(5, frozen.getThings().size());
+        final var frozenAlice = (FrozenHuman) frozen.getThing("alice").orElseThrow();
+        assertEquals(alice.freeze(), frozenAlice);
+        assertEquals(alice.freeze().hashCode(), frozenAlice.hashCode());
+        assertSame(frozen.getThing("en-GB").orElseThrow(), frozenAlice.getNativeLanguage());
+        assertSame(frozenAlice, ((FrozenMembership<?>) frozen.getThing("membership").orElseThrow()).getMember());
+        assertSame(frozen.getThing("name").orElseThrow(), frozenAlice.getNames().getMembers().iterator().next());
+        assertEquals(Set.of(frozenAlice), frozen.getThingsOfType(Human.class));
+        assertEquals(Set.of(frozenAlice.getNames().getMembers().iterator().next()), frozen.getReferrers("named"));
+        assertEquals(List.of(frozenAlice), frozen.getIndividualsExistingAt(ModelFixtures.year(2000)).stream().filter(FrozenHuman.class::isInstance).toList());
+        assertThrows(UnsupportedOperationException.class, () -> frozenAlice.getLanguages().getMembers().clear());
+
+        // The frozen copy is independent of the mutable original.
+        english.setName("English");
+        assertEquals("British English", frozenAlice.getNativeLanguage().getName());
+
+        frozen.save(dir.resolve("frozen.bin"));
+        assertEquals(frozenAlice, ModelImpl.load(dir.resolve("frozen.bin")).getThing("alice").orElseThrow());
+    }
+
+    @Test
+    public void testStructuralEquality(@TempDir final Path dir) throws IOException {
+        final var model = (ModelImpl) svc.createModel("model1");
+        final var english = svc.createLanguage("en-GB", "British English");
+        final var named = new ResignifiedImpl("named", Instant.parse("1948-02-04T00:00:00.00Z"), null);
+        final var name = svc.createSignifier("name", "Alice", english, named, null);
+        final Class<Signifier<String, ResignifiedImpl>> names = svc.createClass("aliceNames", Set.of(name));
+        final var alice = svc.createHuman("alice", new BirthImpl("aliceBorn", null, null), null, names, english,
+            svc.createClass("languages", Set.of(english)), null);
+        model.addAll(Stream.of(english, name, names, alice), 4);
+        IntStream.range(0, 100).forEach(i -> model.add(ModelFixtures.car("car" + i, 1900 + i, null)));
+        model.save(dir.resolve("model1.bin"));
+
+        final var loaded = ModelImpl.load(dir.resolve("model1.bin"));
+        assertTrue(StructuralEquality.equal(model, loaded));
+        assertTrue(StructuralEquality.equal(model, JsonUtils.readJsonString(JsonUtils.writeJsonString(model), ModelImpl.class)));
+
+        final var copy = loaded.toModelImpl();
+        ((SignifierImpl<String>) ((HumanImpl) copy.getThing("alice").orElseThrow()).getNames().getMembers().iterator().next()).setName("Ally");
+        assertEquals(Optional.of("things[alice].names.members[name].name"), StructuralEquality.difference(model, copy));
+        assertFalse(StructuralEquality.equal(model, svc.createModel("model1")));
+
+        // Far deeper than a recursive equals can go.
+        Object deep1 = "leaf";
+        Object deep2 = "leaf";
+        for (int i = 0; i < 100_000; i++) {
+            deep1 = List.of(deep1);
+            deep2 = List.of(deep2);
+        }
+        assertTrue(StructuralEquality.equal(deep1, deep2));
+        assertFalse(StructuralEquality.equal(deep1, List.of(deep2)));
+    }
+
+    @Test
+    public void testEpochEvents(@TempDir final Path dir) throws IOException {
+        final var early = Instant.parse("1066-10-14T09:30:00.123456789Z");
+        final var born = new FrozenBirth(CompactId.key("born"), early, null);
+        assertEquals(early, born.getFrom());
+        assertNull(born.getTo());
+        assertEquals(early.getEpochSecond(), born.getFromEpochSecond());
+        assertEquals(123_456_789, born.getFromNano());
+        assertEquals(EpochEvent.NONE, born.getToNano());
+
+        // The bounds are kept as numbers, so each read is a new, equal Instant.
+        final var mutable = new BirthImpl("born", early, null);
+        assertNotSame(early, mutable.getFrom());
+        assertNotSame(mutable.getFrom(), mutable.getFrom());
+        assertEquals(mutable.getFrom(), mutable.getFrom());
+        assertNotSame(born.getFrom(), born.getFrom());
+        assertEquals(born, new BirthImpl("born", early, null).freeze());
+        assertEquals(born.hashCode(), new BirthImpl("born", early, null).freeze().hashCode());
+        assertFalse(born.equals(new FrozenBirth(CompactId.key("born"), early, early)));
+
+        final var model = svc.createConcurrentModel("model1");
+        model.add(ModelFixtures.car("open", 1900, null));
+        IntStream.range(0, 100).forEach(i -> model.add(ModelFixtures.car("car" + i, 1900 + i, 1950 + i)));
+        final var frozen = model.freeze();
+        final var at = ModelFixtures.year(1990);
+        assertEquals(ModelFixtures.identifiers(model.getIndividualsExistingAt(at)), ModelFixtures.identifiers(frozen.getIndividualsExistingAt(at)));
+        assertEquals(ModelFixtures.identifiers(model.getIndividualsExistingBetween(ModelFixtures.year(1920), ModelFixtures.year(1960))),
+            ModelFixtures.identifiers(frozen.getIndividualsExistingBetween(ModelFixtures.year(1920), ModelFixtures.year(1960))));
+        assertEquals(ModelFixtures.identifiers(model.getIndividualsExistingBetween(null, ModelFixtures.year(1901))),
+            ModelFixtures.identifiers(frozen.getIndividualsExistingBetween(null, ModelFixtures.year(1901))));
+
+        frozen.save(dir.resolve("frozen.bin"));
+        final var loaded = ModelImpl.load(dir.resolve("frozen.bin"));
+        assertEquals(frozen.getThing("open").orElseThrow(), loaded.getThing("open").orElseThrow());
+        assertEquals(ModelFixtures.identifiers(frozen.getIndividualsExistingAt(at)), ModelFixtures.identifiers(loaded.toModelImpl().getIndividualsExistingAt(at)));
+    }
+}
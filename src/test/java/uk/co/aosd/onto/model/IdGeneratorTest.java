@@ -0,0 +1,50 @@
+package uk.co.aosd.onto.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import uk.co.aosd.onto.reference.IdGenerator;
+import uk.co.aosd.onto.reference.OntologyServicesImpl;
+import uk.co.aosd.onto.reference.events.StartedImpl;
+import uk.co.aosd.onto.reference.events.StoppedImpl;
+import uk.co.aosd.onto.reference.events.TransferredFromImpl;
+
+/**
+ * Test the generators of the identifiers of the events made by the services.
+ *
+ * @author Tony Walmsley
+ */
+public class IdGeneratorTest {
+
+    private static final Instant NOV_11TH_2024_START = Instant.parse("2024-11-11T00:00:00.00Z");
+    private static final Instant NOV_11TH_2024_MIDDAY = Instant.parse("2024-11-11T12:00:00.00Z");
+
+    @Test
+    public void testTimeOrderedIdentifiers() {
+        final var ids = new OntologyServicesImpl(false, IdGenerator.timeOrdered());
+        final var owning = ids.createOwnership("ownerOwnsCar", "Car Purchase", ModelFixtures.car("owner", 1990, null), ModelFixtures.car("car", 1999, null),
+            new TransferredFromImpl("bought1", ModelFixtures.year(2024), ModelFixtures.year(2024)), null);
+        final var transfer = ids.transferOwnership("carSold", "Car Sold", owning, ModelFixtures.car("buyer", 2000, null),
+            new StartedImpl("transferBegins", NOV_11TH_2024_START, NOV_11TH_2024_START),
+            new StoppedImpl("transferEnds", NOV_11TH_2024_MIDDAY, NOV_11TH_2024_MIDDAY));
+
+        final var id = UUID.fromString(transfer.getBeginning().getIdentifier());
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertTrue(Math.abs(System.currentTimeMillis() - (id.getMostSignificantBits() >>> 16)) < 60_000L);
+    }
+
+    @Test
+    public void testTimeOrderedIdentifiersSortAndAreUnique() {
+        // Identifiers from one thread sort in the order they were made, and are unique across threads.
+        final var generator = IdGenerator.timeOrdered();
+        final var sequence = IntStream.range(0, 10_000).mapToObj(i -> generator.newId()).toList();
+        assertEquals(sequence.stream().sorted().toList(), sequence);
+        assertEquals(400_000, IntStream.range(0, 400_000).parallel().mapToObj(i -> generator.newId()).distinct().count());
+    }
+}
@@ -0,0 +1,160 @@
+package uk.co.aosd.onto.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import org.junit.jupiter.api.Test;
+import uk.co.aosd.onto.foundation.Car;
+import uk.co.aosd.onto.foundation.Class;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.reference.ClassImpl;
+import uk.co.aosd.onto.reference.HumanImpl;
+import uk.co.aosd.onto.reference.IdentifierSet;
+import uk.co.aosd.onto.reference.MembershipImpl;
+import uk.co.aosd.onto.reference.ModelImpl;
+import uk.co.aosd.onto.reference.OntologyServicesImpl;
+import uk.co.aosd.onto.reference.events.AppointedImpl;
+import uk.co.aosd.onto.reference.events.BirthImpl;
+import uk.co.aosd.onto.reference.events.BuiltImpl;
+import uk.co.aosd.onto.reference.events.DeathImpl;
+import uk.co.aosd.onto.reference.events.EventInterner;
+import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.reference.frozen.Freezable;
+import uk.co.aosd.onto.reference.json.JsonTypes;
+import uk.co.aosd.onto.reference.json.ModelJsonLines;
+import uk.co.aosd.onto.reference.json.OntologyJson;
+import uk.co.aosd.onto.signifying.Signifier;
+
+/**
+ * Test the JSON type registry and streaming JSON Lines.
+ *
+ * @author Tony Walmsley
+ */
+public class JsonTest {
+
+    private static final OntologyServicesImpl svc = new OntologyServicesImpl();
+
+    @Test
+    public void testJsonTypeRegistryIsComplete() throws JsonProcessingException {
+        try (var scan = new ClassGraph().enableClassInfo().acceptPackagesNonRecursive("uk.co.aosd.onto.reference", "uk.co.aosd.onto.reference.events")
+            .scan()) {
+            final var beans = scan.getClassesImplementing(Freezable.class.getName()).stream()
+                .filter(c -> c.isPublic() && !c.isAbstract() && !c.isInterface())
+                .map(ClassInfo::loadClass)
+                .collect(Collectors.toSet());
+            assertFalse(beans.isEmpty());
+            final var missing = new HashSet<>(beans);
+            JsonTypes.SUBTYPES.forEach(missing::remove);
+            assertEquals(Set.of(), missing);
+        }
+
+        final var model = (ModelImpl) svc.createModel("model1");
+        model.add(svc.createLanguage("en-GB", "British English"));
+        assertEquals(model, OntologyJson.read(OntologyJson.write(model), ModelImpl.class));
+        assertSame(OntologyJson.mapper(), OntologyJson.mapper());
+
+        // Registered classes are written by their names and others by their class names.
+        final var car = ModelFixtures.car("car", 1900, null);
+        final var json = OntologyJson.write(car);
+        assertTrue(json.contains("[\"BuiltImpl\","));
+        assertFalse(json.contains(BuiltImpl.class.getName()));
+        assertTrue(json.contains(Car.class.getName()));
+        assertEquals(car, OntologyJson.read(json, Car.class));
+
+        // A shared event is written as the class it was shared from.
+        final var shared = new Car("shared", new EventInterner().intern(new BuiltImpl("built", Instant.EPOCH, null)), null);
+        final var sharedJson = OntologyJson.write(shared);
+        assertTrue(sharedJson.contains("[\"BuiltImpl\","));
+        assertEquals(shared, OntologyJson.read(sharedJson, Car.class));
+    }
+
+    @Test
+    public void testJsonLinesRoundTrip() throws IOException {
+        final var model = svc.createConcurrentModel("model1");
+        final var english = svc.createLanguage("en-GB", "British English");
+        final var named = new ResignifiedImpl("named", Instant.parse("1948-02-04T00:00:00.00Z"), null);
+        final var name = svc.createSignifier("name", "Alice", english, named, null);
+        final Class<Signifier<String, ResignifiedImpl>> names = svc.createClass("aliceNames", Set.of(name));
+        final var alice = svc.createHuman("alice", new BirthImpl("aliceBorn", null, null), new DeathImpl("aliceDied", null, null), names, english,
+            svc.createClass("languages", Set.of(english)), null);
+        final var membership = svc.createMembership("membership", alice, null, new AppointedImpl("appointed", null, null), null);
+        model.addAll(Stream.of(membership, alice, names, name, english), 5);
+
+        final var out = new StringWriter();
+        assertEquals(5, ModelJsonLines.write(model, out));
+        final var lines = out.toString().lines().toList();
+        assertEquals(5, lines.size());
+        assertTrue(lines.get(lines.size() - 1).contains("\"membership\""));
+        assertEquals(1, lines.stream().filter(l -> l.contains("\"British English\"")).count());
+
+        final var loaded = svc.createConcurrentModel("model1");
+        assertEquals(5, ModelJsonLines.read(new BufferedReader(new StringReader(out.toString())), loaded));
+        assertEquals(ModelFixtures.identifiers(List.copyOf(model.getThings())), ModelFixtures.identifiers(List.copyOf(loaded.getThings())));
+        final var loadedAlice = loaded.getThing("alice").map(HumanImpl.class::cast).orElseThrow();
+        assertEquals(alice, loadedAlice);
+        assertSame(loaded.getThing("en-GB").orElseThrow(), loadedAlice.getNativeLanguage());
+        assertSame(loadedAlice, loaded.getThing("membership").map(MembershipImpl.class::cast).orElseThrow().getMember());
+        assertEquals(membership, loaded.getThing("membership").orElseThrow());
+    }
+
+    @Test
+    public void testJsonLinesRoundTripOfACycle() throws IOException {
+        // Two classes that are members of each other form a cycle, and both refer to a language.
+        final var ids = new OntologyServicesImpl(true);
+        final var english = ids.createLanguage("en-GB", "British English");
+        final var a = ids.createClass("a", new IdentifierSet<UniquelyIdentifiable>());
+        final var b = ids.createClass("b", Set.<UniquelyIdentifiable>of(a, english));
+        a.getMembers().add(b);
+        final var model = ids.createConcurrentModel("model1");
+        model.addAll(Stream.of(a, b, english), 3);
+
+        final var out = new StringWriter();
+        assertEquals(2, ModelJsonLines.write(model, out));
+        final var lines = out.toString().lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"British English\""));
+        assertEquals(1, out.toString().split("British English", -1).length - 1);
+
+        final var loaded = ids.createConcurrentModel("model1");
+        assertEquals(3, ModelJsonLines.read(new BufferedReader(new StringReader(out.toString())), loaded));
+        assertEquals(Set.of("a", "b", "en-GB"), ModelFixtures.identifiers(List.copyOf(loaded.getThings())));
+        final var loadedA = (ClassImpl<?>) loaded.getThing("a").orElseThrow();
+        final var loadedB = (ClassImpl<?>) loaded.getThing("b").orElseThrow();
+        assertSame(loadedB, ((IdentifierSet<?>) loadedA.getMembers()).get("b"));
+        assertSame(loadedA, ((IdentifierSet<?>) loadedB.getMembers()).get("a"));
+        assertSame(loaded.getThing("en-GB").orElseThrow(), ((IdentifierSet<?>) loadedB.getMembers()).get("en-GB"));
+    }
+
+    @Test
+    public void testGraphRoundTripOfEqualInstances() throws JsonProcessingException {
+        // Two instances of the same language are written once and read back as one.
+        final var english = svc.createLanguage("en-GB", "British English");
+        final var englishAgain = svc.createLanguage("en-GB", "British English");
+        final var alice = svc.createHuman("alice", new BirthImpl("aliceBorn", null, null), null, null, english,
+            svc.createClass("languages", Set.of(englishAgain)), null);
+
+        final var mapper = OntologyJson.newGraphMapper();
+        final var json = mapper.writeValueAsString(alice);
+        assertEquals(1, json.split("British English", -1).length - 1);
+
+        final var loaded = mapper.readValue(json, HumanImpl.class);
+        assertEquals(alice, loaded);
+        assertSame(loaded.getNativeLanguage(), loaded.getLanguages().getMembers().iterator().next());
+    }
+}
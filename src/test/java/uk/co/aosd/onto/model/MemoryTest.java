@@ -0,0 +1,124 @@
+package uk.co.aosd.onto.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import uk.co.aosd.onto.foundation.Car;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.HeapAnalyzer;
+import uk.co.aosd.onto.reference.HeapReport;
+import uk.co.aosd.onto.reference.HumanImpl;
+import uk.co.aosd.onto.reference.LanguageImpl;
+import uk.co.aosd.onto.reference.OntologyServicesImpl;
+import uk.co.aosd.onto.reference.SignifierImpl;
+import uk.co.aosd.onto.reference.StringPool;
+import uk.co.aosd.onto.reference.events.BuiltImpl;
+import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.signifying.Signifier;
+
+/**
+ * Test the string pool and the heap analyzer.
+ *
+ * @author Tony Walmsley
+ */
+public class MemoryTest {
+
+    private static final OntologyServicesImpl svc = new OntologyServicesImpl();
+
+    @Test
+    public void testStringPool() {
+        final var pool = new StringPool();
+        final var model = svc.createConcurrentModel("model1");
+        model.setStringPool(pool);
+        final var english = svc.createLanguage("en-GB", new String("English"));
+        model.add(english);
+        model.addAll(IntStream.range(0, 100)
+            .mapToObj(i -> svc.createSignifier("name" + i, new String("Alice"), svc.createLanguage("en-GB", new String("English")), null, null)), 100);
+
+        final var names = model.getThingsOfType(SignifierImpl.class);
+        assertEquals(100, names.size());
+        final var alice = names.iterator().next().getName();
+        for (final var name : names) {
+            assertSame(alice, name.getName());
+            assertSame(english.getName(), name.getLanguage().getName());
+        }
+        assertEquals(2, pool.size());
+        assertEquals(201, pool.getLookups());
+        assertEquals(199, pool.getHits());
+        assertEquals(199 * 48, pool.getBytesSaved());
+        assertSame(alice, pool.intern(new String("Alice")));
+    }
+
+    @Test
+    public void testStringPoolInternsTheNamesOfHumans() {
+        final var pool = new StringPool();
+        final var model = svc.createConcurrentModel("model1");
+        model.setStringPool(pool);
+        final var english = svc.createLanguage("en-GB", new String("English"));
+        model.add(english);
+        final var humans = IntStream.range(0, 10).mapToObj(i -> {
+            final var language = svc.createLanguage("en-GB", new String("English"));
+            final Signifier<String, ResignifiedImpl> name = svc.createSignifier("name" + i, new String("Alice"), language, null, null);
+            return svc.createHuman("human" + i, null, null, svc.createClass("names" + i, Set.of(name)), language,
+                svc.createClass("languages" + i, Set.of(svc.createLanguage("fr-FR", new String("French")))), null);
+        });
+        model.addAll(humans, 10);
+
+        final var alice = pool.intern(new String("Alice"));
+        final var french = pool.intern(new String("French"));
+        for (final var human : model.getThingsOfType(HumanImpl.class)) {
+            assertSame(english.getName(), human.getNativeLanguage().getName());
+            assertSame(alice, human.getNames().getMembers().iterator().next().getName());
+            assertSame(english.getName(), human.getNames().getMembers().iterator().next().getLanguage().getName());
+            assertSame(french, human.getLanguages().getMembers().iterator().next().getName());
+        }
+        assertEquals(3, pool.size());
+    }
+
+    @Test
+    public void testHeapAnalyzer() {
+        final var model = svc.createConcurrentModel("model1");
+        final var english = svc.createLanguage("en-GB", "English");
+        model.add(english);
+        model.add(svc.createSignifier("name1", new String("Alice"), english, null, null));
+        model.add(svc.createSignifier("name2", new String("Alice"), english, null, null));
+        IntStream.range(0, 10).forEach(i -> model.add(ModelFixtures.car("car" + i, 1900, null)));
+
+        final var report = HeapAnalyzer.analyze(model);
+
+        final var languages = report.get(LanguageImpl.class).orElseThrow();
+        assertEquals(1, languages.instances());
+        assertEquals(24, languages.shallowBytes());
+        assertEquals(10, report.get(Car.class).orElseThrow().instances());
+        assertEquals(10, report.get(BuiltImpl.class).orElseThrow().instances());
+        assertEquals(report.getTotalBytes(), report.getClasses().stream().mapToLong(HeapReport.ClassStats::retainedBytes).sum());
+        assertTrue(report.get(Car.class).orElseThrow().retainedBytes() > report.get(Car.class).orElseThrow().shallowBytes());
+
+        // Events hold their bounds as primitives rather than Instants, and the names are equal.
+        assertTrue(report.get(Instant.class).isEmpty());
+        assertEquals(10 * 48, report.get(BuiltImpl.class).orElseThrow().shallowBytes());
+        assertTrue(report.get(String.class).orElseThrow().duplicates() >= 1);
+        assertTrue(report.toString().contains(Car.class.getName()));
+    }
+
+    @Test
+    public void testFrozenThingsHoldCompactIdentifiers() {
+        final var model = svc.createConcurrentModel("model1");
+        IntStream.range(0, 100).forEach(i -> model.add(svc.createLanguage(UUID.randomUUID().toString(), "Language")));
+
+        final var mutable = HeapAnalyzer.analyze(model);
+        final var frozen = HeapAnalyzer.analyze(model.freeze());
+
+        // Mutable beans hold their UUIDs as Strings, so only frozen things hold CompactIds.
+        assertTrue(mutable.get(CompactId.class).isEmpty());
+        assertEquals(100, frozen.get(CompactId.class).orElseThrow().instances());
+        assertTrue(frozen.getTotalBytes() < mutable.getTotalBytes());
+    }
+}
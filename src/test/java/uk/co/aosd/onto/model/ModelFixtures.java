@@ -0,0 +1,35 @@
+package uk.co.aosd.onto.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import uk.co.aosd.onto.foundation.Car;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.reference.events.BuiltImpl;
+import uk.co.aosd.onto.reference.events.ScrappedImpl;
+
+/**
+ * Things built the same way by several of the model tests.
+ *
+ * @author Tony Walmsley
+ */
+final class ModelFixtures {
+
+    private ModelFixtures() {
+    }
+
+    static Set<String> identifiers(final List<? extends UniquelyIdentifiable> things) {
+        return things.stream().map(UniquelyIdentifiable::getIdentifier).collect(Collectors.toSet());
+    }
+
+    static Car car(final String identifier, final int built, final Integer scrapped) {
+        return new Car(identifier, new BuiltImpl(identifier + "Built", year(built), year(built)),
+            new ScrappedImpl(identifier + "Scrapped", scrapped == null ? null : year(scrapped), scrapped == null ? null : year(scrapped)));
+    }
+
+    static Instant year(final int year) {
+        return Instant.parse(year + "-01-01T00:00:00.00Z");
+    }
+}
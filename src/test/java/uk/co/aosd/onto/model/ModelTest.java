@@ -0,0 +1,402 @@
+package uk.co.aosd.onto.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.co.aosd.onto.biological.Human;
+import uk.co.aosd.onto.foundation.Car;
+import uk.co.aosd.onto.foundation.Class;
+import uk.co.aosd.onto.foundation.Event;
+import uk.co.aosd.onto.foundation.Individual;
+import uk.co.aosd.onto.foundation.JsonUtils;
+import uk.co.aosd.onto.foundation.UniquelyIdentifiable;
+import uk.co.aosd.onto.language.Language;
+import uk.co.aosd.onto.reference.CompactId;
+import uk.co.aosd.onto.reference.HumanImpl;
+import uk.co.aosd.onto.reference.IdentifierSet;
+import uk.co.aosd.onto.reference.LanguageImpl;
+import uk.co.aosd.onto.reference.MembershipImpl;
+import uk.co.aosd.onto.reference.ModelImpl;
+import uk.co.aosd.onto.reference.OntologyServicesImpl;
+import uk.co.aosd.onto.reference.OwningImpl;
+import uk.co.aosd.onto.reference.events.AppointedImpl;
+import uk.co.aosd.onto.reference.events.BirthImpl;
+import uk.co.aosd.onto.reference.events.BuiltImpl;
+import uk.co.aosd.onto.reference.events.DeathImpl;
+import uk.co.aosd.onto.reference.events.ResignifiedImpl;
+import uk.co.aosd.onto.reference.events.ScrappedImpl;
+import uk.co.aosd.onto.reference.events.TransferredFromImpl;
+import uk.co.aosd.onto.reference.frozen.FrozenSignifier;
+import uk.co.aosd.onto.signifying.Signifier;
+
+/**
+ * Test the ModelImpl indexes and snapshots.
+ *
+ * @author Tony Walmsley
+ */
+public class ModelTest {
+
+    private static final OntologyServicesImpl svc = new OntologyServicesImpl();
+
+    @Test
+    public void testGetThingUsesIdentifierIndex() {
+        final var english = svc.createLanguage("en-GB", "British English");
+        final var german = svc.createLanguage("de-DE", "Deutsch");
+
+        final var model = svc.createModel("model1");
+        model.add(english);
+        model.add(german);
+
+        assertSame(english, model.getThing("en-GB").orElseThrow());
+        assertSame(german, model.getThing("de-DE").orElseThrow());
+        assertFalse(model.getThing("fr-FR").isPresent());
+        assertFalse(model.getThing(null).isPresent());
+        assertFalse(((ModelImpl) model).snapshot().getThing(null).isPresent());
+    }
+
+    @Test
+    public void testIndexIsRebuiltFromThings() throws JsonProcessingException {
+        final var english = svc.createLanguage("en-GB", "British English");
+        final Set<UniquelyIdentifiable> things = new HashSet<>(Set.of(english));
+
+        final var model = new ModelImpl("model1", things);
+        assertSame(english, model.getThing("en-GB").orElseThrow());
+
+        final var json = JsonUtils.writeJsonString(model);
+        final var model2 = JsonUtils.readJsonString(json, ModelImpl.class);
+        assertTrue(model2.getThing("en-GB").isPresent());
+    }
+
+    @Test
+    public void testGetThingsOfTypeRespectsTheTypeHierarchy() {
+        final var english = svc.createLanguage("en-GB", "British English");
+        final var born = new BirthImpl("aliceBorn", Instant.parse("1948-02-04T00:00:00.00Z"), Instant.parse("1948-02-04T23:59:59.99Z"));
+        final var died = new DeathImpl("aliceDied", null, null);
+        final var named = new ResignifiedImpl("aliceNamed", null, null);
+        final var name = svc.createSignifier("aliceName", "Alice Cooper", english, named, named);
+        final var alice = svc.createHuman("alice", born, died, svc.createClass("aliceNames", Set.of(name)), english,
+            svc.createClass("languages", Set.of(english)), null);
+
+        final var model = new ModelImpl("model1", new HashSet<>());
+        model.add(english);
+        model.add(born);
+        model.add(died);
+        model.add(name);
+        model.add(alice);
+
+        assertEquals(Set.of(alice), model.getThingsOfType(Human.class));
+        assertEquals(Set.of(alice), model.getThingsOfType(HumanImpl.class));
+        assertEquals(Set.of(english), model.getThingsOfType(Language.class));
+        assertEquals(Set.of(born, died), model.getThingsOfType(Event.class));
+        assertEquals(Set.of(name, alice), model.getThingsOfType(Individual.class));
+        assertEquals(5, model.getThingsOfType(UniquelyIdentifiable.class).size());
+
+        // The result is a live view of the model.
+        final var events = model.getThingsOfType(Event.class);
+        final var renamed = new ResignifiedImpl("aliceRenamed", null, null);
+        model.add(renamed);
+        assertEquals(3, events.size());
+        assertTrue(events.contains(renamed));
+        assertFalse(events.contains(english));
+    }
+
+    @Test
+    public void testConcurrentModelAcceptsParallelAdds() {
+        final var model = svc.createConcurrentModel("model1");
+
+        IntStream.range(0, 10_000).parallel().forEach(i -> model.add(svc.createLanguage("lang" + i, "Language " + i)));
+
+        assertEquals(10_000, model.getThings().size());
+        assertEquals(10_000, model.getThingsOfType(LanguageImpl.class).size());
+        IntStream.range(0, 10_000).parallel().forEach(i -> assertTrue(model.getThing("lang" + i).isPresent()));
+    }
+
+    @Test
+    public void testSnapshotsAreIsolatedFromLaterChanges() {
+        final var model = svc.createConcurrentModel("model1");
+        // "Aa" and "BB" have the same hash code.
+        model.add(svc.createLanguage("Aa", "Language Aa"));
+        model.add(svc.createLanguage("BB", "Language BB"));
+
+        final var snapshot = model.snapshot();
+        model.add(svc.createLanguage("en-GB", "British English"));
+
+        assertEquals(2, snapshot.getThings().size());
+        assertTrue(snapshot.getThing("Aa").isPresent());
+        assertTrue(snapshot.getThing("BB").isPresent());
+        assertFalse(snapshot.getThing("en-GB").isPresent());
+        assertTrue(model.getThing("en-GB").isPresent());
+        assertTrue(model.snapshot().getVersion() > snapshot.getVersion());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(svc.createLanguage("fr-FR", "French")));
+    }
+
+    @Test
+    public void testSnapshotsCanBeIteratedDuringWrites() {
+        final var model = svc.createConcurrentModel("model1");
+        IntStream.range(0, 1_000).forEach(i -> model.add(svc.createLanguage("lang" + i, "Language " + i)));
+
+        final var writer = CompletableFuture.runAsync(() -> IntStream.range(1_000, 50_000)
+            .forEach(i -> model.add(svc.createLanguage("lang" + i, "Language " + i))));
+        while (!writer.isDone()) {
+            final var snapshot = model.snapshot();
+            assertEquals(snapshot.getThings().size(), snapshot.getThings().stream().count());
+        }
+        writer.join();
+
+        final var snapshot = model.snapshot();
+        assertEquals(50_000, snapshot.getThings().size());
+        assertEquals(50_000, snapshot.getThings().stream().map(UniquelyIdentifiable::getIdentifier).distinct().count());
+        IntStream.range(0, 50_000).forEach(i -> assertTrue(snapshot.getThing("lang" + i).isPresent()));
+    }
+
+    @Test
+    public void testIndividualsExistingAt() {
+        final var model = svc.createModel("model1");
+        final var old = ModelFixtures.car("old", 1900, 1950);
+        final var current = ModelFixtures.car("current", 1990, null);
+        final var unknownStart = new Car("unknownStart", new BuiltImpl("built", null, null), new ScrappedImpl("scrapped", null, Instant.ofEpochSecond(0)));
+        model.add(old);
+        model.add(current);
+        model.add(unknownStart);
+        model.add(svc.createLanguage("en-GB", "British English"));
+
+        final var modelImpl = (ModelImpl) model;
+        assertEquals(List.of(unknownStart, old), modelImpl.getIndividualsExistingAt(Instant.parse("1920-01-01T00:00:00.00Z")));
+        assertEquals(List.of(current), modelImpl.getIndividualsExistingAt(Instant.parse("2024-01-01T00:00:00.00Z")));
+        assertEquals(List.of(), modelImpl.getIndividualsExistingAt(Instant.parse("1980-01-01T00:00:00.00Z")));
+        assertEquals(List.of(unknownStart, old, current), modelImpl.getIndividualsExistingBetween(Instant.parse("1940-01-01T00:00:00.00Z"), null));
+        assertEquals(List.of(current), modelImpl.getIndividualsExistingBetween(Instant.parse("1971-01-01T00:00:00.00Z"), null));
+        assertEquals(3, modelImpl.getIndividualsExistingBetween(null, null).size());
+    }
+
+    @Test
+    public void testIndividualsExistingBetweenMatchesAScan() {
+        final var random = new Random(42L);
+        final var model = svc.createConcurrentModel("model1");
+        final var cars = new ArrayList<Car>();
+        for (int i = 0; i < 2_000; i++) {
+            final int start = 1900 + random.nextInt(100);
+            final var car = ModelFixtures.car("car" + i, start, random.nextInt(10) == 0 ? null : start + random.nextInt(30));
+            cars.add(car);
+            model.add(car);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            final int from = 1900 + random.nextInt(130);
+            final var a = ModelFixtures.year(from);
+            final var b = ModelFixtures.year(from + random.nextInt(5));
+            final var expected = cars.stream()
+                .filter(c -> !c.getBeginning().getFrom().isAfter(b))
+                .filter(c -> c.getEnding().getTo() == null || !c.getEnding().getTo().isBefore(a))
+                .map(Car::getIdentifier)
+                .sorted()
+                .toList();
+            final var actual = model.getIndividualsExistingBetween(a, b).stream().map(UniquelyIdentifiable::getIdentifier).sorted().toList();
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testAddAllBuildsTheIndexesForABatch() {
+        final var model = svc.createConcurrentModel("model1");
+        model.add(ModelFixtures.car("car0", 1900, 1950));
+
+        final var cars = IntStream.range(1, 50_000).mapToObj(i -> ModelFixtures.car("car" + i, 1900 + i % 100, i % 10 == 0 ? null : 1900 + i % 100 + 20));
+        model.addAll(cars, 50_000);
+        model.addAll(List.of(svc.createLanguage("en-GB", "British English"), ModelFixtures.car("car1", 1901, 1921)).spliterator(), 2);
+
+        assertEquals(50_001, model.getThings().size());
+        assertEquals(50_000, model.getThingsOfType(Car.class).size());
+        assertEquals(1, model.getThingsOfType(Language.class).size());
+        IntStream.range(0, 50_000).parallel().forEach(i -> assertTrue(model.getThing("car" + i).isPresent()));
+        assertEquals(50_000, model.snapshot().getThings().stream().filter(Car.class::isInstance).count());
+
+        final var expected = model.getThingsOfType(Car.class).stream()
+            .filter(c -> !c.getBeginning().getFrom().isAfter(ModelFixtures.year(1950)))
+            .filter(c -> c.getEnding().getTo() == null || !c.getEnding().getTo().isBefore(ModelFixtures.year(1950)))
+            .count();
+        assertEquals(expected, model.getIndividualsExistingAt(ModelFixtures.year(1950)).size());
+    }
+
+    @Test
+    public void testAddAllToAPresizedModel() {
+        final var model = svc.createModel("model1", 1_000);
+        final var things = model.getThings();
+
+        model.addAll(IntStream.range(0, 1_000).mapToObj(i -> svc.createLanguage("lang" + i, "Language " + i)), 1_000);
+
+        // The Set is sized when the model is created, and addAll never replaces it.
+        assertSame(things, model.getThings());
+        assertTrue(model.getThings() instanceof HashSet);
+        assertEquals(1_000, model.getThings().size());
+        assertEquals(1_000, model.getThingsOfType(LanguageImpl.class).size());
+    }
+
+    @Test
+    public void testRemoveKeepsTheIndexesConsistent() {
+        final var model = svc.createConcurrentModel("model1");
+        // "Aa" and "BB" have the same hash code.
+        model.add(svc.createLanguage("Aa", "Language Aa"));
+        model.add(svc.createLanguage("BB", "Language BB"));
+        final var old = ModelFixtures.car("old", 1900, 1950);
+        model.add(old);
+        model.add(ModelFixtures.car("current", 1990, null));
+        final var snapshot = model.snapshot();
+
+        assertTrue(model.remove("Aa").isPresent());
+        assertTrue(model.remove(old));
+        assertFalse(model.remove(old));
+        assertFalse(model.remove("missing").isPresent());
+
+        assertEquals(2, model.getThings().size());
+        assertFalse(model.getThing("Aa").isPresent());
+        assertTrue(model.getThing("BB").isPresent());
+        assertFalse(model.getThing("old").isPresent());
+        assertEquals(1, model.getThingsOfType(Language.class).size());
+        assertEquals(1, model.getThingsOfType(Car.class).size());
+        assertEquals(List.of("current"), model.getIndividualsExistingBetween(null, null).stream().map(UniquelyIdentifiable::getIdentifier).toList());
+        assertEquals(4, snapshot.getThings().size());
+        assertTrue(snapshot.getThing("old").isPresent());
+
+        // An equal copy, as read back from JSON or a snapshot, removes the indexed instance.
+        assertTrue(model.remove(svc.createLanguage("BB", "Language BB")));
+        assertFalse(model.getThing("BB").isPresent());
+        assertEquals(0, model.getThingsOfType(Language.class).size());
+    }
+
+    @Test
+    public void testGetReferrers() {
+        final var model = svc.createConcurrentModel("model1");
+        final var english = svc.createLanguage("en-GB", "British English");
+        final var named = new ResignifiedImpl("named", null, null);
+        final var name1 = svc.createSignifier("name1", "Alice", english, named, null);
+        final var name2 = svc.createSignifier("name2", "Ally", english, named, null);
+        final Class<Signifier<String, ResignifiedImpl>> names = svc.createClass("aliceNames", Set.of(name1, name2));
+        final var alice = svc.createHuman("alice", new BirthImpl("aliceBorn", null, null), new DeathImpl("aliceDied", null, null), names, english,
+            svc.createClass("languages", Set.of(english)), null);
+        final var membership1 = svc.createMembership("membership1", alice, null, new AppointedImpl("appointed1", null, null), null);
+        final var membership2 = svc.createMembership("membership2", alice, null, new AppointedImpl("appointed2", null, null), null);
+        final var car = ModelFixtures.car("car", 2000, null);
+        final var owning = svc.createOwnership("owning", "Car Purchase", alice, car, new TransferredFromImpl("bought", null, null), null);
+        model.addAll(Stream.of(english, name1, name2, names, alice, membership1, membership2, car), 8);
+        model.add(owning);
+
+        assertEquals(Set.of(name1, name2), model.getReferrers("named"));
+        assertEquals(Set.of(membership1, membership2, owning), model.getReferrers("alice"));
+        assertEquals(Set.of(membership1, membership2), Set.copyOf(model.getReferrers("alice", MembershipImpl.class)));
+        assertEquals(List.of(owning), model.getReferrers("car", OwningImpl.class));
+        assertEquals(Set.of(names), model.getReferrers("name1"));
+        assertTrue(model.getReferrers("en-GB").containsAll(Set.of(name1, name2, alice)));
+        assertEquals(Set.of(), model.getReferrers("missing"));
+
+        model.remove(membership1);
+        assertEquals(Set.of(membership2, owning), model.getReferrers("alice"));
+    }
+
+    @Test
+    public void testIdentifierEquality(@TempDir final Path dir) throws IOException {
+        final var ids = new OntologyServicesImpl(true);
+        final var english = ids.createLanguage("en-GB", "British English");
+        final var named = new ResignifiedImpl("named", null, null);
+        final var name = ids.createSignifier("name", "Alice", english, named, null);
+        final Class<Signifier<String, ResignifiedImpl>> names = ids.createClass("aliceNames", Set.of(name));
+        final var alice = ids.createHuman("alice", new BirthImpl("aliceBorn", null, null), new DeathImpl("aliceDied", null, null), names, english,
+            ids.createClass("languages", Set.of(english)), null);
+
+        // Only identifiers are hashed, so a thing whose own hashCode cannot be used can still be a member.
+        final var unhashable = new LanguageImpl("unhashable", "Unhashable") {
+            @Override
+            public int hashCode() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        assertTrue(names.getMembers() instanceof IdentifierSet);
+        final var set = new IdentifierSet<UniquelyIdentifiable>();
+        assertTrue(set.add(unhashable));
+        assertFalse(set.add(svc.createLanguage("unhashable", "Another")));
+        assertTrue(set.contains(svc.createLanguage("unhashable", "Another")));
+        assertTrue(set.remove(svc.createLanguage("unhashable", "Another")));
+
+        // Sets of the same identifiers are equal and hash alike, but only to other IdentifierSets.
+        final var other = new IdentifierSet<UniquelyIdentifiable>();
+        set.add(english);
+        other.add(svc.createLanguage("en-GB", "English"));
+        assertEquals(set, other);
+        assertEquals(set.hashCode(), other.hashCode());
+        other.add(name);
+        assertNotEquals(set, other);
+        assertNotEquals(set, Set.of(english));
+
+        final var model = (ModelImpl) ids.createModel("model1");
+        model.addAll(Stream.of(english, name, names, alice, unhashable), 5);
+        assertTrue(model.getThings() instanceof IdentifierSet);
+        assertEquals(5, model.getThings().size());
+        assertEquals(Set.of(alice), model.getThingsOfType(HumanImpl.class));
+        assertEquals(Set.of(name), model.getReferrers("named"));
+        assertTrue(model.remove(unhashable));
+        assertEquals(4, model.getThings().size());
+
+        final var model2 = JsonUtils.readJsonString(JsonUtils.writeJsonString(model), ModelImpl.class);
+        assertTrue(model2.getThings() instanceof IdentifierSet);
+        assertEquals(4, model2.getThings().size());
+
+        model.save(dir.resolve("model1.bin"));
+        final var loaded = (HumanImpl) ModelImpl.load(dir.resolve("model1.bin")).getThing("alice").orElseThrow();
+        assertTrue(loaded.getNames().getMembers() instanceof IdentifierSet);
+        assertEquals(alice, loaded);
+    }
+
+    @Test
+    public void testCompactIdentifiers() {
+        final var uuids = IntStream.range(0, 1_000).mapToObj(i -> UUID.randomUUID().toString()).toList();
+        for (final var uuid : uuids) {
+            final var compact = CompactId.parse(uuid);
+            assertEquals(uuid, compact.toString());
+            assertEquals(compact, CompactId.key(uuid));
+            assertEquals(compact.hashCode(), CompactId.parse(new String(uuid)).hashCode());
+        }
+        assertEquals(uuids.stream().sorted().toList(), uuids.stream().map(CompactId::parse).sorted().map(CompactId::toString).toList());
+        final var upper = uuids.get(0).toUpperCase();
+        assertEquals(upper, CompactId.key(upper));
+        assertEquals("alice", CompactId.key("alice"));
+        assertNull(CompactId.parse(uuids.get(0).replace('-', '_')));
+
+        final var model = svc.createConcurrentModel("model1");
+        final var english = svc.createLanguage(uuids.get(1), "British English");
+        final var name = svc.createSignifier(uuids.get(2), "Alice", english, new ResignifiedImpl(uuids.get(3), null, null), null);
+        model.addAll(Stream.of(english, name, svc.createLanguage(upper, "Upper"), svc.createLanguage("alice", "Alice")), 4);
+        assertSame(english, model.getThing(new String(uuids.get(1))).orElseThrow());
+        assertTrue(model.getThing(upper).isPresent());
+        assertTrue(model.getThing("alice").isPresent());
+        assertEquals(Set.of(name), model.getReferrers(uuids.get(1)));
+
+        final var frozen = model.freeze();
+        final var frozenName = (FrozenSignifier<?>) frozen.getThing(uuids.get(2)).orElseThrow();
+        assertEquals(CompactId.parse(uuids.get(2)), frozenName.getIdentifierKey());
+        assertEquals(uuids.get(2), frozenName.getIdentifier());
+        assertEquals(Set.of(frozenName), frozen.getReferrers(uuids.get(3)));
+        assertTrue(frozen.remove(frozenName));
+        assertFalse(frozen.getThing(uuids.get(2)).isPresent());
+    }
+}
@@ -0,0 +1,196 @@
+package uk.co.aosd.onto.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.co.aosd.onto.events.Built;
+import uk.co.aosd.onto.events.Scrapped;
+import uk.co.aosd.onto.foundation.Car;
+import uk.co.aosd.onto.reference.ModelImpl;
+import uk.co.aosd.onto.reference.OntologyServicesImpl;
+import uk.co.aosd.onto.reference.SignifierImpl;
+import uk.co.aosd.onto.reference.WriteAheadLog;
+import uk.co.aosd.onto.reference.events.BuiltImpl;
+import uk.co.aosd.onto.reference.events.ScrappedImpl;
+
+/**
+ * Test recovering a model from a snapshot and its write-ahead log.
+ *
+ * @author Tony Walmsley
+ */
+public class WriteAheadLogTest {
+
+    private static final OntologyServicesImpl svc = new OntologyServicesImpl();
+
+    @Test
+    public void testRecoverFromASnapshotAndTheWriteAheadLog(@TempDir final Path dir) throws IOException {
+        final var snapshot = dir.resolve("model1.bin");
+        final var logs = dir.resolve("wal");
+        final var model = ModelImpl.recover("model1", snapshot, logs);
+        final var log = WriteAheadLog.open(logs);
+        model.setWriteAheadLog(log);
+        final var english = svc.createLanguage("en-GB", "British English");
+        model.add(english);
+        IntStream.range(0, 500).parallel().forEach(i -> model.add(ModelFixtures.car("car" + i, 1900, null)));
+        model.checkpoint(snapshot);
+        IntStream.range(500, 1_000).parallel().forEach(i -> model.add(ModelFixtures.car("car" + i, 1900, null)));
+        model.addAll(Stream.of(svc.createSignifier("name", "English", english, null, null)), 1);
+        model.remove("car1");
+        model.remove("car999");
+        log.close();
+
+        final var recovered = ModelImpl.recover("unused", snapshot, logs);
+
+        assertEquals("model1", recovered.getIdentifier());
+        assertEquals(model.getThings(), recovered.getThings());
+        assertFalse(recovered.getThing("car1").isPresent());
+        assertFalse(recovered.getThing("car999").isPresent());
+        final var name = (SignifierImpl<?>) recovered.getThing("name").orElseThrow();
+        assertSame(recovered.getThing("en-GB").orElseThrow(), name.getLanguage());
+    }
+
+    @Test
+    public void testConcurrentWritersShareCommits(@TempDir final Path dir) throws Exception {
+        final var model = svc.createConcurrentModel("model1");
+        final var log = WriteAheadLog.open(dir.resolve("wal"));
+        model.setWriteAheadLog(log);
+        final int writers = 32;
+        final var start = new CountDownLatch(1);
+        final var pool = Executors.newFixedThreadPool(writers);
+        try {
+            final var done = IntStream.range(0, writers)
+                .mapToObj(w -> pool.submit(() -> {
+                    start.await();
+                    IntStream.range(0, 25).forEach(i -> model.add(ModelFixtures.car("car" + w + "-" + i, 1900, null)));
+                    return null;
+                }))
+                .toList();
+            start.countDown();
+            for (final var writer : done) {
+                writer.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        log.close();
+
+        // Every add is a record of its own, so fewer commits than records means writers were grouped.
+        assertEquals(writers * 25, log.getRecords());
+        assertTrue(log.getCommits() < log.getRecords(), log.getCommits() + " commits for " + log.getRecords() + " records");
+    }
+
+    @Test
+    public void testARemoveDuringAnAddIsLoggedAfterIt(@TempDir final Path dir) throws Exception {
+        final var logs = dir.resolve("wal");
+        final var model = svc.createConcurrentModel("model1");
+        final var log = WriteAheadLog.open(logs);
+        model.setWriteAheadLog(log);
+        final var car = new IndexedCar("car1", new BuiltImpl("car1Built", null, null), new ScrappedImpl("car1Scrapped", null, null));
+        final var remover = new Thread(() -> model.remove(car));
+        // The car is in the model's Set by the time it is indexed, so the remove
+        // finds it, but must wait for the add to be logged before logging itself.
+        car.whileIndexed = () -> {
+            remover.start();
+            try {
+                remover.join(200);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        model.add(car);
+        remover.join();
+        log.close();
+
+        final var replayed = svc.createConcurrentModel("replayed");
+        WriteAheadLog.replay(logs, replayed);
+
+        assertFalse(model.getThing("car1").isPresent());
+        assertEquals(model.getThings(), replayed.getThings());
+    }
+
+    @Test
+    public void testReplayDoesNotRestoreARemovedThing(@TempDir final Path dir) throws IOException {
+        final var snapshot = dir.resolve("model1.bin");
+        final var logs = dir.resolve("wal");
+        final var model = ModelImpl.recover("model1", snapshot, logs);
+        final var log = WriteAheadLog.open(logs);
+        model.setWriteAheadLog(log);
+        final var english = svc.createLanguage("en-GB", "British English");
+        model.add(english);
+        // The segment that added the language is deleted, so a replay without the
+        // snapshot meets the signifiers before the language they refer to.
+        model.checkpoint(snapshot);
+        model.add(svc.createSignifier("x", "X", english, null, null));
+        model.add(svc.createSignifier("y", "Y", english, null, null));
+        model.remove("x");
+        model.remove("en-GB");
+        model.add(english);
+        log.close();
+
+        final var replayed = svc.createConcurrentModel("replayed");
+        WriteAheadLog.replay(logs, replayed);
+
+        assertEquals(model.getThings(), replayed.getThings());
+        assertFalse(replayed.getThing("x").isPresent());
+        assertTrue(replayed.getThing("y").isPresent());
+    }
+
+    @Test
+    public void testAnInterruptedCommitterClosesTheLog(@TempDir final Path dir) throws IOException, InterruptedException {
+        final var logs = dir.resolve("wal");
+        final var model = svc.createConcurrentModel("model1");
+        final var log = WriteAheadLog.open(logs);
+        model.setWriteAheadLog(log);
+        model.add(svc.createLanguage("en-GB", "British English"));
+        final var committer = Thread.getAllStackTraces().keySet().stream()
+            .filter(t -> t.getName().equals("WriteAheadLog committer " + logs))
+            .findFirst()
+            .orElseThrow();
+
+        committer.interrupt();
+        committer.join();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10),
+            () -> assertThrows(IllegalStateException.class, () -> model.add(svc.createLanguage("fr-FR", "French"))));
+        log.close();
+    }
+
+    /**
+     * A Car that runs an action the first time the model reads its beginning to
+     * index it.
+     */
+    public static class IndexedCar extends Car {
+        private transient Runnable whileIndexed;
+
+        public IndexedCar() {
+        }
+
+        IndexedCar(final String identifier, final Built beginning, final Scrapped ending) {
+            super(identifier, beginning, ending);
+        }
+
+        @Override
+        public Built getBeginning() {
+            final var action = whileIndexed;
+            whileIndexed = null;
+            if (action != null) {
+                action.run();
+            }
+            return super.getBeginning();
+        }
+    }
+}